@@ -1,14 +1,17 @@
 package com.restaurant.app;
 
 import com.restaurant.app.ui.RestaurantApp;
+import com.restaurant.app.util.StartupProfile;
 
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
+import java.net.URI;
 
 /**
  * Application entry point responsible for configuring the LAF
- * and launching the main Swing frame.
+ * and launching the main Swing frame. Pass {@code --server=http://host:port}
+ * (or {@code -Drestaurant.server=...}) to place orders through a running web server.
  */
 public final class AppLauncher {
 
@@ -17,13 +20,33 @@ public final class AppLauncher {
     }
 
     public static void main(String[] args) {
+        StartupProfile profile = StartupProfile.fromArgs(args);
+        URI serverUri = resolveServerUri(args);
         SwingUtilities.invokeLater(() -> {
+            profile.mark("event thread ready");
             installNimbusIfAvailable();
-            RestaurantApp app = new RestaurantApp();
+            profile.mark("look and feel");
+            RestaurantApp app = new RestaurantApp(serverUri);
+            profile.mark("main window");
             app.setVisible(true);
+            // Queued behind the first paint events, so this closes once the frame is on screen.
+            SwingUtilities.invokeLater(() -> {
+                profile.mark("first paint");
+                profile.report(System.out);
+            });
         });
     }
 
+    private static URI resolveServerUri(String[] args) {
+        String server = System.getProperty("restaurant.server");
+        for (String arg : args) {
+            if (arg.startsWith("--server=")) {
+                server = arg.substring("--server=".length());
+            }
+        }
+        return server == null || server.isBlank() ? null : URI.create(server.trim());
+    }
+
     private static void installNimbusIfAvailable() {
         try {
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
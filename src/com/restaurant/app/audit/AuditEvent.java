@@ -0,0 +1,41 @@
+package com.restaurant.app.audit;
+
+import com.restaurant.app.model.OrderStatus;
+
+/**
+ * One entry of the order audit trail. Which fields are set depends on the type:
+ * {@code placed} for {@link Type#PLACED}; {@code item} (with its new quantity, 0 once removed)
+ * and {@code previousQuantity} for item changes; {@code previousStatus} and {@code status}
+ * for {@link Type#STATUS_CHANGED}; {@code text} for table and notes changes.
+ */
+public record AuditEvent(long sequence, long timestampMillis, String orderId, Type type, OrderState placed,
+                         OrderState.Line item, int previousQuantity, OrderStatus previousStatus, OrderStatus status,
+                         String text) {
+
+    public enum Type {
+        PLACED,
+        ITEM_ADDED,
+        QUANTITY_CHANGED,
+        ITEM_REMOVED,
+        STATUS_CHANGED,
+        TABLE_CHANGED,
+        NOTES_CHANGED
+    }
+
+    static AuditEvent placed(long sequence, long at, OrderState state) {
+        return new AuditEvent(sequence, at, state.id(), Type.PLACED, state, null, 0, null, state.status(), null);
+    }
+
+    static AuditEvent item(long sequence, long at, String orderId, OrderState.Line item, int previousQuantity) {
+        Type type = previousQuantity == 0 ? Type.ITEM_ADDED : item.quantity() == 0 ? Type.ITEM_REMOVED : Type.QUANTITY_CHANGED;
+        return new AuditEvent(sequence, at, orderId, type, null, item, previousQuantity, null, null, null);
+    }
+
+    static AuditEvent status(long sequence, long at, String orderId, OrderStatus previous, OrderStatus status) {
+        return new AuditEvent(sequence, at, orderId, Type.STATUS_CHANGED, null, null, 0, previous, status, null);
+    }
+
+    static AuditEvent text(long sequence, long at, String orderId, Type type, String text) {
+        return new AuditEvent(sequence, at, orderId, type, null, null, 0, null, null, text);
+    }
+}
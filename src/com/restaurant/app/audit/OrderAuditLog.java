@@ -0,0 +1,427 @@
+package com.restaurant.app.audit;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderChangeListener;
+import com.restaurant.app.model.OrderStatus;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only audit trail of every change to placed orders, kept per business day (the day
+ * an order was placed, so a late comp lands with the rest of that order's history). Current
+ * state is never overwritten: each day keeps its events in order plus a snapshot of all of
+ * its orders every {@code snapshotInterval} events, and any order or the whole floor can be
+ * rebuilt as of a moment by starting from the nearest earlier snapshot and replaying the rest.
+ * Only the newest {@code retainDays} business days are kept; later changes to orders of a
+ * dropped day are not recorded.
+ * <p>
+ * A day records at most {@code maxOrdersPerDay} orders and {@link #EVENTS_PER_ORDER} times as
+ * many events, so memory is bounded by {@code retainDays} full days however long the server
+ * runs; a full day at the default 10,000 orders takes about 15 MB. Orders placed once their
+ * day is full are not audited at all, and changes once it holds its events are not recorded;
+ * both are counted ({@link #getDroppedOrders}, {@link #getDroppedEvents}).
+ * <p>
+ * Events and states are immutable and snapshots share the states of orders that did not
+ * change, so a snapshot costs one map copy. On busy days snapshots are spaced at least as
+ * many events apart as the day has orders, which keeps that copy at a constant amortized
+ * cost per event and snapshot memory linear in the log. Rebuilds read a consistent prefix taken under
+ * the day's lock and replay it outside the lock, so they never hold up order placement.
+ */
+public final class OrderAuditLog implements OrderChangeListener {
+    /** Average events an order of a full day may have: placement, a few status changes and edits. */
+    public static final int EVENTS_PER_ORDER = 8;
+
+    private final int snapshotInterval;
+    private final int retainDays;
+    private final int maxOrdersPerDay;
+    private final int maxEventsPerDay;
+    private final Clock clock;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder droppedOrders = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final Map<LocalDate, DayLog> days = new ConcurrentHashMap<>();
+    private final Map<String, DayLog> dayByOrder = new ConcurrentHashMap<>();
+    private volatile LocalDate droppedThrough;
+
+    public OrderAuditLog(int snapshotInterval) {
+        this(snapshotInterval, 7, Clock.systemDefaultZone());
+    }
+
+    public OrderAuditLog(int snapshotInterval, Clock clock) {
+        this(snapshotInterval, 7, clock);
+    }
+
+    public OrderAuditLog(int snapshotInterval, int retainDays, Clock clock) {
+        this(snapshotInterval, retainDays, 10_000, clock);
+    }
+
+    public OrderAuditLog(int snapshotInterval, int retainDays, int maxOrdersPerDay, Clock clock) {
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+        this.retainDays = Math.max(1, retainDays);
+        this.maxOrdersPerDay = Math.max(1, maxOrdersPerDay);
+        this.maxEventsPerDay = (int) Math.min(Integer.MAX_VALUE / 2, (long) this.maxOrdersPerDay * EVENTS_PER_ORDER);
+        this.clock = clock;
+    }
+
+    /** Records the order as placed and follows its later changes, unless its day is full. */
+    public void recordPlaced(Order order) {
+        LocalDate date = order.getCreatedAt().toLocalDate();
+        DayLog day = days.get(date);
+        if (day == null) {
+            day = openDay(date);
+        }
+        synchronized (day) {
+            if (day.placedCount >= maxOrdersPerDay || day.size >= maxEventsPerDay) {
+                droppedOrders.increment();
+                day.droppedOrders++;
+                return;
+            }
+            dayByOrder.put(order.getId(), day);
+            long seq = sequence.incrementAndGet();
+            long at = day.now();
+            day.append(AuditEvent.placed(seq, at, OrderState.of(order, seq, at)));
+        }
+        order.setChangeListener(this);
+    }
+
+    @Override
+    public void itemChanged(Order order, MenuItem item, int previousQuantity, int quantity) {
+        append(order, (seq, at) -> AuditEvent.item(seq, at, order.getId(), OrderState.Line.of(item, quantity),
+            previousQuantity));
+    }
+
+    @Override
+    public void statusChanged(Order order, OrderStatus previous, OrderStatus status) {
+        append(order, (seq, at) -> AuditEvent.status(seq, at, order.getId(), previous, status));
+    }
+
+    @Override
+    public void tableChanged(Order order, String tableNumber) {
+        append(order, (seq, at) -> AuditEvent.text(seq, at, order.getId(), AuditEvent.Type.TABLE_CHANGED, tableNumber));
+    }
+
+    @Override
+    public void notesChanged(Order order, String notes) {
+        append(order, (seq, at) -> AuditEvent.text(seq, at, order.getId(), AuditEvent.Type.NOTES_CHANGED, notes));
+    }
+
+    /** Every event recorded for the order, oldest first. */
+    public List<AuditEvent> events(String orderId) {
+        DayLog day = dayByOrder.get(orderId);
+        return day == null ? List.of() : day.eventsOf(orderId, Long.MAX_VALUE);
+    }
+
+    /** Events recorded for the order up to and including {@code at}. */
+    public List<AuditEvent> events(String orderId, LocalDateTime at) {
+        DayLog day = dayByOrder.get(orderId);
+        return day == null ? List.of() : day.eventsOf(orderId, toMillis(at));
+    }
+
+    /** The order as it stood at {@code at}, or empty if it had not been placed yet. */
+    public Optional<OrderState> orderAsOf(String orderId, LocalDateTime at) {
+        DayLog day = dayByOrder.get(orderId);
+        return day == null ? Optional.empty() : Optional.ofNullable(day.orderAsOf(orderId, toMillis(at)));
+    }
+
+    /** Every order placed on {@code at}'s business day, as it stood at {@code at}, in the order they were placed. */
+    public List<OrderState> floorAsOf(LocalDateTime at) {
+        DayLog day = days.get(at.toLocalDate());
+        return day == null ? List.of() : day.floorAsOf(toMillis(at));
+    }
+
+    /**
+     * Up to {@code count} orders placed on {@code date} as they stand now, starting with the
+     * {@code from}th placed that day, in the order they were placed. Reading a day page by page
+     * holds only one page of it at a time.
+     */
+    public List<OrderState> ordersOn(LocalDate date, int from, int count) {
+        DayLog day = days.get(date);
+        return day == null ? List.of() : day.currentOrders(from, count);
+    }
+
+    /** The business days still kept, oldest first. */
+    public List<LocalDate> getDays() {
+        List<LocalDate> retained = new ArrayList<>(days.keySet());
+        Collections.sort(retained);
+        return retained;
+    }
+
+    public long getEventCount() {
+        return sequence.get();
+    }
+
+    /** Orders not audited because their day already held {@code maxOrdersPerDay}. */
+    public long getDroppedOrders() {
+        return droppedOrders.sum();
+    }
+
+    /** Changes not recorded because their order's day already held its events. */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /** Orders placed on {@code date} that were not audited because the day was full. */
+    public long getDroppedOrders(LocalDate date) {
+        DayLog day = days.get(date);
+        if (day == null) {
+            return 0;
+        }
+        synchronized (day) {
+            return day.droppedOrders;
+        }
+    }
+
+    /** Changes to orders placed on {@code date} that were not recorded because the day was full. */
+    public long getDroppedEvents(LocalDate date) {
+        DayLog day = days.get(date);
+        if (day == null) {
+            return 0;
+        }
+        synchronized (day) {
+            return day.droppedEvents;
+        }
+    }
+
+    /** The newest business day dropped to stay within {@code retainDays}, or {@code null} if none was. */
+    public LocalDate getDroppedThrough() {
+        return droppedThrough;
+    }
+
+    public int getSnapshotCount() {
+        int count = 0;
+        for (DayLog day : days.values()) {
+            synchronized (day) {
+                count += day.snapshots.size() - 1;
+            }
+        }
+        return count;
+    }
+
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    /** Starts a business day's log, dropping the oldest days beyond the retention. */
+    private synchronized DayLog openDay(LocalDate date) {
+        DayLog day = days.computeIfAbsent(date, ignored -> new DayLog());
+        while (days.size() > retainDays) {
+            LocalDate oldest = Collections.min(days.keySet());
+            if (oldest.equals(date)) {
+                break;
+            }
+            DayLog dropped = days.remove(oldest);
+            dayByOrder.values().removeIf(owner -> owner == dropped);
+            if (droppedThrough == null || oldest.isAfter(droppedThrough)) {
+                droppedThrough = oldest;
+            }
+        }
+        return day;
+    }
+
+    private void append(Order order, EventFactory factory) {
+        DayLog day = dayByOrder.get(order.getId());
+        if (day == null) {
+            return;
+        }
+        synchronized (day) {
+            if (day.size >= maxEventsPerDay) {
+                droppedEvents.increment();
+                day.droppedEvents++;
+                return;
+            }
+            day.append(factory.create(sequence.incrementAndGet(), day.now()));
+        }
+    }
+
+    private long toMillis(LocalDateTime at) {
+        return at.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    @FunctionalInterface
+    private interface EventFactory {
+        AuditEvent create(long sequence, long timestampMillis);
+    }
+
+    private record Snapshot(int position, long timestampMillis, Map<String, OrderState> orders) {
+    }
+
+    /** One business day: its events in append order, the live states and periodic snapshots. */
+    private final class DayLog {
+        private AuditEvent[] events = new AuditEvent[1_024];
+        private int size;
+        private String[] placedIds = new String[256];
+        private int placedCount;
+        private long droppedOrders;
+        private long droppedEvents;
+        private long lastMillis = Long.MIN_VALUE;
+        private final Map<String, OrderState> current = new HashMap<>();
+        private final Map<String, Positions> positionsByOrder = new HashMap<>();
+        private final List<Snapshot> snapshots = new ArrayList<>(List.of(new Snapshot(0, Long.MIN_VALUE, Map.of())));
+
+        /** Wall-clock time that never runs backwards within the day, so replay can stop at the first later event. */
+        long now() {
+            lastMillis = Math.max(lastMillis, clock.millis());
+            return lastMillis;
+        }
+
+        void append(AuditEvent event) {
+            if (size == events.length) {
+                events = Arrays.copyOf(events, size * 2);
+            }
+            events[size] = event;
+            positionsByOrder.computeIfAbsent(event.orderId(), ignored -> new Positions()).add(size);
+            size++;
+            if (event.type() == AuditEvent.Type.PLACED) {
+                if (placedCount == placedIds.length) {
+                    placedIds = Arrays.copyOf(placedIds, placedCount * 2);
+                }
+                placedIds[placedCount++] = event.orderId();
+            }
+            OrderState previous = current.get(event.orderId());
+            current.put(event.orderId(), previous == null ? event.placed() : previous.apply(event));
+            if (size - snapshots.get(snapshots.size() - 1).position() >= Math.max(snapshotInterval, current.size())) {
+                snapshots.add(new Snapshot(size, event.timestampMillis(), Map.copyOf(current)));
+            }
+        }
+
+        List<AuditEvent> eventsOf(String orderId, long atMillis) {
+            int[] positions;
+            AuditEvent[] log;
+            synchronized (this) {
+                Positions found = positionsByOrder.get(orderId);
+                if (found == null) {
+                    return List.of();
+                }
+                positions = Arrays.copyOf(found.values, found.size);
+                log = events;
+            }
+            List<AuditEvent> result = new ArrayList<>(positions.length);
+            for (int position : positions) {
+                if (log[position].timestampMillis() > atMillis) {
+                    break;
+                }
+                result.add(log[position]);
+            }
+            return result;
+        }
+
+        OrderState orderAsOf(String orderId, long atMillis) {
+            Snapshot snapshot;
+            int[] positions;
+            AuditEvent[] log;
+            synchronized (this) {
+                if (atMillis >= lastMillis) {
+                    return current.get(orderId);
+                }
+                Positions found = positionsByOrder.get(orderId);
+                if (found == null) {
+                    return null;
+                }
+                snapshot = snapshotAt(atMillis);
+                positions = Arrays.copyOf(found.values, found.size);
+                log = events;
+            }
+            OrderState state = snapshot.orders().get(orderId);
+            int from = Arrays.binarySearch(positions, snapshot.position());
+            for (int i = from < 0 ? -from - 1 : from; i < positions.length; i++) {
+                AuditEvent event = log[positions[i]];
+                if (event.timestampMillis() > atMillis) {
+                    break;
+                }
+                state = state == null ? event.placed() : state.apply(event);
+            }
+            return state;
+        }
+
+        List<OrderState> floorAsOf(long atMillis) {
+            Snapshot snapshot;
+            int end;
+            AuditEvent[] log;
+            String[] ids;
+            int placed;
+            synchronized (this) {
+                ids = placedIds;
+                placed = placedCount;
+                if (atMillis >= lastMillis) {
+                    return inPlacementOrder(current, ids, placed);
+                }
+                snapshot = snapshotAt(atMillis);
+                end = size;
+                log = events;
+            }
+            Map<String, OrderState> floor = new HashMap<>(snapshot.orders());
+            for (int i = snapshot.position(); i < end; i++) {
+                AuditEvent event = log[i];
+                if (event.timestampMillis() > atMillis) {
+                    break;
+                }
+                OrderState state = floor.get(event.orderId());
+                floor.put(event.orderId(), state == null ? event.placed() : state.apply(event));
+            }
+            return inPlacementOrder(floor, ids, placed);
+        }
+
+        synchronized List<OrderState> currentOrders(int from, int count) {
+            int end = (int) Math.min(placedCount, (long) from + count);
+            List<OrderState> result = new ArrayList<>(Math.max(0, end - from));
+            for (int i = from; i < end; i++) {
+                result.add(current.get(placedIds[i]));
+            }
+            return result;
+        }
+
+        /** Orders not yet placed at the rebuilt moment are simply missing from {@code floor}. */
+        private List<OrderState> inPlacementOrder(Map<String, OrderState> floor, String[] ids, int placed) {
+            List<OrderState> result = new ArrayList<>(Math.min(floor.size(), placed));
+            for (int i = 0; i < placed; i++) {
+                OrderState state = floor.get(ids[i]);
+                if (state != null) {
+                    result.add(state);
+                }
+            }
+            return result;
+        }
+
+        /** Latest snapshot taken no later than {@code atMillis}; the first one is the empty day. */
+        private Snapshot snapshotAt(long atMillis) {
+            int low = 0;
+            int high = snapshots.size() - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (snapshots.get(mid).timestampMillis() <= atMillis) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return snapshots.get(low);
+        }
+    }
+
+    /** Growable int array of an order's event positions within its day. */
+    private static final class Positions {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.restaurant.app.audit;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable picture of one order after some prefix of its audit events. Applying an event
+ * returns a new state, so snapshots can share states for orders that did not change.
+ *
+ * @param version sequence number of the last event applied
+ */
+public record OrderState(String id, LocalDateTime createdAt, String tableNumber, String notes, OrderStatus status,
+                         List<Line> lines, long version, long updatedAtMillis) {
+
+    /** One order line, carrying the item details as they were when it was rung in. */
+    public record Line(String code, String name, String category, long priceCents, int quantity) {
+
+        static Line of(MenuItem item, int quantity) {
+            return new Line(item.getCode(), item.getName(), item.getCategory(), Math.round(item.getPrice() * 100),
+                quantity);
+        }
+    }
+
+    static OrderState of(Order order, long sequence, long timestampMillis) {
+        List<Line> lines = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            lines.add(Line.of(item.getMenuItem(), item.getQuantity()));
+        }
+        return new OrderState(order.getId(), order.getCreatedAt(), order.getTableNumber(), order.getNotes(),
+            order.getStatus(), List.copyOf(lines), sequence, timestampMillis);
+    }
+
+    OrderState apply(AuditEvent event) {
+        long version = event.sequence();
+        long at = event.timestampMillis();
+        return switch (event.type()) {
+            case PLACED -> event.placed();
+            case ITEM_ADDED, QUANTITY_CHANGED, ITEM_REMOVED ->
+                new OrderState(id, createdAt, tableNumber, notes, status, withQuantity(event.item()), version, at);
+            case STATUS_CHANGED -> new OrderState(id, createdAt, tableNumber, notes, event.status(), lines, version, at);
+            case TABLE_CHANGED -> new OrderState(id, createdAt, event.text(), notes, status, lines, version, at);
+            case NOTES_CHANGED -> new OrderState(id, createdAt, tableNumber, event.text(), status, lines, version, at);
+        };
+    }
+
+    /** A detached {@link Order} with this state, for the regular order views. */
+    public Order toOrder() {
+        Order order = new Order(id, createdAt);
+        order.setTableNumber(tableNumber);
+        order.setNotes(notes);
+        for (Line line : lines) {
+            order.addItem(new MenuItem(line.code(), line.name(), line.category(), "", line.priceCents() / 100.0),
+                line.quantity());
+        }
+        order.setStatus(status);
+        return order;
+    }
+
+    private List<Line> withQuantity(Line changed) {
+        List<Line> updated = new ArrayList<>(lines.size() + 1);
+        boolean found = false;
+        for (Line line : lines) {
+            if (line.code().equals(changed.code())) {
+                found = true;
+                if (changed.quantity() > 0) {
+                    updated.add(changed);
+                }
+            } else {
+                updated.add(line);
+            }
+        }
+        if (!found && changed.quantity() > 0) {
+            updated.add(changed);
+        }
+        return List.copyOf(updated);
+    }
+}
@@ -0,0 +1,197 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.audit.OrderAuditLog;
+import com.restaurant.app.audit.OrderState;
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Simulates a service day (11:00-23:00) of orders that are placed, then amended, comped,
+ * moved and closed at later times, recording everything into two audit logs: one taking
+ * snapshots, one that never does. Then rebuilds the whole floor at the close of service from
+ * scratch, and orders and floors at random moments through the day.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.AuditReplayBenchmark [orders] [snapshotInterval]}
+ */
+public final class AuditReplayBenchmark {
+
+    private AuditReplayBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int interval = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        LocalDate day = LocalDate.of(2026, 10, 16);
+        long open = day.atTime(11, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        long close = day.atTime(23, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        SimulatedClock clock = new SimulatedClock(open);
+        OrderAuditLog snapshotted = new OrderAuditLog(interval, 7, orders, clock);
+        OrderAuditLog plain = new OrderAuditLog(Integer.MAX_VALUE, 7, orders, clock);
+
+        List<MenuItem> menu = new ArrayList<>();
+        MenuData.loadMenu().values().forEach(menu::addAll);
+        Random random = new Random(11);
+        PriorityQueue<Action> actions = new PriorityQueue<>();
+        for (int i = 0; i < orders; i++) {
+            long placedAt = open + (long) (random.nextDouble() * (close - open - 3_600_000L));
+            actions.add(new Action(placedAt, i, 0));
+        }
+        Order[][] placed = new Order[orders][2];
+        List<String> ids = new ArrayList<>(orders);
+        long last = open;
+        long recordStart = System.nanoTime();
+        while (!actions.isEmpty()) {
+            Action action = actions.poll();
+            clock.millis = action.at;
+            last = action.at;
+            if (action.step == 0) {
+                LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(action.at), ZoneOffset.UTC);
+                String id = String.format(Locale.ROOT, "%08X", action.order);
+                ids.add(id);
+                for (int copy = 0; copy < 2; copy++) {
+                    Order order = new Order(id, createdAt);
+                    order.setTableNumber(String.valueOf(1 + action.order % 40));
+                    Random lines = new Random(action.order);
+                    for (int l = 1 + lines.nextInt(6); l > 0; l--) {
+                        order.addItem(menu.get(lines.nextInt(menu.size())), 1 + lines.nextInt(2));
+                    }
+                    order.setStatus(OrderStatus.IN_PROGRESS);
+                    (copy == 0 ? snapshotted : plain).recordPlaced(order);
+                    placed[action.order][copy] = order;
+                }
+            } else {
+                for (Order order : placed[action.order]) {
+                    amend(order, action.step, new Random(action.order * 31L + action.step), menu);
+                }
+            }
+            if (action.step < 4) {
+                actions.add(new Action(action.at + 60_000 + random.nextInt(900_000), action.order, action.step + 1));
+            }
+        }
+        long recordNanos = System.nanoTime() - recordStart;
+        long events = snapshotted.getEventCount();
+        System.out.printf(Locale.US, "%,d orders, %,d events, %d snapshots (every %d or more): %.2f us per event "
+            + "recorded twice, order changes included%n",
+            orders, events, snapshotted.getSnapshotCount(), interval, recordNanos / 1e3 / events);
+
+        // just before the last event, so neither log can answer from its live state
+        LocalDateTime endOfService = LocalDateTime.ofInstant(Instant.ofEpochMilli(last - 1), ZoneOffset.UTC);
+        for (int warm = 0; warm < 5; warm++) {
+            plain.floorAsOf(endOfService);
+        }
+        long t0 = System.nanoTime();
+        int floorSize = plain.floorAsOf(endOfService).size();
+        long fullReplay = System.nanoTime() - t0;
+        System.out.printf(Locale.US, "full-day replay without snapshots: %.1f ms for %,d orders%n", fullReplay / 1e6,
+            floorSize);
+
+        int queries = Math.max(20, 4_000_000 / orders);
+        LocalDateTime[] moments = new LocalDateTime[queries];
+        for (int i = 0; i < queries; i++) {
+            moments[i] = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(open + (long) (random.nextDouble() * (last - open))), ZoneOffset.UTC);
+        }
+        long floorNanos = 0;
+        long plainFloorNanos = 0;
+        for (LocalDateTime at : moments) {
+            long start = System.nanoTime();
+            List<OrderState> floor = snapshotted.floorAsOf(at);
+            floorNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            List<OrderState> expected = plain.floorAsOf(at);
+            plainFloorNanos += System.nanoTime() - start;
+            if (!floor.equals(expected)) {
+                throw new IllegalStateException("Snapshot rebuild differs from full replay at " + at);
+            }
+        }
+        long checksum = 0;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < queries * 50; i++) {
+                checksum += snapshotted.orderAsOf(ids.get(i % ids.size()), moments[i % queries])
+                    .map(OrderState::version).orElse(0L);
+            }
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < queries * 50; i++) {
+            checksum += snapshotted.orderAsOf(ids.get(i % ids.size()), moments[i % queries])
+                .map(OrderState::version).orElse(0L);
+        }
+        long orderNanos = System.nanoTime() - start;
+        System.out.printf(Locale.US, "floor as of a random moment: %.2f ms with snapshots, %.2f ms without%n",
+            floorNanos / 1e6 / queries, plainFloorNanos / 1e6 / queries);
+        System.out.printf(Locale.US, "single order as of a random moment: %.1f us (%d)%n",
+            orderNanos / 1e3 / (queries * 50), checksum & 1);
+    }
+
+    /** Steps 1-4: add or change an item, comp or void one, move table, close the check. */
+    private static void amend(Order order, int step, Random change, List<MenuItem> menu) {
+        switch (step) {
+            case 1 -> order.addItem(menu.get(change.nextInt(menu.size())), 1);
+            case 2 -> {
+                MenuItem item = order.getItems().get(change.nextInt(order.getItems().size())).getMenuItem();
+                if (change.nextInt(10) == 0) {
+                    order.remove(item);
+                } else {
+                    order.updateQuantity(item, 1 + change.nextInt(3));
+                }
+            }
+            case 3 -> {
+                if (change.nextInt(20) == 0) {
+                    order.setTableNumber(String.valueOf(41 + change.nextInt(10)));
+                } else {
+                    order.setNotes("note " + change.nextInt(100));
+                }
+            }
+            default -> order.setStatus(change.nextInt(50) == 0 ? OrderStatus.CANCELLED : OrderStatus.SERVED);
+        }
+    }
+
+    private record Action(long at, int order, int step) implements Comparable<Action> {
+        @Override
+        public int compareTo(Action other) {
+            return Long.compare(at, other.at);
+        }
+    }
+
+    private static final class SimulatedClock extends Clock {
+        private long millis;
+
+        private SimulatedClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.events.OrderEventBus;
+import com.restaurant.app.model.Order;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes order-created events from one thread per core into an {@link OrderEventBus}
+ * with a fast subscriber and one that pauses every 1,000 events, then reports publish cost,
+ * back-pressure stalls and batch sizes. Each subscriber checks it saw every sequence in order.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.EventBusBenchmark [eventsPerThread] [capacity]}
+ */
+public final class EventBusBenchmark {
+
+    private EventBusBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 4_096;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        long total = (long) perThread * threads;
+        OrderEventBus bus = new OrderEventBus(capacity);
+
+        Checker fast = new Checker(total);
+        Checker slow = new Checker(total);
+        OrderEventBus.Subscription fastSubscription = bus.subscribe("fast", 1_024, (event, endOfBatch) ->
+            fast.accept(event.getSequence(), endOfBatch));
+        OrderEventBus.Subscription slowSubscription = bus.subscribe("slow", 1_024, (event, endOfBatch) -> {
+            if (event.getSequence() % 1_000 == 0) {
+                Thread.sleep(1);
+            }
+            slow.accept(event.getSequence(), endOfBatch);
+        });
+
+        Order order = new Order();
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    bus.publishCreated(order);
+                }
+                done.countDown();
+            });
+            producer.start();
+        }
+        done.await();
+        long publishNanos = System.nanoTime() - start;
+        fast.done.await();
+        slow.done.await();
+        long drainNanos = System.nanoTime() - start;
+
+        System.out.printf(Locale.US, "%d producers, %,d events, ring %d%n", threads, total, bus.getCapacity());
+        System.out.printf(Locale.US, "publish: %.0f ns/event (%.1f ms), drained after %.1f ms, producer stalls %d%n",
+            (double) publishNanos / total, publishNanos / 1e6, drainNanos / 1e6, bus.getProducerStalls());
+        fast.report("fast", fastSubscription);
+        slow.report("slow", slowSubscription);
+        bus.close();
+    }
+
+    private static final class Checker {
+        private final long expected;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final AtomicLong outOfOrder = new AtomicLong();
+        private long last = -1;
+        private long batches;
+
+        private Checker(long expected) {
+            this.expected = expected;
+        }
+
+        void accept(long sequence, boolean endOfBatch) {
+            if (sequence != last + 1) {
+                outOfOrder.incrementAndGet();
+            }
+            last = sequence;
+            if (endOfBatch) {
+                batches++;
+            }
+            if (sequence == expected - 1) {
+                done.countDown();
+            }
+        }
+
+        void report(String name, OrderEventBus.Subscription subscription) {
+            System.out.printf(Locale.US, "%-5s processed %,d in %,d batches (avg %.1f), gaps %d, failures %d%n",
+                name, subscription.getProcessed(), batches, (double) (last + 1) / Math.max(1, batches),
+                outOfOrder.get(), subscription.getFailures());
+        }
+    }
+}
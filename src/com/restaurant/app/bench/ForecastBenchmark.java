@@ -0,0 +1,111 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.forecast.DemandForecaster;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.workload.WorkloadGenerator;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fits {@link DemandForecaster} to synthetic history and reports backfill time by thread count,
+ * the cost of recording one live order, and how well each day of a held-out final week is
+ * forecast (weighted absolute percentage error of per-item daily totals) against the naive
+ * "same weekday last week" guess.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.ForecastBenchmark [days] [ordersPerDay]}
+ */
+public final class ForecastBenchmark {
+    private static final int HELD_OUT_DAYS = 7;
+
+    private ForecastBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 180;
+        double ordersPerDay = args.length > 1 ? Double.parseDouble(args[1]) : 400;
+        List<MenuItem> menu = MenuData.flattenMenu(MenuData.loadMenu());
+        LocalDate firstDay = LocalDate.of(2026, 1, 5);
+        List<Order> history = new WorkloadGenerator(42).history(menu, firstDay, days, ordersPerDay);
+        LocalDate heldOutFrom = firstDay.plusDays(days - HELD_OUT_DAYS);
+        int training = 0;
+        while (history.get(training).getCreatedAt().toLocalDate().isBefore(heldOutFrom)) {
+            training++;
+        }
+        List<Order> train = history.subList(0, training);
+        System.out.printf(Locale.US, "%d days, %d orders (%d before the held-out week)%n", days, history.size(), training);
+
+        System.out.printf(Locale.US, "%-28s %10s %14s%n", "backfill", "ms", "orders/s");
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads : processors > 1 ? new int[] {1, processors} : new int[] {1}) {
+            for (int warmUp = 0; warmUp < 3; warmUp++) {
+                new DemandForecaster().backfill(history, threads);
+            }
+            long start = System.nanoTime();
+            new DemandForecaster().backfill(history, threads);
+            long nanos = System.nanoTime() - start;
+            System.out.printf(Locale.US, "%-28s %10.1f %14.0f%n", threads + " thread(s)", nanos / 1e6,
+                history.size() / (nanos / 1e9));
+        }
+
+        DemandForecaster online = new DemandForecaster();
+        for (int warmUp = 0; warmUp < 5; warmUp++) {
+            online = new DemandForecaster();
+            for (Order order : train) {
+                online.record(order);
+            }
+        }
+        online = new DemandForecaster();
+        long start = System.nanoTime();
+        for (Order order : train) {
+            online.record(order);
+        }
+        System.out.printf(Locale.US, "%-28s %10.0f ns/order%n", "online record", (System.nanoTime() - start) / (double) training);
+
+        DemandForecaster fitted = new DemandForecaster();
+        fitted.backfill(train, processors);
+        Map<LocalDate, Map<String, Integer>> actual = dailyTotals(history);
+        System.out.printf(Locale.US, "%n%-12s %10s %10s %12s%n", "held out", "actual", "WAPE", "naive WAPE");
+        double error = 0;
+        double naiveError = 0;
+        double total = 0;
+        for (int d = 0; d < HELD_OUT_DAYS; d++) {
+            LocalDate day = heldOutFrom.plusDays(d);
+            Map<String, Integer> truth = actual.getOrDefault(day, Map.of());
+            Map<String, Integer> lastWeek = actual.getOrDefault(day.minusDays(7), Map.of());
+            double dayError = 0;
+            double dayNaive = 0;
+            double dayTotal = 0;
+            for (DemandForecaster.ItemForecast item : fitted.forecast(day).items()) {
+                int observed = truth.getOrDefault(item.code(), 0);
+                dayError += Math.abs(item.expected() - observed);
+                dayNaive += Math.abs(lastWeek.getOrDefault(item.code(), 0) - observed);
+                dayTotal += observed;
+            }
+            System.out.printf(Locale.US, "%-12s %10.0f %9.1f%% %11.1f%%%n", day.getDayOfWeek().toString().substring(0, 3)
+                + " " + day.getDayOfMonth(), dayTotal, 100 * dayError / dayTotal, 100 * dayNaive / dayTotal);
+            error += dayError;
+            naiveError += dayNaive;
+            total += dayTotal;
+        }
+        System.out.printf(Locale.US, "%-12s %10.0f %9.1f%% %11.1f%%%n", "week", total, 100 * error / total,
+            100 * naiveError / total);
+    }
+
+    private static Map<LocalDate, Map<String, Integer>> dailyTotals(List<Order> orders) {
+        Map<LocalDate, Map<String, Integer>> totals = new HashMap<>();
+        for (Order order : orders) {
+            Map<String, Integer> day = totals.computeIfAbsent(order.getCreatedAt().toLocalDate(), d -> new HashMap<>());
+            for (OrderItem line : order.getItems()) {
+                day.merge(line.getMenuItem().getCode(), line.getQuantity(), Integer::sum);
+            }
+        }
+        return totals;
+    }
+}
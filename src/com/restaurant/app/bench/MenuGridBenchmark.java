@@ -0,0 +1,55 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.ui.MenuCardGrid;
+
+import javax.swing.JButton;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures category switches on {@link MenuCardGrid} with large synthetic categories.
+ * Runs headless: {@code java -Djava.awt.headless=true -cp out com.restaurant.app.bench.MenuGridBenchmark [items]}
+ */
+public final class MenuGridBenchmark {
+
+    private MenuGridBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int itemsPerCategory = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        List<List<MenuItem>> categories = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            List<MenuItem> items = new ArrayList<>(itemsPerCategory);
+            for (int i = 0; i < itemsPerCategory; i++) {
+                items.add(new MenuItem("C" + c + "-" + i, "Dish " + c + "/" + i, "Category " + c,
+                    "Seasonal ingredients, house sauce and a side of greens #" + i, 5 + (i % 40) * 0.5));
+            }
+            categories.add(items);
+        }
+
+        SwingUtilities.invokeAndWait(() -> {
+            MenuCardGrid grid = new MenuCardGrid(JButton::new, item -> { });
+            JScrollPane scroll = new JScrollPane(grid);
+            scroll.setSize(420, 640);
+            scroll.doLayout();
+
+            for (int warmup = 0; warmup < 50; warmup++) {
+                grid.setItems(categories.get(warmup % categories.size()));
+                scroll.getViewport().doLayout();
+            }
+            int switches = 200;
+            long start = System.nanoTime();
+            for (int i = 0; i < switches; i++) {
+                grid.setItems(categories.get(i % categories.size()));
+                scroll.getViewport().doLayout();
+            }
+            long perSwitch = (System.nanoTime() - start) / switches;
+            System.out.printf(Locale.US, "%d items per category: %.1f us per category switch, %d card components%n",
+                itemsPerCategory, perSwitch / 1e3, grid.getMaterializedCardCount());
+        });
+    }
+}
@@ -0,0 +1,196 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.server.OrderViews;
+import com.restaurant.app.server.Router;
+import com.restaurant.app.server.ServerConfig;
+import com.restaurant.app.server.ServerExchange;
+import com.restaurant.app.server.ServerMetrics;
+import com.restaurant.app.server.WebServerLauncher;
+import com.restaurant.app.service.OrderManager;
+import com.restaurant.app.util.ByteSink;
+import com.restaurant.app.util.JsonUtil;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bytes allocated and time spent per order creation on the calling thread, comparing the
+ * previous map-based parse and render with the {@code POST /api/orders} route as the server
+ * runs it (admission control, compression and request tracing included), and the same route
+ * with tracing turned off. The exchange is an in-memory stub so the figures exclude the transport.
+ * <p>
+ * Every order falls on the same business day, so once the audit trail holds its 10,000 orders
+ * for the day, later ones skip it and leave out the state it would keep; the counts are printed.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.OrderCreateAllocationBenchmark [iterations]}
+ */
+public final class OrderCreateAllocationBenchmark {
+    private static final String BODY = "{\"table\":\"12\",\"notes\":\"no onions\",\"items\":["
+        + "{\"code\":\"%s\",\"quantity\":2},{\"code\":\"%s\",\"quantity\":1}]}";
+
+    private OrderCreateAllocationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Map<String, List<MenuItem>> menu = MenuData.loadMenu();
+        List<MenuItem> items = MenuData.flattenMenu(menu);
+        byte[] body = String.format(BODY, items.get(0).getCode(), items.get(1).getCode())
+            .getBytes(StandardCharsets.UTF_8);
+
+        ServerConfig config = ServerConfig.defaults()
+            .with("clientRps", "1000000000")
+            .with("clientBurst", "1000000000")
+            .with("routeRps", "1000000000")
+            .with("routeBurst", "1000000000");
+        OrderManager routeManager = new OrderManager();
+        OrderManager untracedManager = new OrderManager();
+        Router router = WebServerLauncher.createRouter(config, menu, routeManager, new ServerMetrics());
+        Router untracedRouter = WebServerLauncher.createRouter(config.with("traceSample", "0"), menu,
+            untracedManager, new ServerMetrics());
+        Map<String, MenuItem> menuIndex = MenuData.indexByCode(menu);
+        OrderManager legacyManager = new OrderManager();
+        StubExchange exchange = new StubExchange(body);
+
+        Task mapBased = () -> {
+            Map<String, Object> payload = JsonUtil.parseObject(new String(body, StandardCharsets.UTF_8));
+            Order order = new Order();
+            order.setTableNumber(String.valueOf(payload.get("table")));
+            order.setNotes(String.valueOf(payload.get("notes")));
+            for (Object element : (List<?>) payload.get("items")) {
+                Map<?, ?> item = (Map<?, ?>) element;
+                order.addItem(menuIndex.get(String.valueOf(item.get("code"))), ((Number) item.get("quantity")).intValue());
+            }
+            legacyManager.addOrder(order);
+            String json = JsonUtil.stringify(Map.of("message", "Order received", "order", OrderViews.orderSummary(order)));
+            exchange.sink(json.getBytes(StandardCharsets.UTF_8));
+        };
+        Task route = () -> {
+            exchange.reset();
+            router.dispatch(exchange);
+            if (exchange.status != 201) {
+                throw new IllegalStateException("Unexpected status " + exchange.status);
+            }
+        };
+        Task untraced = () -> {
+            exchange.reset();
+            untracedRouter.dispatch(exchange);
+            if (exchange.status != 201) {
+                throw new IllegalStateException("Unexpected status " + exchange.status);
+            }
+        };
+
+        System.out.printf(Locale.US, "%d iterations%n", iterations);
+        System.out.printf(Locale.US, "%-22s %14s %12s%n", "path", "bytes/order", "ns/order");
+        measure("map-based (previous)", mapBased, iterations);
+        measure("POST /api/orders", route, iterations);
+        measure("  without tracing", untraced, iterations);
+        System.out.printf(Locale.US, "audited orders per path: %d, the other %d were past the day's cap%n",
+            routeManager.getAudit().getEventCount(), routeManager.getAudit().getDroppedOrders());
+    }
+
+    private static void measure(String label, Task task, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long startBytes = threads.getCurrentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - startBytes;
+        System.out.printf(Locale.US, "%-22s %14.0f %12.0f%n", label, (double) bytes / iterations, (double) nanos / iterations);
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    /** Reusable in-memory exchange that records only the status and a byte count, adding no garbage of its own. */
+    private static final class StubExchange implements ServerExchange {
+        private static final InetSocketAddress CLIENT = new InetSocketAddress("127.0.0.1", 50_000);
+
+        private final byte[] body;
+        private int status;
+        private long checksum;
+
+        private StubExchange(byte[] body) {
+            this.body = body;
+        }
+
+        void reset() {
+            status = 0;
+        }
+
+        void sink(byte[] response) {
+            checksum += response.length;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return "POST";
+        }
+
+        @Override
+        public String getRequestPath() {
+            return "/api/orders";
+        }
+
+        @Override
+        public String getQuery() {
+            return null;
+        }
+
+        @Override
+        public String getRequestHeader(String name) {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return CLIENT;
+        }
+
+        @Override
+        public byte[] readBody() {
+            return body.clone();
+        }
+
+        @Override
+        public void readBody(ByteSink sink) {
+            sink.write(body);
+        }
+
+        @Override
+        public void setResponseHeader(String name, String value) {
+        }
+
+        @Override
+        public void sendResponse(int status, byte[] response, int length) {
+            this.status = status;
+            checksum += length;
+        }
+
+        @Override
+        public void sendFile(int status, Path file) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OutputStream sendChunked(int status) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
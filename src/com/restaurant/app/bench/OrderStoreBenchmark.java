@@ -0,0 +1,69 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.service.OrderManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures {@link OrderManager} throughput under a write-heavy mix (one history read per
+ * ten appends) for increasing shard counts, using one thread per available core.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.OrderStoreBenchmark [seconds] [historyLimit]}
+ */
+public final class OrderStoreBenchmark {
+
+    private OrderStoreBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 2.0;
+        int historyLimit = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<MenuItem> items = MenuData.flattenMenu(MenuData.loadMenu());
+
+        System.out.printf(Locale.US, "%d threads, history limit %d%n", threads, historyLimit);
+        System.out.printf(Locale.US, "%8s %14s%n", "shards", "ops/s");
+        for (int shards = 1; shards <= Math.max(16, threads * 2); shards *= 2) {
+            OrderManager manager = new OrderManager(historyLimit, shards);
+            run(manager, items, threads, seconds / 4);
+            double opsPerSecond = run(manager, items, threads, seconds);
+            System.out.printf(Locale.US, "%8d %14.0f%n", shards, opsPerSecond);
+        }
+    }
+
+    private static double run(OrderManager manager, List<MenuItem> items, int threads, double seconds)
+        throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long local = 0;
+                while (System.nanoTime() < deadline) {
+                    if (local % 10 == 9) {
+                        manager.getHistory();
+                    } else {
+                        Order order = new Order();
+                        order.setTableNumber("T" + random.nextInt(64));
+                        order.addItem(items.get(random.nextInt(items.size())), 1);
+                        manager.addOrder(order);
+                    }
+                    local++;
+                }
+                operations.add(local);
+                done.countDown();
+            });
+            worker.start();
+        }
+        done.await();
+        return operations.sum() / seconds;
+    }
+}
@@ -0,0 +1,95 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.pricing.PriceBreakdown;
+import com.restaurant.app.pricing.PricingPlan;
+import com.restaurant.app.pricing.PricingRule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compiles a generated rule set (discounts across a dozen time windows, bundles, and
+ * per-category tax for several jurisdictions) against a generated menu, then prices a
+ * 50-line order at Friday 17:30, when many of the windows are active.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.PricingBenchmark [rules] [lines] [iterations]}
+ */
+public final class PricingBenchmark {
+    private static final String[] DAYS = {"mon-fri", "sat,sun", "fri", "tue-thu", "mon-sun"};
+    private static final String[] HOURS = {"16:00-18:00", "11:30-14:00", "17:00-19:00", "21:00-02:00", "00:00-24:00"};
+
+    private PricingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int ruleCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int lines = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+        Random random = new Random(7);
+
+        Map<String, List<MenuItem>> menu = new LinkedHashMap<>();
+        List<MenuItem> all = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            String category = "Category " + c;
+            List<MenuItem> items = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                MenuItem item = new MenuItem("C" + c + "-" + i, "Item " + c + "." + i, category, "",
+                    4 + random.nextInt(2_000) / 100.0);
+                items.add(item);
+                all.add(item);
+            }
+            menu.put(category, items);
+        }
+
+        List<String> text = new ArrayList<>();
+        text.add("tax sales rate=8");
+        text.add("tax city rate=8.875 jurisdiction=downtown");
+        for (int r = 1; text.size() < ruleCount; r++) {
+            String window = " days=" + DAYS[r % DAYS.length] + " hours=" + HOURS[(r / DAYS.length) % HOURS.length];
+            MenuItem item = all.get(random.nextInt(all.size()));
+            switch (r % 10) {
+                case 0 -> text.add("tax levy-" + r + " rate=" + (5 + r % 5) + " \"items=category:" + item.getCategory()
+                    + "\" jurisdiction=" + (r % 20 == 0 ? "downtown" : "airport"));
+                case 1, 2 -> text.add("bundle combo-" + r + " off=" + (1 + r % 4) + ".50 \"items=category:"
+                    + item.getCategory() + "+" + all.get(random.nextInt(all.size())).getCode() + "\"" + window);
+                case 3, 4, 5 -> text.add("discount cat-" + r + " percent=" + (5 + r % 30) + " \"items=category:"
+                    + item.getCategory() + "\"" + window);
+                default -> text.add("discount item-" + r + " off=" + (r % 3 + 1) + ".00 items=" + item.getCode() + window);
+            }
+        }
+        long compileStart = System.nanoTime();
+        PricingPlan plan = PricingPlan.compile(PricingRule.parseAll(text), menu, "downtown");
+        long compileNanos = System.nanoTime() - compileStart;
+
+        Order order = new Order("BENCH", LocalDateTime.of(2026, 10, 16, 17, 30));
+        order.setPricing(plan);
+        for (int i = 0; i < lines; i++) {
+            order.addItem(all.get(i % all.size()), 1 + random.nextInt(3));
+        }
+
+        long sink = 0;
+        for (int i = 0; i < iterations / 10; i++) {
+            sink += order.getPrice().totalCents();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += order.getPrice().totalCents();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        PriceBreakdown price = order.getPrice();
+        System.out.printf(Locale.US, "%d rules (%d applicable downtown) compiled in %.2f ms%n",
+            text.size(), plan.getRuleCount(), compileNanos / 1e6);
+        System.out.printf(Locale.US, "%d-line order: subtotal %.2f, promos %.2f, tax %.2f, total %.2f%n", lines,
+            price.subtotalCents() / 100.0, price.discountCents() / 100.0, price.taxCents() / 100.0,
+            price.totalCents() / 100.0);
+        System.out.printf(Locale.US, "%.0f ns per evaluation (%d)%n", (double) elapsed / iterations, sink & 1);
+    }
+}
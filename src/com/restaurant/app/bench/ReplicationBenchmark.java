@@ -0,0 +1,71 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.replication.ReplicationFollower;
+import com.restaurant.app.replication.ReplicationLeader;
+import com.restaurant.app.server.ServerMetrics;
+import com.restaurant.app.service.OrderManager;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Runs a leader and a follower on localhost in one JVM, appends orders on the leader and
+ * reports how long the follower takes to converge and the lag it observed.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.ReplicationBenchmark [orders]}
+ */
+public final class ReplicationBenchmark {
+
+    private ReplicationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        Map<String, List<MenuItem>> menu = MenuData.loadMenu();
+        List<MenuItem> items = MenuData.flattenMenu(menu);
+
+        OrderManager leaderOrders = new OrderManager();
+        ServerMetrics leaderMetrics = new ServerMetrics();
+        ReplicationLeader leader = new ReplicationLeader(0, orders, leaderOrders, leaderMetrics);
+        leader.start();
+
+        OrderManager followerOrders = new OrderManager();
+        ServerMetrics followerMetrics = new ServerMetrics();
+        ReplicationFollower follower = new ReplicationFollower(new InetSocketAddress("localhost", leader.getPort()),
+            followerOrders, MenuData.indexByCode(menu), followerMetrics);
+        follower.start();
+        Thread.sleep(200);
+
+        Random random = new Random(7);
+        long maxLag = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.setTableNumber("T" + random.nextInt(30));
+            order.addItem(items.get(random.nextInt(items.size())), 1 + random.nextInt(3));
+            leaderOrders.addOrder(order);
+            if (i % 1_000 == 0) {
+                maxLag = Math.max(maxLag, (Long) followerMetrics.snapshot().get("replication.lagRecords"));
+            }
+        }
+        long appended = System.nanoTime();
+        while (follower.getAppliedSeq() < orders) {
+            Thread.sleep(1);
+        }
+        long converged = System.nanoTime();
+
+        System.out.printf(Locale.US, "%d orders appended in %.1f ms, follower converged %.1f ms later%n",
+            orders, (appended - start) / 1e6, (converged - appended) / 1e6);
+        System.out.printf(Locale.US, "%.0f orders/s replicated, max sampled lag %d records%n",
+            orders / ((converged - start) / 1e9), maxLag);
+        System.out.println("Follower metrics: " + followerMetrics.snapshot());
+        follower.stop();
+        leader.stop();
+    }
+}
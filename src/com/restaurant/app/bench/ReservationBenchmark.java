@@ -0,0 +1,101 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.TableData;
+import com.restaurant.app.service.ReservationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Books a season of reservations against the default floor plan with request times bunched
+ * around 19:00, then times availability checks on the busiest evenings and waitlist quotes
+ * with twenty parties in line. Reports acceptance rate, booking cost and query percentiles.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.ReservationBenchmark [days] [requestsPerDay]}
+ */
+public final class ReservationBenchmark {
+
+    private ReservationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 90;
+        int perDay = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+        LocalDate opening = LocalDate.of(2026, 1, 5);
+        Clock clock = Clock.fixed(opening.atTime(19, 0).atZone(ZoneId.systemDefault()).toInstant(),
+            ZoneId.systemDefault());
+        ReservationManager manager = new ReservationManager(TableData.loadTables(), clock);
+        Random random = new Random(42);
+
+        long booked = 0;
+        long start = System.nanoTime();
+        for (int day = 0; day < days; day++) {
+            LocalDate date = opening.plusDays(day);
+            for (int i = 0; i < perDay; i++) {
+                int party = partySize(random);
+                if (manager.book("Guest " + i, party, requestTime(random, date),
+                    ReservationManager.defaultDuration(party)).isPresent()) {
+                    booked++;
+                }
+            }
+        }
+        long bookingNanos = System.nanoTime() - start;
+        long requests = (long) days * perDay;
+        System.out.printf(Locale.US, "%d days x %d requests: %,d booked (%.0f%%), %.0f ns/booking attempt%n",
+            days, perDay, booked, 100.0 * booked / requests, (double) bookingNanos / requests);
+
+        int queries = 200_000;
+        long[] samples = new long[queries];
+        int available = 0;
+        for (int i = 0; i < queries; i++) {
+            int party = partySize(random);
+            LocalDateTime at = requestTime(random, opening.plusDays(random.nextInt(days)));
+            long t0 = System.nanoTime();
+            if (manager.findTable(at, ReservationManager.defaultDuration(party), party).isPresent()) {
+                available++;
+            }
+            samples[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(samples);
+        System.out.printf(Locale.US, "availability: p50 %d ns, p99 %d ns, max %d ns (%d%% open)%n",
+            samples[queries / 2], samples[queries * 99 / 100], samples[queries - 1], 100L * available / queries);
+
+        for (int i = 0; i < 20; i++) {
+            manager.joinWaitlist("Walk-in " + i, partySize(random));
+        }
+        int quotes = 20_000;
+        long sink = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < quotes; i++) {
+            sink += manager.waitlistQuotes().get(19).waitMinutes();
+        }
+        long quoteNanos = System.nanoTime() - start;
+        System.out.printf(Locale.US, "waitlist quote (20 parties): %.1f us, last party waits %d min%n",
+            quoteNanos / 1e3 / quotes, sink / quotes);
+    }
+
+    /** Mostly twos and fours, the occasional large group. */
+    private static int partySize(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 45) {
+            return 2;
+        }
+        if (roll < 80) {
+            return 3 + random.nextInt(2);
+        }
+        return roll < 96 ? 5 + random.nextInt(2) : 7 + random.nextInt(2);
+    }
+
+    /** Normal around 19:00 with a 75-minute spread, clamped to 17:00-21:15, on the quarter hour. */
+    private static LocalDateTime requestTime(Random random, LocalDate date) {
+        double minutes = 19 * 60 + random.nextGaussian() * 75;
+        long quarter = Math.round(Math.max(17 * 60, Math.min(21 * 60 + 15, minutes)) / 15) * 15;
+        return date.atStartOfDay().plus(Duration.ofMinutes(quarter));
+    }
+}
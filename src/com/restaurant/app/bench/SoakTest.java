@@ -0,0 +1,376 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.server.ServerConfig;
+import com.restaurant.app.server.WebServerLauncher;
+import com.restaurant.app.util.JsonUtil;
+import com.restaurant.app.workload.WorkloadDriver;
+import com.restaurant.app.workload.WorkloadGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs {@link WebServerLauncher} in a child JVM under a steady synthetic load for hours and
+ * fails if it degrades: generated orders are posted at {@code --rate=20} a second, and menu,
+ * order history and forecast reads made at {@code --readRate=10}. Every {@code --sampleSeconds=10}
+ * the server's {@code jvm.*} metrics are read; every {@code --windowSeconds=600} a row of latency
+ * percentiles, heap after GC, threads and GC time is printed. The first window after
+ * {@code --warmupSeconds=600} is the baseline, and the run fails when the last window has drifted
+ * from it by more than:
+ * <ul>
+ *   <li>{@code --maxHeapGrowthMb=64} of heap after GC, and {@code --maxHeapBytesPerOrder=1024}
+ *       for every order accepted in between; the audit trail keeps the current business day,
+ *       about 0.7 KB an order up to {@code --auditDayOrders}, so some growth is expected</li>
+ *   <li>{@code --maxThreadGrowth=16} live threads</li>
+ *   <li>{@code --maxP99DriftMillis=50} of order or read p99 latency</li>
+ *   <li>{@code --maxGcDriftPercent=5} percentage points of time spent in GC pauses</li>
+ * </ul>
+ * It also fails on any GC pause over {@code --maxGcPauseMillis=500}, on more than
+ * {@code --maxErrorPercent=0.1} failed requests after warm-up, and if the server exits.
+ * <p>
+ * The server gets {@code --heap=256m} and any {@code --jvmArgs=-XX:+UseG1GC,...}; arguments
+ * prefixed {@code --server.}, e.g. {@code --server.transport=nio}, are passed on without the
+ * prefix, and its output goes to {@code --serverLog=soak-server.log}.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.SoakTest [--minutes=240] [--rate=20]}
+ */
+public final class SoakTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final List<String> READS = List.of("/api/menu", "/api/orders", "/api/forecast");
+
+    private SoakTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ServerConfig config = ServerConfig.load(args);
+        long runNanos = TimeUnit.MINUTES.toNanos(config.getInt("minutes", 240));
+        long windowNanos = TimeUnit.SECONDS.toNanos(config.getInt("windowSeconds", 600));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(config.getInt("warmupSeconds", 600));
+        long sampleNanos = TimeUnit.SECONDS.toNanos(config.getInt("sampleSeconds", 10));
+        int windows = (int) (runNanos / windowNanos);
+        int baseline = (int) ((warmupNanos + windowNanos - 1) / windowNanos);
+        if (windows - baseline < 2) {
+            throw new IllegalArgumentException("--minutes must leave at least two windows after the warm-up");
+        }
+        double rate = config.getDouble("rate", 20);
+        double readRate = config.getDouble("readRate", 10);
+
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        Process server = startServer(config, args, port);
+        try {
+            URI base = URI.create("http://localhost:" + port);
+            HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+            awaitReady(http, base, server);
+
+            Latencies orderLatencies = new Latencies();
+            Latencies readLatencies = new Latencies();
+            long start = System.nanoTime();
+            long end = start + windows * windowNanos;
+            WorkloadGenerator generator = new WorkloadGenerator(config.getLong("seed", 42));
+            Iterator<Order> orders = generator.orders(MenuData.flattenMenu(MenuData.loadMenu()), LocalDate.now(), 400);
+            startDaemon("soak-orders", () -> {
+                try {
+                    WorkloadDriver.overHttp(orders, (long) (rate * (end - start) / 1e9), base,
+                        config.getInt("connections", 8), rate, orderLatencies::record);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            if (readRate > 0) {
+                startDaemon("soak-reads", () -> read(http, base, readRate, start, end, readLatencies));
+            }
+
+            System.out.printf(Locale.US, "%6s %8s %6s %8s %8s %8s %8s %8s %7s %9s %7s %6s%n", "min", "orders/s",
+                "errors", "p50 ms", "p99 ms", "max ms", "read p99", "heap MB", "threads", "started/s", "gc/min",
+                "gc %");
+            List<Window> done = new ArrayList<>(windows);
+            List<String> failures = new ArrayList<>();
+            Map<String, Object> last = metrics(http, base);
+            for (int w = 0; w < windows && failures.isEmpty(); w++) {
+                Window window = new Window(w, last);
+                long windowEnd = start + (w + 1) * windowNanos;
+                for (long due = Math.min(System.nanoTime() + sampleNanos, windowEnd); ;
+                     due = Math.min(due + sampleNanos, windowEnd)) {
+                    sleepUntil(due);
+                    if (!server.isAlive()) {
+                        failures.add("server exited with status " + server.exitValue());
+                        break;
+                    }
+                    last = metrics(http, base);
+                    window.sample(last);
+                    if (due == windowEnd) {
+                        break;
+                    }
+                }
+                window.close(last, orderLatencies.drain(), readLatencies.drain(), windowNanos);
+                done.add(window);
+                window.print(windowNanos);
+            }
+            if (failures.isEmpty()) {
+                evaluate(config, done.get(baseline), done.subList(baseline, done.size()), failures);
+            }
+            System.out.println();
+            if (failures.isEmpty()) {
+                System.out.println("PASS: no drift past the thresholds");
+            } else {
+                failures.forEach(failure -> System.out.println("FAIL: " + failure));
+            }
+            stopServer(server);
+            System.exit(failures.isEmpty() ? 0 : 1);
+        } finally {
+            if (server.isAlive()) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    private static void evaluate(ServerConfig config, Window first, List<Window> measured, List<String> failures) {
+        Window last = measured.get(measured.size() - 1);
+        long sent = 0;
+        long failed = 0;
+        long accepted = 0;
+        for (Window window : measured) {
+            sent += window.requests;
+            failed += window.errors;
+            if (window != first) {
+                accepted += window.ordersAccepted;
+            }
+        }
+        double errorPercent = sent == 0 ? 0 : 100.0 * failed / sent;
+        if (errorPercent > config.getDouble("maxErrorPercent", 0.1)) {
+            failures.add(String.format(Locale.US, "%.2f%% of %d requests failed", errorPercent, sent));
+        }
+        long heapGrowth = last.heapFloor - first.heapFloor;
+        long perOrder = heapGrowth / Math.max(1, accepted);
+        if (heapGrowth > config.getLong("maxHeapGrowthMb", 64) * 1024 * 1024
+            && perOrder > config.getLong("maxHeapBytesPerOrder", 1_024)) {
+            failures.add(String.format(Locale.US, "heap after GC grew by %.1f MB, %d bytes for each of %d orders",
+                heapGrowth / 1048576.0, perOrder, accepted));
+        }
+        long threadGrowth = last.threadsMax - first.threadsMax;
+        if (threadGrowth > config.getInt("maxThreadGrowth", 16)) {
+            failures.add("live threads grew by " + threadGrowth + " to " + last.threadsMax);
+        }
+        int maxDrift = config.getInt("maxP99DriftMillis", 50);
+        if (last.orderP99 - first.orderP99 > TimeUnit.MILLISECONDS.toNanos(maxDrift)) {
+            failures.add(String.format(Locale.US, "order p99 drifted from %.1f ms to %.1f ms",
+                first.orderP99 / 1e6, last.orderP99 / 1e6));
+        }
+        if (last.readP99 - first.readP99 > TimeUnit.MILLISECONDS.toNanos(maxDrift)) {
+            failures.add(String.format(Locale.US, "read p99 drifted from %.1f ms to %.1f ms",
+                first.readP99 / 1e6, last.readP99 / 1e6));
+        }
+        if (last.gcPercent - first.gcPercent > config.getDouble("maxGcDriftPercent", 5)) {
+            failures.add(String.format(Locale.US, "time in GC pauses rose from %.1f%% to %.1f%%",
+                first.gcPercent, last.gcPercent));
+        }
+        if (last.maxPauseMillis > config.getLong("maxGcPauseMillis", 500)) {
+            failures.add("longest GC pause was " + last.maxPauseMillis + " ms");
+        }
+    }
+
+    private static Process startServer(ServerConfig config, String[] args, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String heap = config.getString("heap", "256m");
+        command.add("-Xms" + heap);
+        command.add("-Xmx" + heap);
+        String jvmArgs = config.getString("jvmArgs", "");
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.split(",")));
+        }
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), WebServerLauncher.class.getName(),
+            "--port=" + port, "--clientRps=1000000", "--clientBurst=1000000", "--routeRps=1000000",
+            "--routeBurst=1000000"));
+        for (String arg : args) {
+            if (arg.startsWith("--server.")) {
+                command.add("--" + arg.substring("--server.".length()));
+            }
+        }
+        File log = new File(config.getString("serverLog", "soak-server.log"));
+        System.out.println("Server: " + String.join(" ", command) + " > " + log);
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.to(log))
+            .start();
+    }
+
+    private static void awaitReady(HttpClient http, URI base, Process server) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        HttpRequest ready = HttpRequest.newBuilder(base.resolve("/ready")).timeout(TIMEOUT).build();
+        while (System.nanoTime() < deadline && server.isAlive()) {
+            try {
+                if (http.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Server did not become ready; see its log");
+    }
+
+    /** SIGTERM, so the run also covers the graceful shutdown path. */
+    private static void stopServer(Process server) throws InterruptedException {
+        server.destroy();
+        if (!server.waitFor(30, TimeUnit.SECONDS)) {
+            System.out.println("Server did not stop within 30 s of SIGTERM");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> metrics(HttpClient http, URI base) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/metrics")).timeout(TIMEOUT).build();
+        Map<String, Object> payload = JsonUtil.parseObject(http.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return (Map<String, Object>) payload.get("metrics");
+    }
+
+    private static void read(HttpClient http, URI base, double ratePerSecond, long start, long end,
+                             Latencies latencies) {
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * 1e9 / ratePerSecond);
+            if (due >= end) {
+                return;
+            }
+            sleepUntil(due);
+            HttpRequest request = HttpRequest.newBuilder(base.resolve(READS.get((int) (i % READS.size()))))
+                .timeout(TIMEOUT)
+                .build();
+            int status;
+            try {
+                status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = 0;
+            } catch (InterruptedException ex) {
+                return;
+            }
+            latencies.record(status, System.nanoTime() - due);
+        }
+    }
+
+    private static void sleepUntil(long due) {
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private static void startDaemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static long gauge(Map<String, Object> metrics, String name) {
+        return metrics.get(name) instanceof Number value ? value.longValue() : 0;
+    }
+
+    /** Response latencies since the last {@link #drain}. */
+    private static final class Latencies {
+        private long[] samples = new long[1_024];
+        private int count;
+        private long errors;
+
+        synchronized void record(int status, long latencyNanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = latencyNanos;
+            if (status == 0 || status >= 300) {
+                errors++;
+            }
+        }
+
+        synchronized Drained drain() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            Drained drained = new Drained(sorted, errors);
+            count = 0;
+            errors = 0;
+            return drained;
+        }
+    }
+
+    private record Drained(long[] sorted, long errors) {
+
+        long percentile(double fraction) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+        }
+    }
+
+    private static final class Window {
+        private final int index;
+        private final Map<String, Object> before;
+        private long heapFloor = Long.MAX_VALUE;
+        private long threadsMax;
+        private long requests;
+        private long errors;
+        private long ordersAccepted;
+        private long orderP50;
+        private long orderP99;
+        private long orderMax;
+        private long readP99;
+        private long threadsStarted;
+        private long gcPauses;
+        private double gcPercent;
+        private long maxPauseMillis;
+
+        private Window(int index, Map<String, Object> before) {
+            this.index = index;
+            this.before = before;
+        }
+
+        void sample(Map<String, Object> metrics) {
+            heapFloor = Math.min(heapFloor, gauge(metrics, "jvm.heap.afterGcBytes"));
+            threadsMax = Math.max(threadsMax, gauge(metrics, "jvm.threads.live"));
+        }
+
+        void close(Map<String, Object> after, Drained orders, Drained reads, long windowNanos) {
+            requests = orders.sorted().length + reads.sorted().length;
+            errors = orders.errors() + reads.errors();
+            ordersAccepted = orders.sorted().length - orders.errors();
+            orderP50 = orders.percentile(0.50);
+            orderP99 = orders.percentile(0.99);
+            orderMax = orders.percentile(1);
+            readP99 = reads.percentile(0.99);
+            threadsStarted = gauge(after, "jvm.threads.started") - gauge(before, "jvm.threads.started");
+            gcPauses = gauge(after, "jvm.gc.pauses") - gauge(before, "jvm.gc.pauses");
+            long pauseMillis = gauge(after, "jvm.gc.pauseMillis") - gauge(before, "jvm.gc.pauseMillis");
+            gcPercent = 100.0 * TimeUnit.MILLISECONDS.toNanos(pauseMillis) / windowNanos;
+            maxPauseMillis = gauge(after, "jvm.gc.maxPauseMillis");
+        }
+
+        void print(long windowNanos) {
+            double seconds = windowNanos / 1e9;
+            System.out.printf(Locale.US, "%6.0f %8.1f %6d %8.1f %8.1f %8.1f %8.1f %8.1f %7d %9.2f %7.1f %6.2f%n",
+                (index + 1) * seconds / 60, ordersAccepted / seconds, errors, orderP50 / 1e6, orderP99 / 1e6,
+                orderMax / 1e6, readP99 / 1e6, heapFloor / 1048576.0, threadsMax, threadsStarted / seconds,
+                gcPauses / (seconds / 60), gcPercent);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.server.WebServerLauncher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Launches the web server in fresh JVMs and measures the time from process start until
+ * {@code GET /api/menu} answers, with and without an AppCDS archive. A missing archive is
+ * created first with a training run ({@code -XX:ArchiveClassesAtExit} plus
+ * {@code --exitAfterStartup}). AppCDS only archives classes loaded from JAR files, so run
+ * this from a jar, e.g. {@code jar cf restaurant.jar -C out .}.
+ * <p>
+ * Usage: {@code java -cp restaurant.jar com.restaurant.app.bench.StartupBenchmark [runs] [archive.jsa]}
+ */
+public final class StartupBenchmark {
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path archive = Path.of(args.length > 1 ? args[1] : "restaurant.jsa");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        if (Files.notExists(archive)) {
+            System.out.printf(Locale.US, "Creating %s with a training run%n", archive);
+            Process training = new ProcessBuilder(java, "-XX:ArchiveClassesAtExit=" + archive, "-cp", classPath,
+                WebServerLauncher.class.getName(), "--port=" + freePort(), "--exitAfterStartup")
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            if (training.waitFor() != 0 || Files.notExists(archive)) {
+                System.err.println("Training run did not produce an archive; is the class path a jar?");
+                return;
+            }
+        }
+
+        System.out.printf(Locale.US, "%d runs, time to first response%n", runs);
+        System.out.printf(Locale.US, "%-12s %10s %10s%n", "mode", "median ms", "min ms");
+        report("default", measure(runs, List.of(java, "-cp", classPath)));
+        report("appcds", measure(runs, List.of(java, "-XX:SharedArchiveFile=" + archive, "-cp", classPath)));
+    }
+
+    private static double[] measure(int runs, List<String> jvm) throws Exception {
+        double[] millis = new double[runs];
+        for (int run = 0; run < runs; run++) {
+            int port = freePort();
+            List<String> command = new ArrayList<>(jvm);
+            command.add(WebServerLauncher.class.getName());
+            command.add("--port=" + port);
+            long start = System.nanoTime();
+            Process server = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            try {
+                while (!answers(port)) {
+                    if (!server.isAlive()) {
+                        throw new IllegalStateException("Server exited with status " + server.exitValue());
+                    }
+                    Thread.sleep(2);
+                }
+                millis[run] = (System.nanoTime() - start) / 1e6;
+            } finally {
+                server.destroy();
+                server.waitFor();
+            }
+        }
+        return millis;
+    }
+
+    private static boolean answers(int port) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + "/api/menu")
+                .toURL().openConnection();
+            connection.setConnectTimeout(200);
+            try (InputStream in = connection.getInputStream()) {
+                in.readAllBytes();
+            }
+            return connection.getResponseCode() == 200;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(String mode, double[] millis) {
+        double[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        System.out.printf(Locale.US, "%-12s %10.1f %10.1f%n", mode, sorted[sorted.length / 2], sorted[0]);
+    }
+}
@@ -0,0 +1,167 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.server.RouteHandler;
+import com.restaurant.app.server.Router;
+import com.restaurant.app.server.ServerConfig;
+import com.restaurant.app.server.ServerExchange;
+import com.restaurant.app.server.ServerHealth;
+import com.restaurant.app.server.ServerMetrics;
+import com.restaurant.app.server.TenantRegistry;
+import com.restaurant.app.server.WebServerLauncher;
+import com.restaurant.app.service.OrderManager;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Retained heap per hosted location. Registers {@code tenants} locations serving the built-in
+ * menu, measures them idle, then after one menu request and one order each, and compares that
+ * with building the same number of locations the way a process per location does (its own
+ * menu, order manager and routes) for up to 200 of them. Figures are heap in use after a full GC, so run with a
+ * fixed heap, e.g. {@code -Xms512m -Xmx512m}.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.TenantFootprintBenchmark [tenants]}
+ */
+public final class TenantFootprintBenchmark {
+    private static final byte[] ORDER = "{\"table\":\"7\",\"items\":[{\"code\":\"SGN-01\",\"quantity\":1}]}"
+        .getBytes(StandardCharsets.UTF_8);
+
+    private TenantFootprintBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tenants = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        ServerConfig config = ServerConfig.defaults();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < tenants; i++) {
+            lines.add("location" + i + " host=location" + i + ".example.com");
+        }
+
+        // one throwaway location first, so class loading and static caches are in the baseline
+        activate(TenantRegistry.load(config, lines.subList(0, 1), new ServerHealth()), 1);
+        long baseline = usedHeap();
+        TenantRegistry registry = TenantRegistry.load(config, lines, new ServerHealth());
+        long registered = usedHeap();
+        activate(registry, tenants);
+        long active = usedHeap();
+        Reference.reachabilityFence(registry);
+
+        // capped: at about 250 KB each, separate servers for thousands of locations exhaust the heap
+        int separateCount = Math.min(tenants, 200);
+        List<Router> separate = new ArrayList<>(separateCount);
+        long separateBaseline = usedHeap();
+        for (int i = 0; i < separateCount; i++) {
+            Map<String, List<MenuItem>> menu = MenuData.loadMenu();
+            Router router = WebServerLauncher.createRouter(config, menu, new OrderManager(), new ServerMetrics());
+            router.dispatch(new StubExchange(null, "GET", "/api/menu"));
+            router.dispatch(new StubExchange(null, "POST", "/api/orders"));
+            separate.add(router);
+        }
+        long separateActive = usedHeap();
+        Reference.reachabilityFence(separate);
+
+        System.out.printf(Locale.US, "%d locations%n", tenants);
+        System.out.printf(Locale.US, "%-34s %12s%n", "state", "bytes/location");
+        System.out.printf(Locale.US, "%-34s %12d%n", "registered, never requested", (registered - baseline) / tenants);
+        System.out.printf(Locale.US, "%-34s %12d%n", "after one menu GET and order POST", (active - baseline) / tenants);
+        System.out.printf(Locale.US, "%-34s %12d%n", "  built as separate servers",
+            (separateActive - separateBaseline) / separateCount);
+    }
+
+    private static void activate(TenantRegistry registry, int tenants) throws Exception {
+        RouteHandler routing = registry.routing(exchange -> {
+            throw new IllegalStateException("Unrouted request " + exchange.getRequestPath());
+        });
+        for (int i = 0; i < tenants; i++) {
+            String host = "location" + i + ".example.com";
+            routing.handle(new StubExchange(host, "GET", "/api/menu"));
+            StubExchange post = new StubExchange(host, "POST", "/api/orders");
+            routing.handle(post);
+            if (post.status != 201) {
+                throw new IllegalStateException("Unexpected status " + post.status);
+            }
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class StubExchange implements ServerExchange {
+        private static final InetSocketAddress CLIENT = new InetSocketAddress("127.0.0.1", 50_000);
+
+        private final String host;
+        private final String method;
+        private final String path;
+        private int status;
+
+        private StubExchange(String host, String method, String path) {
+            this.host = host;
+            this.method = method;
+            this.path = path;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return method;
+        }
+
+        @Override
+        public String getRequestPath() {
+            return path;
+        }
+
+        @Override
+        public String getQuery() {
+            return null;
+        }
+
+        @Override
+        public String getRequestHeader(String name) {
+            return "Host".equalsIgnoreCase(name) ? host : null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return CLIENT;
+        }
+
+        @Override
+        public byte[] readBody() {
+            return ORDER.clone();
+        }
+
+        @Override
+        public void setResponseHeader(String name, String value) {
+        }
+
+        @Override
+        public void sendResponse(int status, byte[] response, int length) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendFile(int status, Path file) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OutputStream sendChunked(int status) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
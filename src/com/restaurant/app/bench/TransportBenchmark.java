@@ -0,0 +1,109 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.server.HttpTransport;
+import com.restaurant.app.server.Router;
+import com.restaurant.app.server.ServerConfig;
+import com.restaurant.app.server.ServerMetrics;
+import com.restaurant.app.server.WebServerLauncher;
+import com.restaurant.app.service.OrderManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the same request mix against each transport in turn and prints throughput
+ * and latency percentiles side by side.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.TransportBenchmark [--clients=16] [--requests=2000]}
+ */
+public final class TransportBenchmark {
+
+    private static final String ORDER_BODY =
+        "{\"table\":\"B4\",\"notes\":\"bench\",\"items\":[{\"code\":\"MNS-01\",\"quantity\":2},{\"code\":\"BEV-02\",\"quantity\":1}]}";
+
+    private TransportBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ServerConfig base = ServerConfig.load(args)
+            .with("port", "0")
+            .with("clientRps", "1000000")
+            .with("clientBurst", "1000000")
+            .with("routeRps", "1000000")
+            .with("routeBurst", "1000000");
+        int clients = base.getInt("clients", 16);
+        int requests = base.getInt("requests", 2_000);
+
+        System.out.printf(Locale.US, "%-6s %12s %10s %10s %10s%n", "", "req/s", "p50 us", "p99 us", "max us");
+        for (String transportName : List.of("jdk", "nio")) {
+            Router router = WebServerLauncher.createRouter(base, MenuData.loadMenu(), new OrderManager(), new ServerMetrics());
+            HttpTransport transport = WebServerLauncher.createTransport(base.with("transport", transportName), router);
+            transport.start();
+            try {
+                URI root = URI.create("http://localhost:" + transport.getAddress().getPort());
+                run(root, clients, requests / 4);
+                long started = System.nanoTime();
+                long[] latencies = run(root, clients, requests);
+                double seconds = (System.nanoTime() - started) / 1e9;
+                Arrays.sort(latencies);
+                System.out.printf(Locale.US, "%-6s %12.0f %10d %10d %10d%n", transportName,
+                    latencies.length / seconds,
+                    latencies[latencies.length / 2] / 1_000,
+                    latencies[(int) (latencies.length * 0.99)] / 1_000,
+                    latencies[latencies.length - 1] / 1_000);
+            } finally {
+                transport.stop();
+            }
+        }
+    }
+
+    private static long[] run(URI root, int clients, int requestsPerClient) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest menu = HttpRequest.newBuilder(root.resolve("/api/menu")).GET().build();
+        HttpRequest create = HttpRequest.newBuilder(root.resolve("/api/orders"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(ORDER_BODY))
+            .build();
+        HttpRequest history = HttpRequest.newBuilder(root.resolve("/api/orders")).GET().build();
+        HttpRequest[] mix = {menu, create, history, menu};
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(pool.submit(() -> {
+                    long[] samples = new long[requestsPerClient];
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<byte[]> response = client.send(mix[i % mix.length], HttpResponse.BodyHandlers.ofByteArray());
+                        samples[i] = System.nanoTime() - start;
+                        if (response.statusCode() >= 300) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode());
+                        }
+                    }
+                    return samples;
+                }));
+            }
+            long[] all = new long[clients * requestsPerClient];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                System.arraycopy(samples, 0, all, offset, samples.length);
+                offset += samples.length;
+            }
+            return all;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.restaurant.app.bench;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.server.OrderViews;
+import com.restaurant.app.util.CompactCodec;
+import com.restaurant.app.util.JsonUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares payload size and encode/decode cost of JSON against the compact binary format
+ * for an order-history response.
+ * <p>
+ * Usage: {@code java -cp out com.restaurant.app.bench.WireFormatBenchmark [orders] [iterations]}
+ */
+public final class WireFormatBenchmark {
+
+    private WireFormatBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        List<Order> orders = sampleOrders(orderCount, new Random(42));
+
+        byte[] json = JsonUtil.stringify(Map.of("orders", OrderViews.orderSummaries(orders)))
+            .getBytes(StandardCharsets.UTF_8);
+        byte[] compact = CompactCodec.encodeOrders(orders);
+
+        long jsonEncode = time(iterations, () ->
+            JsonUtil.stringify(Map.of("orders", OrderViews.orderSummaries(orders))).getBytes(StandardCharsets.UTF_8).length);
+        long compactEncode = time(iterations, () -> CompactCodec.encodeOrders(orders).length);
+        long jsonDecode = time(iterations, () ->
+            JsonUtil.parseObject(new String(json, StandardCharsets.UTF_8)).size());
+        long compactDecode = time(iterations, () -> CompactCodec.decode(compact).size());
+
+        System.out.printf(Locale.US, "%d orders, %d iterations%n", orderCount, iterations);
+        System.out.printf(Locale.US, "%-8s %10s %12s %12s%n", "format", "bytes", "encode us", "decode us");
+        System.out.printf(Locale.US, "%-8s %10d %12.1f %12.1f%n", "json", json.length, jsonEncode / 1e3, jsonDecode / 1e3);
+        System.out.printf(Locale.US, "%-8s %10d %12.1f %12.1f%n", "compact", compact.length,
+            compactEncode / 1e3, compactDecode / 1e3);
+        System.out.printf(Locale.US, "compact is %.1f%% of json%n", 100.0 * compact.length / json.length);
+    }
+
+    static List<Order> sampleOrders(int count, Random random) {
+        List<MenuItem> items = MenuData.flattenMenu(MenuData.loadMenu());
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setTableNumber("T" + (1 + random.nextInt(24)));
+            order.setNotes(random.nextInt(4) == 0 ? "no onions" : "");
+            int lines = 1 + random.nextInt(6);
+            for (int l = 0; l < lines; l++) {
+                order.addItem(items.get(random.nextInt(items.size())), 1 + random.nextInt(3));
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /** Average nanoseconds per call after a warm-up pass of the same length. */
+    private static long time(int iterations, IntSupplier task) {
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += task.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += task.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed / iterations;
+    }
+}
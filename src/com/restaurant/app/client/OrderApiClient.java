@@ -0,0 +1,119 @@
+package com.restaurant.app.client;
+
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.util.CompactCodec;
+import com.restaurant.app.util.JsonUtil;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking client for the web server's order API. Calls must be made off the
+ * Event Dispatch Thread; the Swing client runs them on background threads.
+ */
+public final class OrderApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI baseUri;
+    private final HttpClient http;
+
+    public OrderApiClient(URI baseUri) {
+        this.baseUri = baseUri;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    /** Posts the order and returns the server's summary of it. */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> submitOrder(Order order) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/orders"))
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .header("Accept", CompactCodec.CONTENT_TYPE)
+            .POST(HttpRequest.BodyPublishers.ofString(JsonUtil.stringify(toPayload(order))))
+            .build();
+        Map<String, Object> response = decode(send(request));
+        return (Map<String, Object>) response.get("order");
+    }
+
+    /** Newest-first order summaries from the server. */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> fetchHistory() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/orders"))
+            .timeout(TIMEOUT)
+            .header("Accept", CompactCodec.CONTENT_TYPE)
+            .GET()
+            .build();
+        Object orders = decode(send(request)).get("orders");
+        return orders == null ? List.of() : (List<Map<String, Object>>) orders;
+    }
+
+    /**
+     * Posts journaled orders to {@code /api/orders/batch}; each result carries the entry's
+     * key, an HTTP-style status and either the order summary or an error message.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> submitBatch(List<OrderJournal.PendingOrder> orders)
+        throws IOException, InterruptedException {
+        List<Map<String, Object>> entries = new ArrayList<>(orders.size());
+        for (OrderJournal.PendingOrder order : orders) {
+            entries.add(Map.of("key", order.key(), "order", order.payload()));
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/orders/batch"))
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(JsonUtil.stringify(Map.of("orders", entries))))
+            .build();
+        Object results = decode(send(request)).get("results");
+        return results == null ? List.of() : (List<Map<String, Object>>) results;
+    }
+
+    public static Map<String, Object> toPayload(Order order) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            items.add(Map.of("code", item.getMenuItem().getCode(), "quantity", item.getQuantity()));
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("table", order.getTableNumber());
+        payload.put("notes", order.getNotes());
+        payload.put("items", items);
+        return payload;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 429 || response.statusCode() >= 500) {
+            throw new IOException("Server unavailable (" + response.statusCode() + ")");
+        }
+        if (response.statusCode() >= 300) {
+            throw new IOException("Server responded " + response.statusCode() + ": "
+                + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private static Map<String, Object> decode(HttpResponse<byte[]> response) {
+        String type = response.headers().firstValue("Content-Type").orElse("");
+        if (type.startsWith(CompactCodec.CONTENT_TYPE)) {
+            return CompactCodec.decode(response.body());
+        }
+        return JsonUtil.parseObject(new String(response.body(), StandardCharsets.UTF_8));
+    }
+}
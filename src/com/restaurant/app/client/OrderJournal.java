@@ -0,0 +1,135 @@
+package com.restaurant.app.client;
+
+import com.restaurant.app.util.JsonUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only, line-delimited JSON journal of orders waiting to reach the server.
+ * Each order is written with a fresh idempotency key and forced to disk before
+ * {@link #append} returns; acknowledgements are appended as separate records. On open
+ * the journal is replayed, a torn trailing line is dropped and the file is rewritten
+ * with only the still-pending orders.
+ */
+public final class OrderJournal implements Closeable {
+
+    private final Path file;
+    private final Map<String, Map<String, Object>> pending = new LinkedHashMap<>();
+    private FileChannel channel;
+
+    public OrderJournal(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        replay();
+        rewrite();
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    public record PendingOrder(String key, Map<String, Object> payload) {
+    }
+
+    /** Durably records an order payload and returns its idempotency key. */
+    public synchronized String append(Map<String, Object> payload) throws IOException {
+        String key = UUID.randomUUID().toString();
+        write(JsonUtil.stringify(Map.of("type", "order", "key", key, "payload", payload)) + "\n");
+        pending.put(key, payload);
+        return key;
+    }
+
+    /** Oldest-first view of up to {@code max} orders not yet acknowledged. */
+    public synchronized List<PendingOrder> peek(int max) {
+        List<PendingOrder> batch = new ArrayList<>(Math.min(max, pending.size()));
+        for (Map.Entry<String, Map<String, Object>> entry : pending.entrySet()) {
+            if (batch.size() == max) {
+                break;
+            }
+            batch.add(new PendingOrder(entry.getKey(), entry.getValue()));
+        }
+        return batch;
+    }
+
+    public synchronized void acknowledge(Collection<String> keys) throws IOException {
+        if (keys.isEmpty()) {
+            return;
+        }
+        StringBuilder records = new StringBuilder();
+        for (String key : keys) {
+            records.append(JsonUtil.stringify(Map.of("type", "ack", "key", key))).append('\n');
+            pending.remove(key);
+        }
+        if (pending.isEmpty()) {
+            channel.truncate(0);
+            channel.force(true);
+            return;
+        }
+        write(records.toString());
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void write(String records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replay() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, Object> record;
+            try {
+                record = JsonUtil.parseObject(line);
+            } catch (IllegalArgumentException ex) {
+                // A crash mid-append leaves a partial last line; that order was never acknowledged to the user.
+                continue;
+            }
+            String key = String.valueOf(record.get("key"));
+            if ("order".equals(record.get("type")) && record.get("payload") instanceof Map<?, ?> payload) {
+                pending.put(key, (Map<String, Object>) payload);
+            } else if ("ack".equals(record.get("type"))) {
+                pending.remove(key);
+            }
+        }
+    }
+
+    private void rewrite() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        StringBuilder records = new StringBuilder();
+        pending.forEach((key, payload) ->
+            records.append(JsonUtil.stringify(Map.of("type", "order", "key", key, "payload", payload))).append('\n'));
+        Files.writeString(temp, records, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,128 @@
+package com.restaurant.app.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains an {@link OrderJournal} to the server in batches on a dedicated thread.
+ * Failed attempts back off exponentially with jitter; every order carries its journal
+ * idempotency key, so a batch retried after a lost response is never placed twice.
+ */
+public final class OrderSyncService {
+
+    private static final int BATCH_SIZE = 50;
+    private static final long INITIAL_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long IDLE_RECHECK_MILLIS = 5_000;
+
+    /** Callbacks are invoked on the sync thread; UI listeners must hop to the EDT themselves. */
+    public interface Listener {
+        void onSynced(List<Map<String, Object>> acceptedOrders);
+
+        void onRejected(Map<String, Object> payload, String reason);
+
+        void onStateChanged(int pendingCount, boolean online);
+    }
+
+    private final OrderJournal journal;
+    private final OrderApiClient client;
+    private final Listener listener;
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile boolean running;
+    private Thread thread;
+
+    public OrderSyncService(OrderJournal journal, OrderApiClient client, Listener listener) {
+        this.journal = journal;
+        this.client = client;
+        this.listener = listener;
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "order-sync");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /** Journals the order and nudges the sync thread. Safe to call from any thread but the EDT. */
+    public String enqueue(Map<String, Object> payload) throws IOException {
+        String key = journal.append(payload);
+        wakeups.release();
+        return key;
+    }
+
+    private void run() {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        boolean online = true;
+        listener.onStateChanged(journal.pendingCount(), true);
+        while (running) {
+            try {
+                List<OrderJournal.PendingOrder> batch = journal.peek(BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    wakeups.tryAcquire(IDLE_RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                    continue;
+                }
+                try {
+                    settle(batch, client.submitBatch(batch));
+                    backoff = INITIAL_BACKOFF_MILLIS;
+                    online = true;
+                    listener.onStateChanged(journal.pendingCount(), true);
+                } catch (IOException ex) {
+                    if (online) {
+                        online = false;
+                        listener.onStateChanged(journal.pendingCount(), false);
+                    }
+                    long jitter = ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                    Thread.sleep(backoff / 2 + jitter);
+                    backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void settle(List<OrderJournal.PendingOrder> batch, List<Map<String, Object>> results) throws IOException {
+        Map<String, OrderJournal.PendingOrder> byKey = new HashMap<>();
+        batch.forEach(order -> byKey.put(order.key(), order));
+        List<String> acknowledged = new ArrayList<>();
+        List<Map<String, Object>> accepted = new ArrayList<>();
+        for (Map<String, Object> result : results) {
+            String key = String.valueOf(result.get("key"));
+            OrderJournal.PendingOrder pendingOrder = byKey.get(key);
+            if (pendingOrder == null) {
+                continue;
+            }
+            int status = result.get("status") instanceof Number number ? number.intValue() : 500;
+            if (status < 300) {
+                acknowledged.add(key);
+                @SuppressWarnings("unchecked")
+                Map<String, Object> order = (Map<String, Object>) result.get("order");
+                accepted.add(order);
+            } else if (status < 500) {
+                // The server will never accept this payload; drop it rather than block the queue.
+                acknowledged.add(key);
+                listener.onRejected(pendingOrder.payload(), String.valueOf(result.get("error")));
+            }
+        }
+        journal.acknowledge(acknowledged);
+        if (!accepted.isEmpty()) {
+            listener.onSynced(accepted);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.restaurant.app.data;
+
+import com.restaurant.app.model.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical, immutable copies of the menus of every location a server hosts. Equal menus come
+ * back as one shared instance along with one code index, and items and text repeated across
+ * different menus (a chain's common dishes, category names) are stored once, so a location
+ * costs memory only for what is unique to its menu.
+ */
+public final class MenuCatalog {
+
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<ItemKey, MenuItem> items = new HashMap<>();
+    private final Map<List<Object>, Shared> menus = new HashMap<>();
+
+    /** The canonical copy of {@code menu}; later edits to {@code menu} are not reflected. */
+    public synchronized Shared share(Map<String, List<MenuItem>> menu) {
+        // equal menus produce equal keys because their items are already canonical instances
+        List<Object> key = new ArrayList<>(menu.size() * 2);
+        Map<String, List<MenuItem>> canonical = new LinkedHashMap<>();
+        menu.forEach((category, list) -> {
+            List<MenuItem> shared = new ArrayList<>(list.size());
+            list.forEach(item -> shared.add(intern(item)));
+            List<MenuItem> immutable = List.copyOf(shared);
+            key.add(intern(category));
+            key.add(immutable);
+            canonical.put(intern(category), immutable);
+        });
+        return menus.computeIfAbsent(key, k -> new Shared(Collections.unmodifiableMap(canonical),
+            Collections.unmodifiableMap(MenuData.indexByCode(canonical))));
+    }
+
+    public synchronized int getMenuCount() {
+        return menus.size();
+    }
+
+    public synchronized int getItemCount() {
+        return items.size();
+    }
+
+    private MenuItem intern(MenuItem item) {
+        ItemKey key = new ItemKey(item.getCode(), item.getName(), item.getCategory(), item.getDescription(),
+            item.getPrice());
+        return items.computeIfAbsent(key, k -> new MenuItem(intern(k.code()), intern(k.name()),
+            intern(k.category()), intern(k.description()), k.price()));
+    }
+
+    private String intern(String value) {
+        return strings.computeIfAbsent(value, v -> v);
+    }
+
+    /** A menu shared by every location serving it, with its items indexed by code. */
+    public record Shared(Map<String, List<MenuItem>> menu, Map<String, MenuItem> index) {
+    }
+
+    private record ItemKey(String code, String name, String category, String description, double price) {
+    }
+}
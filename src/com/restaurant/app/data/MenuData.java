@@ -3,11 +3,14 @@ package com.restaurant.app.data;
 import com.restaurant.app.model.MenuItem;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public final class MenuData {
+    private static final Pattern FIELD_SEPARATOR = Pattern.compile("\\s*\\|\\s*");
 
     private MenuData() {
     }
@@ -51,6 +54,51 @@ public final class MenuData {
         return new LinkedHashMap<>(menu);
     }
 
+    /**
+     * Parses a menu of {@code Category | CODE | Name | price | description} lines, keeping
+     * categories in order of first appearance. Blank lines and {@code #} comments are skipped.
+     */
+    public static Map<String, List<MenuItem>> parse(List<String> lines) {
+        Map<String, List<MenuItem>> menu = new LinkedHashMap<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = FIELD_SEPARATOR.split(trimmed, 5);
+            if (fields.length < 4) {
+                throw new IllegalArgumentException("Menu line must be category | code | name | price, got: " + line);
+            }
+            double price;
+            try {
+                price = Double.parseDouble(fields[3]);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid price in menu line: " + line);
+            }
+            menu.computeIfAbsent(fields[0], category -> new ArrayList<>())
+                .add(new MenuItem(fields[1], fields[2], fields[0], fields.length > 4 ? fields[4] : "", price));
+        }
+        if (menu.isEmpty()) {
+            throw new IllegalArgumentException("The menu has no items");
+        }
+        return menu;
+    }
+
+    /** The inverse of {@link #parse}: one line per item, categories in map order. */
+    public static List<String> format(Map<String, List<MenuItem>> menu) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# category | code | name | price | description");
+        menu.forEach((category, items) -> items.forEach(item -> lines.add(String.join(" | ", category,
+            item.getCode(), item.getName(), Double.toString(item.getPrice()), item.getDescription()))));
+        return lines;
+    }
+
+    public static Map<String, MenuItem> indexByCode(Map<String, List<MenuItem>> menu) {
+        Map<String, MenuItem> index = new HashMap<>();
+        menu.values().forEach(list -> list.forEach(item -> index.put(item.getCode(), item)));
+        return index;
+    }
+
     public static List<MenuItem> flattenMenu(Map<String, List<MenuItem>> menu) {
         List<MenuItem> combined = new ArrayList<>();
         menu.values().forEach(combined::addAll);
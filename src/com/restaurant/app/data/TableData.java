@@ -0,0 +1,38 @@
+package com.restaurant.app.data;
+
+import com.restaurant.app.model.DiningTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class TableData {
+
+    private TableData() {
+    }
+
+    /** Default floor: eight 2-tops, ten 4-tops, four 6-tops and one 8-top. */
+    public static List<DiningTable> loadTables() {
+        return parse("2x8,4x10,6x4,8x1");
+    }
+
+    /**
+     * Parses a floor plan of {@code seatsxcount} groups, e.g. {@code 2x8,4x10}. Tables are
+     * numbered T1, T2, ... in the order given.
+     */
+    public static List<DiningTable> parse(String spec) {
+        List<DiningTable> tables = new ArrayList<>();
+        for (String group : spec.split(",")) {
+            String[] parts = group.trim().toLowerCase(Locale.ROOT).split("x");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Table group must be seatsxcount, got: " + group);
+            }
+            int seats = Integer.parseInt(parts[0].trim());
+            int count = Integer.parseInt(parts[1].trim());
+            for (int i = 0; i < count; i++) {
+                tables.add(new DiningTable("T" + (tables.size() + 1), seats));
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,61 @@
+package com.restaurant.app.events;
+
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderStatus;
+
+/**
+ * One slot of the {@link OrderEventBus} ring. Slots are preallocated and overwritten as the
+ * ring wraps, so a handler must copy anything it wants to keep before it returns.
+ */
+public final class OrderEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED
+    }
+
+    private long sequence;
+    private Type type;
+    private Order order;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private long publishedAtNanos;
+
+    OrderEvent() {
+    }
+
+    void set(long sequence, Type type, Order order, OrderStatus previousStatus, OrderStatus status) {
+        this.sequence = sequence;
+        this.type = type;
+        this.order = order;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.publishedAtNanos = System.nanoTime();
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /** Status before the change, or {@code null} for {@link Type#CREATED}. */
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    /** {@link System#nanoTime()} at publication, for measuring delivery delay. */
+    public long getPublishedAtNanos() {
+        return publishedAtNanos;
+    }
+}
@@ -0,0 +1,355 @@
+package com.restaurant.app.events;
+
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderStatus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process order lifecycle events on a preallocated ring buffer, after the Disruptor
+ * pattern. Publishers claim a sequence, fill that slot in place and mark it published;
+ * each subscription has its own thread and sequence and drains every available event as
+ * one batch, so a slow subscriber neither delays publishers nor its peers until it falls
+ * a whole ring behind. At that point publishers wait for it (back-pressure) rather than
+ * overwrite events it has not seen.
+ * <p>
+ * Slots are claimed with a CAS on the cursor because HTTP workers publish concurrently;
+ * a per-slot round number tells consumers which claimed slots are fully written.
+ * <p>
+ * A bus too small to justify a thread of its own can instead be {@link #attach attached}
+ * to an {@link OrderEventPump}, whose one thread drains many buses in turn.
+ */
+public final class OrderEventBus {
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_WAIT_MILLIS = 100;
+
+    private final OrderEvent[] ring;
+    private final int mask;
+    private final int shift;
+    private final AtomicIntegerArray published;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final List<Runnable> wakers = new CopyOnWriteArrayList<>();
+    private final LongAdder producerStalls = new LongAdder();
+    private final Object signal = new Object();
+    private final AtomicInteger sleepers = new AtomicInteger();
+    private volatile long gatingCache = -1;
+
+    /** @param capacity ring size, rounded up to a power of two */
+    public OrderEventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        ring = new OrderEvent[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new OrderEvent();
+        }
+        mask = size - 1;
+        shift = Integer.numberOfTrailingZeros(size);
+        published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    public long publishCreated(Order order) {
+        return publish(OrderEvent.Type.CREATED, order, null, order.getStatus());
+    }
+
+    public long publishStatusChanged(Order order, OrderStatus previous, OrderStatus current) {
+        return publish(OrderEvent.Type.STATUS_CHANGED, order, previous, current);
+    }
+
+    /**
+     * Starts a subscriber thread that sees every event published after this call.
+     *
+     * @param maxBatch upper bound on events handled before the subscription's progress is
+     *                 published, which is what frees ring slots for producers
+     */
+    public Subscription subscribe(String name, int maxBatch, OrderEventHandler handler) {
+        Subscription subscription = new Subscription(name, Math.max(1, maxBatch), handler, cursor.get(), null);
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Adds a subscription without a thread: the caller drains it with {@link Subscription#poll()},
+     * and {@code wake} runs after every publication so the caller can stop waiting.
+     */
+    public Subscription attach(String name, int maxBatch, OrderEventHandler handler, Runnable wake) {
+        Subscription subscription = new Subscription(name, Math.max(1, maxBatch), handler, cursor.get(), wake);
+        subscriptions.add(subscription);
+        wakers.add(wake);
+        return subscription;
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return List.copyOf(subscriptions);
+    }
+
+    /** Last claimed sequence, or -1 before the first event. */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /** Times a publisher had to wait because the slowest subscriber was a full ring behind. */
+    public long getProducerStalls() {
+        return producerStalls.sum();
+    }
+
+    /** Stops every subscription after it drains what has been published. */
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    private long publish(OrderEvent.Type type, Order order, OrderStatus previous, OrderStatus status) {
+        long sequence = claim();
+        int index = (int) sequence & mask;
+        ring[index].set(sequence, type, order, previous, status);
+        // Volatile store, not lazySet: it must be ordered before the sleepers check below.
+        published.set(index, (int) (sequence >>> shift));
+        if (sleepers.get() > 0) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+        for (Runnable wake : wakers) {
+            wake.run();
+        }
+        return sequence;
+    }
+
+    private long claim() {
+        int attempts = 0;
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - ring.length;
+            if (wrapPoint > gatingCache) {
+                long gating = slowestSequence(current);
+                if (wrapPoint > gating) {
+                    if (attempts == 0) {
+                        producerStalls.increment();
+                    }
+                    backOff(++attempts);
+                    continue;
+                }
+                gatingCache = gating;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long slowestSequence(long fallback) {
+        long slowest = fallback;
+        for (Subscription subscription : subscriptions) {
+            slowest = Math.min(slowest, subscription.sequence.get());
+        }
+        return slowest;
+    }
+
+    /** Highest sequence in {@code [from, claimed]} below which every slot is published. */
+    private long highestPublished(long from, long claimed) {
+        for (long sequence = from; sequence <= claimed; sequence++) {
+            if (published.get((int) sequence & mask) != (int) (sequence >>> shift)) {
+                return sequence - 1;
+            }
+        }
+        return claimed;
+    }
+
+    private static void backOff(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < SPIN_TRIES * 2) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    /** One subscriber: a named daemon thread, or an attached poller, with its own position in the ring. */
+    public final class Subscription {
+        private final String name;
+        private final int maxBatch;
+        private final OrderEventHandler handler;
+        private final AtomicLong sequence;
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final Thread thread;
+        private final Runnable wake;
+        private volatile boolean running = true;
+        private volatile long lastDelayNanos;
+
+        private Subscription(String name, int maxBatch, OrderEventHandler handler, long startAfter, Runnable wake) {
+            this.name = name;
+            this.maxBatch = maxBatch;
+            this.handler = handler;
+            this.sequence = new AtomicLong(startAfter);
+            this.wake = wake;
+            if (wake == null) {
+                this.thread = new Thread(this::run, "order-events-" + name);
+                this.thread.setDaemon(true);
+            } else {
+                this.thread = null;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Events published but not yet handled by this subscriber. */
+        public long getLag() {
+            return Math.max(0, cursor.get() - sequence.get());
+        }
+
+        /** Time from publication to handling for the first event of the latest batch. */
+        public long getLastDelayMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(lastDelayNanos);
+        }
+
+        public long getProcessed() {
+            return processed.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        /**
+         * Stops the thread once it has drained everything published so far. An attached
+         * subscription is detached, and events its caller has not polled yet are skipped.
+         */
+        public void close() {
+            running = false;
+            if (thread == null) {
+                wakers.remove(wake);
+                subscriptions.remove(this);
+                return;
+            }
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Handles the next batch of published events, at most {@code maxBatch}, on the calling
+         * thread. Only for attached subscriptions, and only ever from one thread at a time.
+         *
+         * @return events handled, 0 when none were ready or the calling thread was interrupted
+         */
+        public int poll() {
+            if (thread != null) {
+                throw new IllegalStateException("Subscription " + name + " is drained by its own thread");
+            }
+            return running ? Math.max(0, handleNext()) : 0;
+        }
+
+        public boolean isClosed() {
+            return !running;
+        }
+
+        /** Whether events are published that this subscription has not handled yet. */
+        public boolean hasPending() {
+            long handled = sequence.get();
+            return highestPublished(handled + 1, cursor.get()) > handled;
+        }
+
+        /** A subscription whose thread has stopped leaves the list, so it no longer holds back publishers. */
+        private void run() {
+            try {
+                drain();
+            } finally {
+                subscriptions.remove(this);
+            }
+        }
+
+        private void drain() {
+            int idle = 0;
+            while (true) {
+                int handled = handleNext();
+                if (handled < 0) {
+                    return;
+                }
+                if (handled == 0) {
+                    if (!running) {
+                        return;
+                    }
+                    awaitPublication(sequence.get() + 1, ++idle);
+                    continue;
+                }
+                idle = 0;
+            }
+        }
+
+        /** Handles one batch; returns its size, or -1 if a handler was interrupted. */
+        private int handleNext() {
+            long next = sequence.get() + 1;
+            long available = highestPublished(next, cursor.get());
+            if (available < next) {
+                return 0;
+            }
+            long end = Math.min(available, next + maxBatch - 1);
+            lastDelayNanos = System.nanoTime() - ring[(int) next & mask].getPublishedAtNanos();
+            for (long current = next; current <= end; current++) {
+                try {
+                    handler.onEvent(ring[(int) current & mask], current == end);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    System.err.println("Order event subscriber " + name + " interrupted on event "
+                        + current + ", stopping");
+                    return -1;
+                } catch (Exception ex) {
+                    failures.increment();
+                    System.err.println("Order event subscriber " + name + " failed on event "
+                        + current + ": " + ex.getMessage());
+                }
+            }
+            processed.add(end - next + 1);
+            sequence.set(end);
+            return (int) (end - next + 1);
+        }
+
+        /** Spins briefly, then sleeps until a publisher signals or the idle timeout passes. */
+        private void awaitPublication(long next, int idle) {
+            if (idle < SPIN_TRIES * 2) {
+                backOff(idle);
+                return;
+            }
+            sleepers.incrementAndGet();
+            try {
+                synchronized (signal) {
+                    if (running && highestPublished(next, cursor.get()) < next) {
+                        signal.wait(IDLE_WAIT_MILLIS);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                sleepers.decrementAndGet();
+            }
+        }
+    }
+}
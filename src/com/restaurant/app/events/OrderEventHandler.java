@@ -0,0 +1,12 @@
+package com.restaurant.app.events;
+
+/**
+ * Consumer side of an {@link OrderEventBus} subscription, called on the subscription's own
+ * thread for each event in sequence order. {@code endOfBatch} is true for the last event
+ * currently available, which is the point to flush anything batched up.
+ */
+@FunctionalInterface
+public interface OrderEventHandler {
+
+    void onEvent(OrderEvent event, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,106 @@
+package com.restaurant.app.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One daemon thread draining subscriptions on many small {@link OrderEventBus}es, for
+ * processes hosting more buses than they could give a thread each. Handlers share the
+ * thread, so a slow one delays the others; buses it falls a ring behind on apply their
+ * usual back-pressure to publishers. The thread starts with the first subscription.
+ */
+public final class OrderEventPump {
+    private static final long IDLE_WAIT_MILLIS = 100;
+
+    private final String name;
+    private final List<OrderEventBus.Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile Thread thread;
+    private volatile boolean sleeping;
+    private volatile boolean running = true;
+
+    public OrderEventPump(String name) {
+        this.name = name;
+    }
+
+    /** Subscribes {@code handler} to {@code bus}, to be run on this pump's thread. */
+    public OrderEventBus.Subscription subscribe(OrderEventBus bus, String subscriptionName, int maxBatch,
+                                                OrderEventHandler handler) {
+        OrderEventBus.Subscription subscription = bus.attach(subscriptionName, maxBatch, handler, this::wake);
+        subscriptions.add(subscription);
+        start();
+        return subscription;
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /** Stops the thread after it has handled everything published so far. */
+    public void close() {
+        running = false;
+        Thread current = thread;
+        if (current == null) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void start() {
+        if (thread == null) {
+            Thread started = new Thread(this::run, "order-events-" + name);
+            started.setDaemon(true);
+            thread = started;
+            started.start();
+        }
+    }
+
+    /** Runs on publishing threads, so it only unparks a pump that is about to sleep or asleep. */
+    private void wake() {
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            if (pollAll() > 0) {
+                continue;
+            }
+            if (!running || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            // Set before the last look, and read by publishers after they publish, so either
+            // this thread sees the new event or the publisher sees it sleeping.
+            sleeping = true;
+            if (!hasPending() && running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(IDLE_WAIT_MILLIS));
+            }
+            sleeping = false;
+        }
+    }
+
+    private int pollAll() {
+        int handled = 0;
+        for (OrderEventBus.Subscription subscription : subscriptions) {
+            handled += subscription.poll();
+        }
+        subscriptions.removeIf(OrderEventBus.Subscription::isClosed);
+        return handled;
+    }
+
+    private boolean hasPending() {
+        for (OrderEventBus.Subscription subscription : subscriptions) {
+            if (subscription.hasPending()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,316 @@
+package com.restaurant.app.forecast;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hourly demand per menu item, forecast with additive Holt-Winters smoothing: a level, a
+ * damped trend for slow seasonal drift, and one seasonal offset per hour of the week, so
+ * Friday dinner and Monday lunch are learned separately.
+ * <p>
+ * {@link #record} adds an order's quantities to the open hour in O(1) per line; when an order
+ * from a later hour arrives, the open hour is folded into every item's model (O(items) once
+ * per hour, however many orders it had). Gaps longer than {@link #MAX_GAP_HOURS}, such as the
+ * server being down, are skipped rather than learned as zero demand. {@link #backfill} fits
+ * months of past orders at once: hourly counts are tallied over slices of the orders and each
+ * item's series is then smoothed on its own, both spread over a thread pool.
+ */
+public final class DemandForecaster {
+    public static final int HOURS_PER_WEEK = 168;
+    public static final long MAX_GAP_HOURS = 4 * HOURS_PER_WEEK;
+
+    /** Level, trend, seasonal and damping factors that track a restaurant's hourly counts well. */
+    public static final double DEFAULT_ALPHA = 0.02;
+    public static final double DEFAULT_BETA = 0.001;
+    public static final double DEFAULT_GAMMA = 0.2;
+    public static final double DEFAULT_PHI = 0.98;
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final double phi;
+    private Map<String, ItemModel> items = new HashMap<>();
+    private long openHour = Long.MIN_VALUE;
+    private long hoursObserved;
+
+    public DemandForecaster() {
+        this(DEFAULT_ALPHA, DEFAULT_BETA, DEFAULT_GAMMA, DEFAULT_PHI);
+    }
+
+    public DemandForecaster(double alpha, double beta, double gamma, double phi) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.phi = phi;
+    }
+
+    /** Counts {@code order} towards the hour it was placed in; late orders count towards the open hour. */
+    public synchronized void record(Order order) {
+        advanceTo(epochHour(order.getCreatedAt()));
+        for (OrderItem line : order.getItems()) {
+            model(line.getMenuItem()).pending += line.getQuantity();
+        }
+    }
+
+    /**
+     * Replaces the model with one fitted to {@code orders}, in any order, using up to
+     * {@code threads} threads. Run it before live orders are recorded: they are discarded.
+     */
+    public void backfill(List<Order> orders, int threads) throws InterruptedException {
+        if (orders.isEmpty()) {
+            return;
+        }
+        int slices = Math.max(1, Math.min(threads, orders.size() / 1_024 + 1));
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(slices, runnable -> {
+            Thread thread = new Thread(runnable, "forecast-backfill-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // 1. epoch hour of every order, and the span they cover
+            long[] hours = new long[orders.size()];
+            List<Callable<long[]>> spans = new ArrayList<>(slices);
+            for (int s = 0; s < slices; s++) {
+                int from = slice(orders.size(), slices, s);
+                int to = slice(orders.size(), slices, s + 1);
+                spans.add(() -> {
+                    long min = Long.MAX_VALUE;
+                    long max = Long.MIN_VALUE;
+                    for (int i = from; i < to; i++) {
+                        hours[i] = epochHour(orders.get(i).getCreatedAt());
+                        min = Math.min(min, hours[i]);
+                        max = Math.max(max, hours[i]);
+                    }
+                    return new long[] {min, max};
+                });
+            }
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            for (long[] span : run(pool, spans)) {
+                first = Math.min(first, span[0]);
+                last = Math.max(last, span[1]);
+            }
+            int span = Math.toIntExact(last - first + 1);
+
+            // 2. hourly counts per item, per slice, summed into the first slice's tallies
+            long firstHour = first;
+            List<Callable<Map<String, Tally>>> tallies = new ArrayList<>(slices);
+            for (int s = 0; s < slices; s++) {
+                int from = slice(orders.size(), slices, s);
+                int to = slice(orders.size(), slices, s + 1);
+                tallies.add(() -> {
+                    Map<String, Tally> counts = new HashMap<>();
+                    for (int i = from; i < to; i++) {
+                        int hour = (int) (hours[i] - firstHour);
+                        for (OrderItem line : orders.get(i).getItems()) {
+                            MenuItem item = line.getMenuItem();
+                            counts.computeIfAbsent(item.getCode(), code -> new Tally(item, span))
+                                .counts[hour] += line.getQuantity();
+                        }
+                    }
+                    return counts;
+                });
+            }
+            Map<String, Tally> merged = new HashMap<>();
+            for (Map<String, Tally> counts : run(pool, tallies)) {
+                counts.forEach((code, tally) -> merged.merge(code, tally, Tally::add));
+            }
+
+            // 3. each item's series smoothed independently
+            List<Callable<ItemModel>> fits = new ArrayList<>(merged.size());
+            for (Tally tally : merged.values()) {
+                fits.add(() -> fit(tally, firstHour));
+            }
+            Map<String, ItemModel> fitted = new HashMap<>();
+            for (ItemModel model : run(pool, fits)) {
+                fitted.put(model.code, model);
+            }
+            synchronized (this) {
+                items = fitted;
+                openHour = last + 1;
+                hoursObserved = span;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Expected quantity of every item seen so far over the 24 hours of {@code date}, busiest first. */
+    public synchronized DayForecast forecast(LocalDate date) {
+        long dayStart = date.toEpochDay() * 24;
+        List<ItemForecast> forecasts = new ArrayList<>(items.size());
+        for (ItemModel model : items.values()) {
+            double[] hourly = new double[24];
+            double total = 0;
+            for (int h = 0; h < 24; h++) {
+                // steps past the last folded hour; hours already past are forecast one step ahead
+                long ahead = Math.max(1, dayStart + h - (openHour - 1));
+                hourly[h] = model.forecast(ahead, hourOfWeek(dayStart + h), phi);
+                total += hourly[h];
+            }
+            forecasts.add(new ItemForecast(model.code, model.name, total, hourly));
+        }
+        forecasts.sort(Comparator.comparingDouble(ItemForecast::expected).reversed());
+        return new DayForecast(date, hoursObserved, forecasts);
+    }
+
+    public synchronized long getHoursObserved() {
+        return hoursObserved;
+    }
+
+    public synchronized int getItemCount() {
+        return items.size();
+    }
+
+    private void advanceTo(long hour) {
+        if (openHour == Long.MIN_VALUE) {
+            openHour = hour;
+            return;
+        }
+        if (hour - openHour > MAX_GAP_HOURS) {
+            closeHour();
+            openHour = hour;
+            return;
+        }
+        while (openHour < hour) {
+            closeHour();
+            openHour++;
+        }
+    }
+
+    private void closeHour() {
+        int hourOfWeek = hourOfWeek(openHour);
+        for (ItemModel model : items.values()) {
+            model.update(model.pending, hourOfWeek, alpha, beta, gamma, phi);
+            model.pending = 0;
+        }
+        hoursObserved++;
+    }
+
+    private ItemModel model(MenuItem item) {
+        ItemModel model = items.get(item.getCode());
+        if (model == null) {
+            model = new ItemModel(item.getCode(), item.getName());
+            items.put(item.getCode(), model);
+        }
+        return model;
+    }
+
+    /**
+     * With two weeks or more, the first week seeds the level and the seasonal offsets, so the
+     * model does not spend the following weeks unlearning a zero start.
+     */
+    private ItemModel fit(Tally tally, long firstHour) {
+        ItemModel model = new ItemModel(tally.item.getCode(), tally.item.getName());
+        int[] counts = tally.counts;
+        int start = 0;
+        if (counts.length >= 2 * HOURS_PER_WEEK) {
+            double mean = 0;
+            for (int i = 0; i < HOURS_PER_WEEK; i++) {
+                mean += counts[i];
+            }
+            mean /= HOURS_PER_WEEK;
+            model.level = mean;
+            for (int i = 0; i < HOURS_PER_WEEK; i++) {
+                model.seasonal[hourOfWeek(firstHour + i)] = counts[i] - mean;
+            }
+            start = HOURS_PER_WEEK;
+        }
+        for (int i = start; i < counts.length; i++) {
+            model.update(counts[i], hourOfWeek(firstHour + i), alpha, beta, gamma, phi);
+        }
+        return model;
+    }
+
+    private static <T> List<T> run(ExecutorService pool, List<Callable<T>> tasks) throws InterruptedException {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : pool.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Backfill failed", ex.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static int slice(int size, int slices, int index) {
+        return (int) ((long) size * index / slices);
+    }
+
+    /** Hours since 1970-01-01T00:00 in the orders' own local time. */
+    static long epochHour(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay() * 24 + time.getHour();
+    }
+
+    /** 0 for Monday 00:00 through 167 for Sunday 23:00; day 0 of the epoch was a Thursday. */
+    static int hourOfWeek(long epochHour) {
+        return Math.floorMod(epochHour + 3 * 24, HOURS_PER_WEEK);
+    }
+
+    public record DayForecast(LocalDate date, long hoursObserved, List<ItemForecast> items) {
+    }
+
+    /** @param hourly expected quantity in each hour of the day, summing to {@code expected} */
+    public record ItemForecast(String code, String name, double expected, double[] hourly) {
+    }
+
+    private static final class ItemModel {
+        private final String code;
+        private final String name;
+        private final double[] seasonal = new double[HOURS_PER_WEEK];
+        private double level;
+        private double trend;
+        private int pending;
+
+        ItemModel(String code, String name) {
+            this.code = code;
+            this.name = name;
+        }
+
+        void update(double count, int hourOfWeek, double alpha, double beta, double gamma, double phi) {
+            double previous = level;
+            level = alpha * (count - seasonal[hourOfWeek]) + (1 - alpha) * (previous + phi * trend);
+            trend = beta * (level - previous) + (1 - beta) * phi * trend;
+            seasonal[hourOfWeek] = gamma * (count - level) + (1 - gamma) * seasonal[hourOfWeek];
+        }
+
+        double forecast(long ahead, int hourOfWeek, double phi) {
+            double damped = phi == 1 ? ahead : phi * (1 - Math.pow(phi, ahead)) / (1 - phi);
+            return Math.max(0, level + damped * trend + seasonal[hourOfWeek]);
+        }
+    }
+
+    private static final class Tally {
+        private final MenuItem item;
+        private final int[] counts;
+
+        Tally(MenuItem item, int span) {
+            this.item = item;
+            this.counts = new int[span];
+        }
+
+        Tally add(Tally other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            return this;
+        }
+    }
+}
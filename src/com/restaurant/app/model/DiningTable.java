@@ -0,0 +1,29 @@
+package com.restaurant.app.model;
+
+import java.util.Objects;
+
+public final class DiningTable {
+    private final String id;
+    private final int seats;
+
+    public DiningTable(String id, int seats) {
+        this.id = Objects.requireNonNull(id);
+        if (seats < 1) {
+            throw new IllegalArgumentException("A table needs at least one seat: " + id);
+        }
+        this.seats = seats;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    @Override
+    public String toString() {
+        return id + " (" + seats + " seats)";
+    }
+}
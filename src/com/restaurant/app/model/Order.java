@@ -1,15 +1,17 @@
 package com.restaurant.app.model;
 
+import com.restaurant.app.pricing.PriceBreakdown;
+import com.restaurant.app.pricing.PricingPlan;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Order {
-    private static final double TAX_RATE = 0.08;
+    private static final char[] ID_DIGITS = "0123456789ABCDEF".toCharArray();
 
     private final String id;
     private final LocalDateTime createdAt;
@@ -17,14 +19,24 @@ public class Order {
     private OrderStatus status;
     private String tableNumber;
     private String notes;
+    private PricingPlan pricing;
+    private volatile int summaryVersion;
+    private volatile RenderedSummary renderedSummary;
+    private volatile OrderChangeListener changeListener;
 
     public Order() {
-        this.id = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        this.createdAt = LocalDateTime.now();
+        this(newId(), LocalDateTime.now());
+    }
+
+    /** Recreates an order that was created elsewhere, e.g. on a replication leader. */
+    public Order(String id, LocalDateTime createdAt) {
+        this.id = id;
+        this.createdAt = createdAt;
         this.items = new ArrayList<>();
         this.status = OrderStatus.NEW;
         this.tableNumber = "TBD";
         this.notes = "";
+        this.pricing = PricingPlan.getDefault();
     }
 
     public String getId() {
@@ -40,7 +52,15 @@ public class Order {
     }
 
     public void setStatus(OrderStatus status) {
+        OrderStatus previous = this.status;
         this.status = status;
+        if (previous != status) {
+            summaryVersion++;
+            OrderChangeListener listener = changeListener;
+            if (listener != null) {
+                listener.statusChanged(this, previous, status);
+            }
+        }
     }
 
     public String getTableNumber() {
@@ -49,6 +69,11 @@ public class Order {
 
     public void setTableNumber(String tableNumber) {
         this.tableNumber = tableNumber;
+        summaryVersion++;
+        OrderChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.tableChanged(this, tableNumber);
+        }
     }
 
     public String getNotes() {
@@ -57,6 +82,45 @@ public class Order {
 
     public void setNotes(String notes) {
         this.notes = notes;
+        summaryVersion++;
+        OrderChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.notesChanged(this, notes);
+        }
+    }
+
+    /**
+     * Receives every later change made through this class, e.g. an audit trail attached
+     * once the order is placed. Changes made directly on an {@link OrderItem} are not seen.
+     */
+    public void setChangeListener(OrderChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Counter bumped after every change made through this class. Changes are made by one
+     * thread at a time, like the rest of this class, but summaries may be rendered
+     * concurrently with them.
+     */
+    public int getSummaryVersion() {
+        return summaryVersion;
+    }
+
+    /**
+     * Serialized summary cached by the view layer once the order is terminal, or
+     * {@code null} when none was cached for the current {@link #getSummaryVersion() version}.
+     */
+    public byte[] getRenderedSummary() {
+        RenderedSummary rendered = renderedSummary;
+        return rendered != null && rendered.version() == summaryVersion ? rendered.bytes() : null;
+    }
+
+    /**
+     * Caches a summary rendered from this order as it was at {@code version}, read before
+     * rendering. A summary that a concurrent change made stale is stored but never returned.
+     */
+    public void setRenderedSummary(int version, byte[] bytes) {
+        renderedSummary = new RenderedSummary(version, bytes);
     }
 
     public List<OrderItem> getItems() {
@@ -64,52 +128,73 @@ public class Order {
     }
 
     public void addOrIncrement(MenuItem menuItem) {
-        Optional<OrderItem> existing = items.stream()
-            .filter(item -> item.getMenuItem().getCode().equals(menuItem.getCode()))
-            .findFirst();
-
-        if (existing.isPresent()) {
-            existing.get().increaseQuantity(1);
-        } else {
-            items.add(new OrderItem(menuItem, 1));
-        }
+        addItem(menuItem, 1);
     }
 
     public void addItem(MenuItem menuItem, int quantity) {
-        Optional<OrderItem> existing = items.stream()
-            .filter(item -> item.getMenuItem().getCode().equals(menuItem.getCode()))
-            .findFirst();
-
-        if (existing.isPresent()) {
-            existing.get().increaseQuantity(quantity);
+        OrderItem existing = find(menuItem);
+        int previous = 0;
+        if (existing != null) {
+            previous = existing.getQuantity();
+            existing.increaseQuantity(quantity);
         } else {
-            items.add(new OrderItem(menuItem, Math.max(1, quantity)));
+            existing = new OrderItem(menuItem, Math.max(1, quantity));
+            items.add(existing);
         }
+        summaryVersion++;
+        itemChanged(existing.getMenuItem(), previous, existing.getQuantity());
     }
 
     public void remove(MenuItem menuItem) {
-        items.removeIf(item -> item.getMenuItem().getCode().equals(menuItem.getCode()));
+        OrderItem existing = find(menuItem);
+        if (existing != null) {
+            items.remove(existing);
+            summaryVersion++;
+            itemChanged(existing.getMenuItem(), existing.getQuantity(), 0);
+        }
     }
 
     public void updateQuantity(MenuItem menuItem, int quantity) {
-        items.stream()
-            .filter(item -> item.getMenuItem().getCode().equals(menuItem.getCode()))
-            .findFirst()
-            .ifPresent(item -> item.setQuantity(quantity));
+        OrderItem existing = find(menuItem);
+        if (existing != null) {
+            int previous = existing.getQuantity();
+            existing.setQuantity(quantity);
+            summaryVersion++;
+            itemChanged(existing.getMenuItem(), previous, existing.getQuantity());
+        }
+    }
+
+    public PricingPlan getPricing() {
+        return pricing;
+    }
+
+    public void setPricing(PricingPlan pricing) {
+        this.pricing = pricing;
+        summaryVersion++;
+    }
+
+    /**
+     * Subtotal, promotions and tax under this order's pricing plan, evaluated from the current
+     * lines each time. Callers that need several figures should take them from one breakdown.
+     */
+    public PriceBreakdown getPrice() {
+        return pricing.price(items, createdAt);
     }
 
     public double getSubtotal() {
-        return items.stream()
-            .mapToDouble(OrderItem::getLineTotal)
-            .sum();
+        return getPrice().subtotalCents() / 100.0;
+    }
+
+    public double getDiscount() {
+        return getPrice().discountCents() / 100.0;
     }
 
     public double getTax() {
-        return getSubtotal() * TAX_RATE;
+        return getPrice().taxCents() / 100.0;
     }
 
     public double getTotal() {
-        return getSubtotal() + getTax();
+        return getPrice().totalCents() / 100.0;
     }
 
     public String summaryLine() {
@@ -122,6 +207,36 @@ public class Order {
             getTotal()
         );
     }
-}
 
+    private void itemChanged(MenuItem menuItem, int previous, int quantity) {
+        OrderChangeListener listener = changeListener;
+        if (listener != null && previous != quantity) {
+            listener.itemChanged(this, menuItem, previous, quantity);
+        }
+    }
+
+    private record RenderedSummary(int version, byte[] bytes) {
+    }
 
+    // Plain loops rather than streams: these run on the order-creation hot path.
+    private OrderItem find(MenuItem menuItem) {
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            if (item.getMenuItem().getCode().equals(menuItem.getCode())) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /** Eight random hex digits, the same shape the UUID prefix had, without the SecureRandom cost. */
+    private static String newId() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        char[] digits = new char[8];
+        for (int i = digits.length - 1; i >= 0; i--) {
+            digits[i] = ID_DIGITS[bits & 0xF];
+            bits >>>= 4;
+        }
+        return new String(digits);
+    }
+}
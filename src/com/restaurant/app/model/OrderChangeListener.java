@@ -0,0 +1,17 @@
+package com.restaurant.app.model;
+
+/**
+ * Told about every change made to an {@link Order} through its own methods, after the
+ * change is applied. Called on the mutating thread, so implementations must be quick.
+ */
+public interface OrderChangeListener {
+
+    /** {@code previousQuantity} is 0 when the item was added, {@code quantity} 0 when removed. */
+    void itemChanged(Order order, MenuItem item, int previousQuantity, int quantity);
+
+    void statusChanged(Order order, OrderStatus previous, OrderStatus status);
+
+    void tableChanged(Order order, String tableNumber);
+
+    void notesChanged(Order order, String notes);
+}
@@ -15,6 +15,11 @@ public enum OrderStatus {
     public String getLabel() {
         return label;
     }
+
+    /** Terminal orders no longer change, so derived views of them can be cached. */
+    public boolean isTerminal() {
+        return this == SERVED || this == CANCELLED;
+    }
 }
 
 
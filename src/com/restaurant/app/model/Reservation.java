@@ -0,0 +1,47 @@
+package com.restaurant.app.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public final class Reservation {
+    private final String id;
+    private final String guestName;
+    private final int partySize;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final DiningTable table;
+
+    public Reservation(String id, String guestName, int partySize, LocalDateTime start, LocalDateTime end,
+                       DiningTable table) {
+        this.id = Objects.requireNonNull(id);
+        this.guestName = Objects.requireNonNull(guestName);
+        this.partySize = partySize;
+        this.start = Objects.requireNonNull(start);
+        this.end = Objects.requireNonNull(end);
+        this.table = Objects.requireNonNull(table);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public int getPartySize() {
+        return partySize;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public DiningTable getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,41 @@
+package com.restaurant.app.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public final class WaitlistEntry {
+    private final String id;
+    private final String guestName;
+    private final int partySize;
+    private final LocalDateTime addedAt;
+    private final long quotedMinutes;
+
+    public WaitlistEntry(String id, String guestName, int partySize, LocalDateTime addedAt, long quotedMinutes) {
+        this.id = Objects.requireNonNull(id);
+        this.guestName = Objects.requireNonNull(guestName);
+        this.partySize = partySize;
+        this.addedAt = Objects.requireNonNull(addedAt);
+        this.quotedMinutes = quotedMinutes;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public int getPartySize() {
+        return partySize;
+    }
+
+    public LocalDateTime getAddedAt() {
+        return addedAt;
+    }
+
+    /** Wait quoted to the guest when they joined, or -1 if no table was expected today. */
+    public long getQuotedMinutes() {
+        return quotedMinutes;
+    }
+}
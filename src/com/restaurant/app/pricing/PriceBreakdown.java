@@ -0,0 +1,9 @@
+package com.restaurant.app.pricing;
+
+/** What an order costs under a {@link PricingPlan}, in whole cents. */
+public record PriceBreakdown(long subtotalCents, long discountCents, long taxCents) {
+
+    public long totalCents() {
+        return subtotalCents - discountCents + taxCents;
+    }
+}
@@ -0,0 +1,368 @@
+package com.restaurant.app.pricing;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pricing rules compiled for one menu and jurisdiction. Compilation resolves every selector
+ * up front: each menu item (and, for items added to the menu later, each category) gets a
+ * profile holding its tax rate and the ids of the discounts that can apply to it, and each
+ * distinct days/hours window gets a bit. Pricing an order then computes the active-window
+ * mask once from the order time and walks flat arrays; nothing is matched by name per line.
+ * <p>
+ * Rules are applied in three steps: bundles claim units first, in file order; every unit
+ * not in a bundle gets the best single active discount; tax is charged on what is left.
+ */
+public final class PricingPlan {
+    /** What the till has always charged: 8% on everything. */
+    public static final PricingPlan STANDARD = compile(List.of(PricingRule.parse("tax sales rate=8")), Map.of(), null);
+
+    private static volatile PricingPlan defaultPlan = STANDARD;
+
+    private final String jurisdiction;
+    private final int ruleCount;
+    private final Map<String, Integer> profileByCode = new HashMap<>();
+    private final Map<String, Integer> profileByCategory = new HashMap<>();
+    private final int fallbackProfile;
+    private final long[] taxMicros;
+
+    private final int[] windowDays;
+    private final int[] windowFrom;
+    private final int[] windowTo;
+
+    private final long[] discountRate;
+    private final long[] discountOff;
+    private final int[] discountWindow;
+    private final int[][] discountsByProfile;
+    /** Menu price each item profile was compiled for, or -1 for category and fallback profiles. */
+    private final long[] profilePrice;
+    /** Per profile, parallel to {@link #discountsByProfile}: window bit and per-unit amount at {@link #profilePrice}. */
+    private final int[][] compiledWindows;
+    private final long[][] compiledAmounts;
+
+    private final long[] bundleAmount;
+    private final boolean[] bundleSetPrice;
+    private final int[] bundleWindow;
+    /** {@code [bundle][component][profile]}: whether a unit with that profile fills the component. */
+    private final boolean[][][] bundleMembers;
+
+    private PricingPlan(List<PricingRule> rules, Map<String, List<MenuItem>> menu, String jurisdiction) {
+        this.jurisdiction = jurisdiction;
+        List<PricingRule> applicable = new ArrayList<>();
+        for (PricingRule rule : rules) {
+            if (rule.isGlobal() || rule.jurisdiction().equals(jurisdiction)) {
+                applicable.add(rule);
+            }
+        }
+        this.ruleCount = applicable.size();
+
+        // Profiles: one per menu item, one per category for unknown codes, one for neither.
+        List<String[]> profiles = new ArrayList<>();
+        List<Long> prices = new ArrayList<>();
+        for (List<MenuItem> items : menu.values()) {
+            for (MenuItem item : items) {
+                profileByCode.put(item.getCode(), profiles.size());
+                profiles.add(new String[] {item.getCode(), item.getCategory()});
+                prices.add(cents(item.getPrice()));
+            }
+        }
+        for (String category : menu.keySet()) {
+            profileByCategory.put(category, profiles.size());
+            profiles.add(new String[] {"", category});
+        }
+        this.fallbackProfile = profiles.size();
+        profiles.add(new String[] {"", ""});
+
+        Map<Long, Integer> windows = new LinkedHashMap<>();
+        List<PricingRule> discounts = new ArrayList<>();
+        List<PricingRule> bundles = new ArrayList<>();
+        for (PricingRule rule : applicable) {
+            if (rule.kind() == PricingRule.Kind.DISCOUNT) {
+                discounts.add(rule);
+            } else if (rule.kind() == PricingRule.Kind.BUNDLE) {
+                bundles.add(rule);
+            }
+            if (rule.kind() != PricingRule.Kind.TAX) {
+                windows.putIfAbsent(windowKey(rule), windows.size());
+            }
+        }
+        if (windows.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " distinct days/hours windows are supported");
+        }
+        this.windowDays = new int[windows.size()];
+        this.windowFrom = new int[windows.size()];
+        this.windowTo = new int[windows.size()];
+        windows.forEach((key, index) -> {
+            windowDays[index] = (int) (key >>> 32);
+            windowFrom[index] = (int) (key >>> 16) & 0xFFFF;
+            windowTo[index] = (int) (key & 0xFFFF);
+        });
+
+        this.discountRate = new long[discounts.size()];
+        this.discountOff = new long[discounts.size()];
+        this.discountWindow = new int[discounts.size()];
+        List<List<Integer>> byProfile = new ArrayList<>();
+        profiles.forEach(profile -> byProfile.add(new ArrayList<>()));
+        for (int r = 0; r < discounts.size(); r++) {
+            PricingRule rule = discounts.get(r);
+            discountRate[r] = rule.rateMicros();
+            discountOff[r] = rule.amountCents();
+            discountWindow[r] = windows.get(windowKey(rule));
+            for (int p = 0; p < profiles.size(); p++) {
+                if (rule.components().isEmpty() || matchesAny(rule.components().get(0), profiles.get(p))) {
+                    byProfile.get(p).add(r);
+                }
+            }
+        }
+        this.discountsByProfile = new int[profiles.size()][];
+        this.profilePrice = new long[profiles.size()];
+        this.compiledWindows = new int[profiles.size()][];
+        this.compiledAmounts = new long[profiles.size()][];
+        for (int p = 0; p < profiles.size(); p++) {
+            int[] ids = byProfile.get(p).stream().mapToInt(Integer::intValue).toArray();
+            discountsByProfile[p] = ids;
+            profilePrice[p] = p < prices.size() ? prices.get(p) : -1;
+            compiledWindows[p] = new int[ids.length];
+            compiledAmounts[p] = new long[ids.length];
+            for (int k = 0; k < ids.length; k++) {
+                compiledWindows[p][k] = discountWindow[ids[k]];
+                compiledAmounts[p][k] = profilePrice[p] < 0 ? 0 : discountAmount(ids[k], profilePrice[p]);
+            }
+        }
+
+        this.bundleAmount = new long[bundles.size()];
+        this.bundleSetPrice = new boolean[bundles.size()];
+        this.bundleWindow = new int[bundles.size()];
+        this.bundleMembers = new boolean[bundles.size()][][];
+        for (int b = 0; b < bundles.size(); b++) {
+            PricingRule rule = bundles.get(b);
+            bundleAmount[b] = rule.amountCents();
+            bundleSetPrice[b] = rule.setPrice();
+            bundleWindow[b] = windows.get(windowKey(rule));
+            bundleMembers[b] = new boolean[rule.components().size()][profiles.size()];
+            for (int c = 0; c < rule.components().size(); c++) {
+                for (int p = 0; p < profiles.size(); p++) {
+                    bundleMembers[b][c][p] = matchesAny(rule.components().get(c), profiles.get(p));
+                }
+            }
+        }
+
+        // Tax: the most specific rule wins (targeted over general, local over global), later lines break ties.
+        this.taxMicros = new long[profiles.size()];
+        int[] taxScore = new int[profiles.size()];
+        Arrays.fill(taxScore, -1);
+        for (PricingRule rule : applicable) {
+            if (rule.kind() != PricingRule.Kind.TAX) {
+                continue;
+            }
+            int score = (rule.components().isEmpty() ? 0 : 2) + (rule.isGlobal() ? 0 : 1);
+            for (int p = 0; p < profiles.size(); p++) {
+                boolean applies = rule.components().isEmpty() || matchesAny(rule.components().get(0), profiles.get(p));
+                if (applies && score >= taxScore[p]) {
+                    taxScore[p] = score;
+                    taxMicros[p] = rule.rateMicros();
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles {@code rules} for {@code menu}. Rules tagged with another jurisdiction are
+     * dropped; untagged rules apply everywhere.
+     *
+     * @param jurisdiction location this server prices for, or {@code null} for untagged rules only
+     */
+    public static PricingPlan compile(List<PricingRule> rules, Map<String, List<MenuItem>> menu, String jurisdiction) {
+        return new PricingPlan(rules, menu, jurisdiction == null ? null : jurisdiction.toLowerCase(Locale.ROOT));
+    }
+
+    /** Plan new orders start with. */
+    public static PricingPlan getDefault() {
+        return defaultPlan;
+    }
+
+    public static void setDefault(PricingPlan plan) {
+        defaultPlan = plan;
+    }
+
+    public String getJurisdiction() {
+        return jurisdiction;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    /** Summary label for the general rate, e.g. {@code Tax (8.875%)}. */
+    public String getTaxLabel() {
+        return "Tax (" + BigDecimal.valueOf(taxMicros[fallbackProfile], 4).stripTrailingZeros().toPlainString() + "%)";
+    }
+
+    public PriceBreakdown price(List<OrderItem> items, LocalDateTime placedAt) {
+        int n = items.size();
+        if (discountRate.length == 0 && bundleAmount.length == 0) {
+            return taxOnly(items);
+        }
+        long windows = activeWindows(placedAt);
+        int[] profiles = new int[n];
+        long[] unit = new long[n];
+        int[] free = new int[n];
+        long[] off = new long[n];
+        long subtotal = 0;
+        for (int i = 0; i < n; i++) {
+            OrderItem item = items.get(i);
+            profiles[i] = profileOf(item.getMenuItem());
+            unit[i] = cents(item.getMenuItem().getPrice());
+            free[i] = item.getQuantity();
+            subtotal += unit[i] * free[i];
+        }
+
+        for (int b = 0; b < bundleAmount.length; b++) {
+            if ((windows >>> bundleWindow[b] & 1) != 0) {
+                applyBundle(b, profiles, unit, free, off);
+            }
+        }
+
+        long discount = 0;
+        long taxAccumulator = 0;
+        for (int i = 0; i < n; i++) {
+            int profile = profiles[i];
+            long price = unit[i];
+            long best = 0;
+            if (price == profilePrice[profile]) {
+                // Amounts were worked out at compile time; only the window mask varies per order.
+                int[] itemWindows = compiledWindows[profile];
+                long[] amounts = compiledAmounts[profile];
+                for (int k = 0; k < amounts.length; k++) {
+                    best = Math.max(best, amounts[k] & -(windows >>> itemWindows[k] & 1));
+                }
+            } else {
+                for (int r : discountsByProfile[profile]) {
+                    best = Math.max(best, discountAmount(r, price) & -(windows >>> discountWindow[r] & 1));
+                }
+            }
+            off[i] += best * free[i];
+            discount += off[i];
+            taxAccumulator += (price * items.get(i).getQuantity() - off[i]) * taxMicros[profile];
+        }
+        return new PriceBreakdown(subtotal, discount, (taxAccumulator + 500_000) / 1_000_000);
+    }
+
+    private PriceBreakdown taxOnly(List<OrderItem> items) {
+        long subtotal = 0;
+        long taxAccumulator = 0;
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            long line = cents(item.getMenuItem().getPrice()) * item.getQuantity();
+            subtotal += line;
+            taxAccumulator += line * taxMicros[profileOf(item.getMenuItem())];
+        }
+        return new PriceBreakdown(subtotal, 0, (taxAccumulator + 500_000) / 1_000_000);
+    }
+
+    /**
+     * Forms as many sets as the free units allow, taking for each component the first line
+     * that can fill it. A set's saving is spread over its units in proportion to their price
+     * so tax is charged on what each line actually cost.
+     */
+    private void applyBundle(int bundle, int[] profiles, long[] unit, int[] free, long[] off) {
+        boolean[][] members = bundleMembers[bundle];
+        int[] picks = new int[members.length];
+        // Units only ever leave the pool while one bundle is applied, so each component's scan
+        // resumes where it stopped: a line it passed over can never fill it later.
+        int[] cursors = new int[members.length];
+        while (true) {
+            long gross = 0;
+            for (int c = 0; c < members.length; c++) {
+                boolean[] fills = members[c];
+                int i = cursors[c];
+                while (i < free.length && (free[i] == 0 || !fills[profiles[i]])) {
+                    i++;
+                }
+                cursors[c] = i;
+                int pick = i < free.length ? i : -1;
+                if (pick < 0) {
+                    release(picks, c, free);
+                    return;
+                }
+                free[pick]--;
+                picks[c] = pick;
+                gross += unit[pick];
+            }
+            long saving = bundleSetPrice[bundle]
+                ? Math.max(0, gross - bundleAmount[bundle])
+                : Math.min(bundleAmount[bundle], gross);
+            if (saving == 0) {
+                release(picks, members.length, free);
+                return;
+            }
+            long allocated = 0;
+            for (int c = 0; c < picks.length; c++) {
+                long share = c == picks.length - 1 ? saving - allocated : saving * unit[picks[c]] / Math.max(1, gross);
+                off[picks[c]] += share;
+                allocated += share;
+            }
+        }
+    }
+
+    /** Per-unit saving of discount {@code rule} on an item costing {@code price} cents. */
+    private long discountAmount(int rule, long price) {
+        return Math.min(price, (price * discountRate[rule] + 500_000) / 1_000_000 + discountOff[rule]);
+    }
+
+    private static long cents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static void release(int[] picks, int count, int[] free) {
+        for (int c = 0; c < count; c++) {
+            free[picks[c]]++;
+        }
+    }
+
+    private long activeWindows(LocalDateTime at) {
+        int dayBit = 1 << at.getDayOfWeek().ordinal();
+        int minute = at.getHour() * 60 + at.getMinute();
+        long active = 0;
+        for (int w = 0; w < windowDays.length; w++) {
+            int from = windowFrom[w];
+            int to = windowTo[w];
+            boolean inHours = from < to ? minute >= from && minute < to : minute >= from || minute < to;
+            if (inHours && (windowDays[w] & dayBit) != 0) {
+                active |= 1L << w;
+            }
+        }
+        return active;
+    }
+
+    private int profileOf(MenuItem item) {
+        Integer profile = profileByCode.get(item.getCode());
+        if (profile == null) {
+            profile = profileByCategory.get(item.getCategory());
+        }
+        return profile == null ? fallbackProfile : profile;
+    }
+
+    private static boolean matchesAny(List<String> selectors, String[] profile) {
+        for (String selector : selectors) {
+            if (PricingRule.matches(selector, profile[0], profile[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long windowKey(PricingRule rule) {
+        return (long) rule.days() << 32 | (long) rule.fromMinute() << 16 | rule.toMinute();
+    }
+}
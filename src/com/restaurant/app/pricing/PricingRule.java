@@ -0,0 +1,282 @@
+package com.restaurant.app.pricing;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One line of a pricing rules file, as written. Rules are turned into something fast to
+ * evaluate by {@link PricingPlan#compile}; this class only parses and validates.
+ * <pre>
+ * # kind     name         options
+ * tax        sales        rate=8
+ * tax        downtown     rate=8.875 jurisdiction=downtown
+ * tax        spirits      rate=10 items=category:Beverages jurisdiction=downtown
+ * discount   happy-hour   percent=25 items=category:Beverages days=mon-fri hours=16:00-18:00
+ * discount   burger-night off=3.00 items=MNS-01 days=tue
+ * bundle     date-night   price=45.00 items="category:Signatures+category:Small Plates+category:Desserts"
+ * </pre>
+ * {@code items} lists item codes and {@code category:Name} selectors separated by commas;
+ * leaving it out means every item. A bundle's components are separated by {@code +}, and
+ * one unit matching each component makes a set. {@code days} and {@code hours} restrict a
+ * rule to when the order was placed; {@code hours} may wrap past midnight. Values containing
+ * spaces go in double quotes.
+ */
+public record PricingRule(Kind kind, String name, List<List<String>> components, long rateMicros,
+                          long amountCents, boolean setPrice, String jurisdiction, int days,
+                          int fromMinute, int toMinute) {
+
+    public enum Kind {
+        /** Per-unit percentage or amount off matching items; the best single discount wins. */
+        DISCOUNT,
+        /** Amount off (or fixed price for) each complete set of components. */
+        BUNDLE,
+        /** Tax rate for matching items; item-specific rates override the general rate. */
+        TAX
+    }
+
+    public static final String CATEGORY_PREFIX = "category:";
+    public static final int ALL_DAYS = 0x7F;
+    public static final int DAY_MINUTES = 24 * 60;
+
+    /** Whether {@code selector} (an item code or {@code category:Name}) matches the item. */
+    public static boolean matches(String selector, String code, String category) {
+        if (selector.regionMatches(true, 0, CATEGORY_PREFIX, 0, CATEGORY_PREFIX.length())) {
+            return selector.substring(CATEGORY_PREFIX.length()).equalsIgnoreCase(category);
+        }
+        return selector.equalsIgnoreCase(code);
+    }
+
+    public boolean isGlobal() {
+        return jurisdiction == null;
+    }
+
+    /** Parses a whole rules file; blank lines and {@code #} comments are skipped. */
+    public static List<PricingRule> parseAll(List<String> lines) {
+        List<PricingRule> rules = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                rules.add(parse(line));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Pricing rule on line " + (i + 1) + ": " + ex.getMessage(), ex);
+            }
+        }
+        return rules;
+    }
+
+    public static PricingRule parse(String line) {
+        List<String> tokens = tokenize(line);
+        if (tokens.size() < 2) {
+            throw new IllegalArgumentException("expected '<kind> <name> key=value ...', got: " + line);
+        }
+        Kind kind;
+        try {
+            kind = Kind.valueOf(tokens.get(0).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("unknown rule kind " + tokens.get(0));
+        }
+        String name = tokens.get(1);
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String token : tokens.subList(2, tokens.size())) {
+            int eq = token.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("expected key=value, got: " + token);
+            }
+            options.put(token.substring(0, eq).toLowerCase(Locale.ROOT), token.substring(eq + 1));
+        }
+
+        List<List<String>> components = components(options.remove("items"));
+        if (kind != Kind.BUNDLE && components.size() > 1) {
+            throw new IllegalArgumentException(name + ": only bundles take '+' separated components");
+        }
+        if (kind == Kind.BUNDLE && components.isEmpty()) {
+            throw new IllegalArgumentException(name + ": a bundle needs items=");
+        }
+        long rate = 0;
+        long amount = 0;
+        boolean setPrice = false;
+        switch (kind) {
+            case TAX -> rate = percentMicros(required(options, "rate", name));
+            case DISCOUNT -> {
+                String percent = options.remove("percent");
+                String off = options.remove("off");
+                if ((percent == null) == (off == null)) {
+                    throw new IllegalArgumentException(name + ": a discount needs exactly one of percent= or off=");
+                }
+                rate = percent == null ? 0 : percentMicros(percent);
+                amount = off == null ? 0 : cents(off);
+                if (rate > 1_000_000) {
+                    throw new IllegalArgumentException(name + ": cannot take more than 100% off");
+                }
+            }
+            case BUNDLE -> {
+                String price = options.remove("price");
+                String off = options.remove("off");
+                if ((price == null) == (off == null)) {
+                    throw new IllegalArgumentException(name + ": a bundle needs exactly one of price= or off=");
+                }
+                setPrice = price != null;
+                amount = cents(setPrice ? price : off);
+            }
+        }
+        String jurisdiction = options.remove("jurisdiction");
+        int days = days(options.remove("days"));
+        int[] hours = hours(options.remove("hours"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException(name + ": unknown option(s) " + options.keySet());
+        }
+        return new PricingRule(kind, name, components, rate, amount, setPrice,
+            jurisdiction == null || jurisdiction.isBlank() ? null : jurisdiction.toLowerCase(Locale.ROOT),
+            days, hours[0], hours[1]);
+    }
+
+    private static List<List<String>> components(String items) {
+        if (items == null || items.isBlank()) {
+            return List.of();
+        }
+        List<List<String>> components = new ArrayList<>();
+        for (String component : items.split("\\+")) {
+            List<String> selectors = new ArrayList<>();
+            for (String selector : component.split(",")) {
+                if (!selector.isBlank()) {
+                    selectors.add(selector.strip());
+                }
+            }
+            if (selectors.isEmpty()) {
+                throw new IllegalArgumentException("empty component in items=" + items);
+            }
+            components.add(List.copyOf(selectors));
+        }
+        return List.copyOf(components);
+    }
+
+    /** {@code mon-fri}, {@code sat,sun}, {@code fri-mon}; bit 0 is Monday. */
+    private static int days(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return ALL_DAYS;
+        }
+        int mask = 0;
+        for (String part : spec.split(",")) {
+            String[] range = part.strip().split("-");
+            int from = day(range[0]);
+            int to = range.length > 1 ? day(range[1]) : from;
+            for (int day = from; ; day = (day + 1) % 7) {
+                mask |= 1 << day;
+                if (day == to) {
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static int day(String name) {
+        String prefix = name.strip().toUpperCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (prefix.length() >= 3 && day.name().startsWith(prefix)) {
+                return day.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("unknown day " + name);
+    }
+
+    /** {@code HH:mm-HH:mm} as minutes of the day; {@code 24:00} is allowed as an end. */
+    private static int[] hours(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return new int[] {0, DAY_MINUTES};
+        }
+        String[] range = spec.split("-");
+        if (range.length != 2) {
+            throw new IllegalArgumentException("hours must be HH:mm-HH:mm, got: " + spec);
+        }
+        int from = minuteOfDay(range[0]);
+        int to = range[1].strip().equals("24:00") ? DAY_MINUTES : minuteOfDay(range[1]);
+        if (from == to) {
+            throw new IllegalArgumentException("empty hours window " + spec);
+        }
+        return new int[] {from, to};
+    }
+
+    private static int minuteOfDay(String time) {
+        try {
+            LocalTime parsed = LocalTime.parse(time.strip());
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("invalid time " + time.strip());
+        }
+    }
+
+    /** Percent as parts per million: {@code 8.875} becomes 88,750. */
+    private static long percentMicros(String percent) {
+        return scaled(percent, 4);
+    }
+
+    private static long cents(String amount) {
+        return scaled(amount, 2);
+    }
+
+    private static long scaled(String value, int places) {
+        BigDecimal parsed;
+        try {
+            parsed = new BigDecimal(value.strip());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid number " + value);
+        }
+        if (parsed.signum() < 0) {
+            throw new IllegalArgumentException("negative amount " + value);
+        }
+        try {
+            return parsed.movePointRight(places).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("too many decimal places in " + value);
+        }
+    }
+
+    private static String required(Map<String, String> options, String key, String name) {
+        String value = options.remove(key);
+        if (value == null) {
+            throw new IllegalArgumentException(name + ": missing " + key + "=");
+        }
+        return value;
+    }
+
+    private static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                any = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (any) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    any = false;
+                }
+            } else {
+                current.append(c);
+                any = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote in: " + line);
+        }
+        if (any) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
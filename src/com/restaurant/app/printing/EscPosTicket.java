@@ -0,0 +1,87 @@
+package com.restaurant.app.printing;
+
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders kitchen tickets as ESC/POS byte streams for 80 mm thermal printers: station and
+ * table in double size, one line per item with the quantity in bold, notes, then a feed
+ * and partial cut. Text uses code page 1252, which most ESC/POS printers select with
+ * {@code ESC t 16}.
+ */
+public final class EscPosTicket {
+    private static final Charset CODE_PAGE = Charset.forName("windows-1252");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("MMM dd HH:mm");
+    private static final int WIDTH = 42;
+
+    private static final byte ESC = 0x1B;
+    private static final byte GS = 0x1D;
+    private static final byte LF = 0x0A;
+
+    private EscPosTicket() {
+    }
+
+    /** Ticket for the given subset of the order's items, e.g. the ones one station prepares. */
+    public static byte[] render(String station, Order order, List<OrderItem> items) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + items.size() * 48);
+        command(out, ESC, '@');
+        command(out, ESC, 't', 16);
+
+        command(out, ESC, 'a', 1);
+        command(out, ESC, '!', 0x30);
+        line(out, station.toUpperCase(Locale.ROOT));
+        line(out, "Table " + order.getTableNumber());
+        command(out, ESC, '!', 0);
+        command(out, ESC, 'a', 0);
+
+        line(out, padBetween("#" + order.getId(), TIME.format(order.getCreatedAt())));
+        line(out, "-".repeat(WIDTH));
+        for (OrderItem item : items) {
+            command(out, ESC, 'E', 1);
+            text(out, String.format("%3d x ", item.getQuantity()));
+            command(out, ESC, 'E', 0);
+            line(out, truncate(item.getMenuItem().getName(), WIDTH - 6));
+        }
+        line(out, "-".repeat(WIDTH));
+        if (!order.getNotes().isBlank()) {
+            command(out, ESC, 'E', 1);
+            text(out, "Notes: ");
+            command(out, ESC, 'E', 0);
+            line(out, order.getNotes());
+        }
+
+        command(out, ESC, 'd', 4);
+        command(out, GS, 'V', 66, 0);
+        return out.toByteArray();
+    }
+
+    private static void command(ByteArrayOutputStream out, int... bytes) {
+        for (int b : bytes) {
+            out.write(b);
+        }
+    }
+
+    private static void text(ByteArrayOutputStream out, String value) {
+        out.writeBytes(value.getBytes(CODE_PAGE));
+    }
+
+    private static void line(ByteArrayOutputStream out, String value) {
+        text(out, value);
+        out.write(LF);
+    }
+
+    private static String padBetween(String left, String right) {
+        int gap = Math.max(1, WIDTH - left.length() - right.length());
+        return left + " ".repeat(gap) + right;
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max - 1) + "…";
+    }
+}
@@ -0,0 +1,45 @@
+package com.restaurant.app.printing;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One ticket printer: a name, the device or file its tickets are written to, and the menu
+ * categories it prints. An empty category set means every item.
+ */
+public record PrinterStation(String name, Path device, Set<String> categories) {
+
+    public boolean accepts(String category) {
+        return categories.isEmpty() || categories.contains(category.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Parses {@code name:path;name:path}, e.g. {@code kitchen:/dev/usb/lp0;bar:/tmp/bar.prn}.
+     * {@code categoriesFor} supplies the comma-separated categories of a station, or {@code null}.
+     */
+    public static List<PrinterStation> parse(String spec, Function<String, String> categoriesFor) {
+        return Arrays.stream(spec.split(";"))
+            .map(String::trim)
+            .filter(entry -> !entry.isEmpty())
+            .map(entry -> {
+                int colon = entry.indexOf(':');
+                if (colon <= 0 || colon == entry.length() - 1) {
+                    throw new IllegalArgumentException("Printer must be name:path, got: " + entry);
+                }
+                String name = entry.substring(0, colon).trim();
+                String categories = categoriesFor.apply(name);
+                Set<String> accepted = categories == null ? Set.of() : Arrays.stream(categories.split(","))
+                    .map(category -> category.trim().toLowerCase(Locale.ROOT))
+                    .filter(category -> !category.isEmpty())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+                return new PrinterStation(name, Path.of(entry.substring(colon + 1).trim()), accepted);
+            })
+            .toList();
+    }
+}
@@ -0,0 +1,215 @@
+package com.restaurant.app.printing;
+
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.server.ServerMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spools kitchen tickets to printers without holding up order submission. Each
+ * {@link PrinterStation} has its own bounded queue and writer thread; the writer takes
+ * whatever has queued up during a burst and sends it as one write. Failed writes reopen the
+ * device and retry with capped exponential backoff, so tickets are delayed rather than lost
+ * while a printer is offline, and may print twice if a write failed part way through.
+ * <p>
+ * {@link #submit} never waits: once a station has a full queue waiting, further tickets for
+ * it are dropped and counted under {@code printing.<station>.dropped}. Blocking instead would
+ * stall the order event bus, and with it every order POST, on one unplugged printer.
+ * <p>
+ * The device is opened for append, so a plain file or a named pipe can stand in for a
+ * printer: {@code mkfifo /tmp/kitchen && cat /tmp/kitchen | hexdump -C}.
+ */
+public final class TicketSpooler {
+    private static final long INITIAL_BACKOFF_MILLIS = 200;
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+    private static final long POLL_MILLIS = 250;
+
+    private final List<PrinterQueue> queues = new ArrayList<>();
+
+    /**
+     * @param queueCapacity tickets a station may have waiting; {@link #submit} drops new
+     *                      ones beyond that
+     * @param maxBatch      most tickets combined into one device write
+     */
+    public TicketSpooler(List<PrinterStation> stations, int queueCapacity, int maxBatch, ServerMetrics metrics) {
+        for (PrinterStation station : stations) {
+            queues.add(new PrinterQueue(station, queueCapacity, maxBatch, metrics));
+        }
+    }
+
+    public void start() {
+        queues.forEach(queue -> queue.thread.start());
+    }
+
+    /** Renders and queues a ticket for every station that prepares at least one of the order's items. */
+    public void submit(Order order) {
+        for (PrinterQueue queue : queues) {
+            List<OrderItem> items = new ArrayList<>();
+            for (OrderItem item : order.getItems()) {
+                if (queue.station.accepts(item.getMenuItem().getCategory())) {
+                    items.add(item);
+                }
+            }
+            if (!items.isEmpty()) {
+                queue.offer(EscPosTicket.render(queue.station.name(), order, items));
+            }
+        }
+    }
+
+    /**
+     * Lets each writer finish what is queued, waiting up to {@code timeoutMillis} in total.
+     * Writers are not interrupted: an interrupt would close the device channel mid-write.
+     */
+    public void close(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (PrinterQueue queue : queues) {
+            queue.running = false;
+        }
+        for (PrinterQueue queue : queues) {
+            queue.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+    }
+
+    private static final class PrinterQueue {
+        private final PrinterStation station;
+        private final BlockingQueue<byte[]> pending;
+        private final int maxBatch;
+        private final ServerMetrics metrics;
+        private final String prefix;
+        private final Thread thread;
+        private FileChannel channel;
+        private volatile boolean running = true;
+        private volatile boolean overflowing;
+
+        private PrinterQueue(PrinterStation station, int capacity, int maxBatch, ServerMetrics metrics) {
+            this.station = station;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+            this.maxBatch = Math.max(1, maxBatch);
+            this.metrics = metrics;
+            this.prefix = "printing." + station.name() + ".";
+            this.thread = new Thread(this::run, "ticket-spooler-" + station.name());
+            this.thread.setDaemon(true);
+            metrics.registerGauge(prefix + "queueDepth", pending::size);
+        }
+
+        /** Queues the ticket, or drops it when the queue is full; warns once per overflow. */
+        private void offer(byte[] ticket) {
+            if (pending.offer(ticket)) {
+                overflowing = false;
+                return;
+            }
+            metrics.increment(prefix + "dropped");
+            if (!overflowing) {
+                overflowing = true;
+                System.err.println("Printer " + station.name() + " (" + station.device() + ") has "
+                    + pending.size() + " ticket(s) waiting; dropping new tickets until it catches up");
+            }
+        }
+
+        private void run() {
+            try {
+                drainLoop();
+            } finally {
+                closeChannel();
+            }
+        }
+
+        private void drainLoop() {
+            List<byte[]> batch = new ArrayList<>(maxBatch);
+            while (true) {
+                byte[] first;
+                try {
+                    first = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                if (first == null) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, maxBatch - 1);
+                if (!writeWithRetry(concat(batch), batch.size())) {
+                    return;
+                }
+                metrics.add(prefix + "tickets", batch.size());
+                metrics.increment(prefix + "batches");
+                batch.clear();
+            }
+        }
+
+        /** Returns {@code false} when the spooler is shut down while the device is failing. */
+        private boolean writeWithRetry(ByteBuffer data, int tickets) {
+            long backoff = INITIAL_BACKOFF_MILLIS;
+            while (true) {
+                try {
+                    write(data);
+                    metrics.add(prefix + "bytes", data.limit());
+                    return true;
+                } catch (IOException ex) {
+                    closeChannel();
+                    metrics.increment(prefix + "retries");
+                    System.err.println("Printer " + station.name() + " (" + station.device() + ") write failed, retrying in "
+                        + backoff + " ms: " + ex.getMessage());
+                    data.rewind();
+                    if (!running) {
+                        System.err.println("Printer " + station.name() + " stopped with "
+                            + (tickets + pending.size()) + " ticket(s) unprinted");
+                        return false;
+                    }
+                    try {
+                        Thread.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+                    } catch (InterruptedException interrupted) {
+                        return false;
+                    }
+                    backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+                }
+            }
+        }
+
+        private void write(ByteBuffer data) throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(station.device(),
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+
+        private void closeChannel() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // already failing; the next write reopens the device
+                }
+                channel = null;
+            }
+        }
+
+        private static ByteBuffer concat(List<byte[]> tickets) {
+            int size = 0;
+            for (byte[] ticket : tickets) {
+                size += ticket.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (byte[] ticket : tickets) {
+                buffer.put(ticket);
+            }
+            return buffer.flip();
+        }
+    }
+}
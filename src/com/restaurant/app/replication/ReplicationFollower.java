@@ -0,0 +1,131 @@
+package com.restaurant.app.replication;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.server.ServerMetrics;
+import com.restaurant.app.service.OrderManager;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+
+/**
+ * Connects to a {@link ReplicationLeader}, applies streamed orders to the local
+ * {@link OrderManager} and reconnects with backoff, resuming after the last applied
+ * sequence number. Lag is exported both in records and in milliseconds between the
+ * leader's append and the local apply of the newest record.
+ */
+public final class ReplicationFollower {
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+
+    private final InetSocketAddress leader;
+    private final OrderManager orderManager;
+    private final Map<String, MenuItem> menuIndex;
+    private long leaderEpoch;
+    private volatile long appliedSeq;
+    private volatile long leaderSeq;
+    private volatile long lagMillis;
+    private volatile boolean connected;
+    private volatile boolean running;
+    private Thread thread;
+
+    public ReplicationFollower(InetSocketAddress leader, OrderManager orderManager, Map<String, MenuItem> menuIndex,
+                               ServerMetrics metrics) {
+        this.leader = leader;
+        this.orderManager = orderManager;
+        this.menuIndex = menuIndex;
+        metrics.registerGauge("replication.appliedSeq", () -> appliedSeq);
+        metrics.registerGauge("replication.leaderSeq", () -> leaderSeq);
+        metrics.registerGauge("replication.lagRecords", this::getLagRecords);
+        metrics.registerGauge("replication.lagMillis", () -> lagMillis);
+        metrics.registerGauge("replication.connected", () -> connected ? 1 : 0);
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    public long getLagRecords() {
+        return Math.max(0, leaderSeq - appliedSeq);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public InetSocketAddress getLeader() {
+        return leader;
+    }
+
+    private void run() {
+        long backoff = 250;
+        while (running) {
+            try (Socket socket = new Socket()) {
+                socket.connect(leader, 3_000);
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout((int) (ReplicationLeader.HEARTBEAT_MILLIS * 5));
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                long epoch = in.readLong();
+                if (epoch != leaderEpoch) {
+                    leaderEpoch = epoch;
+                    appliedSeq = 0;
+                }
+                out.writeLong(appliedSeq);
+                out.flush();
+                connected = true;
+                backoff = 250;
+                consume(in);
+            } catch (IOException ex) {
+                if (connected) {
+                    System.err.println("Lost replication leader " + leader + ": " + ex.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+        }
+    }
+
+    private void consume(DataInputStream in) throws IOException {
+        while (running) {
+            int count = in.readInt();
+            leaderSeq = in.readLong();
+            ReplicationRecord newest = null;
+            for (int i = 0; i < count; i++) {
+                ReplicationRecord record = ReplicationRecord.readFrom(in);
+                if (record.seq() <= appliedSeq) {
+                    continue;
+                }
+                orderManager.addOrder(record.toOrder(menuIndex));
+                appliedSeq = record.seq();
+                newest = record;
+            }
+            if (newest != null) {
+                lagMillis = Math.max(0, System.currentTimeMillis() - newest.appendedAtMillis());
+            } else if (appliedSeq >= leaderSeq) {
+                lagMillis = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.restaurant.app.replication;
+
+import com.restaurant.app.server.ServerMetrics;
+import com.restaurant.app.service.OrderManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams every order appended to the local {@link OrderManager} to connected followers.
+ * <p>
+ * Protocol: the leader first writes its epoch (random per process start, since the log
+ * is in memory and sequence numbers restart with it); the follower replies with its last
+ * applied sequence number for that epoch, or 0; the leader then writes frames of {@code int count, long headSeq, records...}. Records are sent
+ * in batches of whatever has accumulated, and an empty frame is sent as a heartbeat
+ * while idle so followers can tell a quiet leader from a dead one.
+ */
+public final class ReplicationLeader {
+    static final int MAX_BATCH = 512;
+    static final long HEARTBEAT_MILLIS = 1_000;
+
+    private final int port;
+    private final ReplicationLog log;
+    private final AtomicInteger followers = new AtomicInteger();
+    private final long epoch = new SecureRandom().nextLong();
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ReplicationLeader(int port, int retainedRecords, OrderManager orderManager, ServerMetrics metrics) {
+        this.port = port;
+        this.log = new ReplicationLog(retainedRecords);
+        orderManager.addOrderListener(log::append);
+        metrics.registerGauge("replication.headSeq", log::headSeq);
+        metrics.registerGauge("replication.followers", followers::get);
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port));
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "replication-leader");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // shutting down
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread shipper = new Thread(() -> ship(socket), "replication-ship-" + socket.getRemoteSocketAddress());
+                shipper.setDaemon(true);
+                shipper.start();
+            } catch (IOException ex) {
+                if (running) {
+                    System.err.println("Replication accept failed: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private void ship(Socket socket) {
+        followers.incrementAndGet();
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024))) {
+            socket.setTcpNoDelay(true);
+            out.writeLong(epoch);
+            out.flush();
+            long sent = in.readLong();
+            while (running) {
+                List<ReplicationRecord> batch = log.readAfter(sent, MAX_BATCH, HEARTBEAT_MILLIS);
+                out.writeInt(batch.size());
+                out.writeLong(log.headSeq());
+                for (ReplicationRecord record : batch) {
+                    record.writeTo(out);
+                    sent = record.seq();
+                }
+                out.flush();
+            }
+        } catch (IOException ex) {
+            System.err.println("Follower " + socket.getRemoteSocketAddress() + " disconnected: " + ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.restaurant.app.replication;
+
+import com.restaurant.app.model.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded in-memory log of recent appends, indexed by sequence number in a ring.
+ * Followers that fall further behind than the retained window resume from the
+ * oldest retained record.
+ */
+final class ReplicationLog {
+    private final ReplicationRecord[] ring;
+    private long nextSeq = 1;
+
+    ReplicationLog(int capacity) {
+        this.ring = new ReplicationRecord[Math.max(16, capacity)];
+    }
+
+    synchronized void append(Order order) {
+        ring[(int) (nextSeq % ring.length)] = ReplicationRecord.of(nextSeq, order);
+        nextSeq++;
+        notifyAll();
+    }
+
+    synchronized long headSeq() {
+        return nextSeq - 1;
+    }
+
+    /**
+     * Returns up to {@code max} records after {@code afterSeq}, waiting up to
+     * {@code timeoutMillis} for one to arrive. An empty list means the caller is caught up.
+     */
+    synchronized List<ReplicationRecord> readAfter(long afterSeq, int max, long timeoutMillis)
+        throws InterruptedException {
+        if (afterSeq >= headSeq() && timeoutMillis > 0) {
+            wait(timeoutMillis);
+        }
+        long first = Math.max(afterSeq + 1, Math.max(1, nextSeq - ring.length));
+        long last = Math.min(headSeq(), first + max - 1);
+        List<ReplicationRecord> batch = new ArrayList<>((int) Math.max(0, last - first + 1));
+        for (long seq = first; seq <= last; seq++) {
+            batch.add(ring[(int) (seq % ring.length)]);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,105 @@
+package com.restaurant.app.replication;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One replicated order append. Items are carried by menu code so followers rebuild
+ * the order against their own menu instances. Strings are written as a length and their
+ * UTF-8 bytes rather than with {@code writeUTF}, whose 64 KB limit a single long note
+ * would hit, failing that record on every reconnect.
+ */
+record ReplicationRecord(long seq, long appendedAtMillis, String id, long createdAtEpochMillis,
+                         String table, String notes, List<Line> lines) {
+
+    private static final int MAX_STRING_BYTES = 1 << 20;
+
+    record Line(String code, int quantity) {
+    }
+
+    static ReplicationRecord of(long seq, Order order) {
+        List<Line> lines = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            lines.add(new Line(item.getMenuItem().getCode(), item.getQuantity()));
+        }
+        LocalDateTime createdAt = order.getCreatedAt();
+        long createdMillis = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000 + createdAt.getNano() / 1_000_000;
+        return new ReplicationRecord(seq, System.currentTimeMillis(), order.getId(), createdMillis,
+            order.getTableNumber(), order.getNotes(), List.copyOf(lines));
+    }
+
+    /** Rebuilds the order; lines whose code is missing from the local menu are skipped. */
+    Order toOrder(Map<String, MenuItem> menuIndex) {
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(createdAtEpochMillis, 1_000),
+            Math.floorMod(createdAtEpochMillis, 1_000) * 1_000_000, ZoneOffset.UTC);
+        Order order = new Order(id, createdAt);
+        order.setTableNumber(table);
+        order.setNotes(notes);
+        for (Line line : lines) {
+            MenuItem menuItem = menuIndex.get(line.code());
+            if (menuItem == null) {
+                System.err.println("Replicated order " + id + " references unknown menu item " + line.code());
+                continue;
+            }
+            order.addItem(menuItem, line.quantity());
+        }
+        return order;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(seq);
+        out.writeLong(appendedAtMillis);
+        writeString(out, id);
+        out.writeLong(createdAtEpochMillis);
+        writeString(out, table);
+        writeString(out, notes);
+        out.writeShort(lines.size());
+        for (Line line : lines) {
+            writeString(out, line.code());
+            out.writeInt(line.quantity());
+        }
+    }
+
+    static ReplicationRecord readFrom(DataInputStream in) throws IOException {
+        long seq = in.readLong();
+        long appendedAt = in.readLong();
+        String id = readString(in);
+        long createdAt = in.readLong();
+        String table = readString(in);
+        String notes = readString(in);
+        int count = in.readUnsignedShort();
+        List<Line> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(new Line(readString(in), in.readInt()));
+        }
+        return new ReplicationRecord(seq, appendedAt, id, createdAt, table, notes, lines);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /** A length past {@link #MAX_STRING_BYTES} means a corrupt stream, not a long string. */
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Invalid string length " + length + " in replication record");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
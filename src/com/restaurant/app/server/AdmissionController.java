@@ -0,0 +1,77 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guards route handlers with a global in-flight cap plus per-client and per-route
+ * token buckets. Overload is shed with 503 and rate-limit violations with 429, both
+ * before the request body is read.
+ */
+public final class AdmissionController {
+
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final RateLimiter clientLimiter;
+    private final RateLimiter routeLimiter;
+    private final ServerMetrics metrics;
+
+    public AdmissionController(ServerConfig config, ServerMetrics metrics) {
+        this.maxInFlight = config.getInt("maxInFlight", 256);
+        this.clientLimiter = new RateLimiter(config.getDouble("clientRps", 20), config.getInt("clientBurst", 40),
+            5, TimeUnit.MINUTES);
+        this.routeLimiter = new RateLimiter(config.getDouble("routeRps", 500), config.getInt("routeBurst", 1_000),
+            5, TimeUnit.MINUTES);
+        this.metrics = metrics;
+        metrics.registerGauge("admission.inFlight", inFlight::get);
+        metrics.registerGauge("admission.trackedClients", clientLimiter::size);
+    }
+
+    public RouteHandler guard(String route, RouteHandler handler) {
+        return exchange -> admit(route, handler, exchange);
+    }
+
+    private void admit(String route, RouteHandler handler, ServerExchange exchange) throws IOException {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            metrics.increment("admission.rejected.overload");
+            exchange.setResponseHeader("Retry-After", "1");
+            HttpResponses.sendStatus(exchange, 503, "Server busy, retry shortly");
+            return;
+        }
+        try {
+            long wait = clientLimiter.tryAcquire(clientKey(exchange.getRemoteAddress()));
+            if (wait > 0) {
+                metrics.increment("admission.rejected.client");
+                reject(exchange, wait);
+                return;
+            }
+            wait = routeLimiter.tryAcquire(exchange.getRequestMethod().toUpperCase(Locale.ROOT) + " " + route);
+            if (wait > 0) {
+                metrics.increment("admission.rejected.route");
+                reject(exchange, wait);
+                return;
+            }
+            RequestTracer.phase("admission");
+            handler.handle(exchange);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void reject(ServerExchange exchange, long waitNanos) throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        exchange.setResponseHeader("Retry-After", String.valueOf(seconds));
+        HttpResponses.sendStatus(exchange, 429, "Too many requests");
+    }
+
+    private static String clientKey(InetSocketAddress address) {
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() == null ? address.getHostString() : address.getAddress().getHostAddress();
+    }
+}
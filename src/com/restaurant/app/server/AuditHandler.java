@@ -0,0 +1,132 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.audit.AuditEvent;
+import com.restaurant.app.audit.OrderAuditLog;
+import com.restaurant.app.audit.OrderState;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.pricing.PricingPlan;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only view of the order audit trail:
+ * <pre>
+ * GET /api/audit/orders/{id}[?at=2026-10-19T20:15]   the order as of {@code at} and its events up to then
+ * GET /api/audit/floor[?at=2026-10-19T20:15]         every order of that day as of {@code at}
+ * </pre>
+ * {@code at} defaults to now.
+ */
+final class AuditHandler implements RouteHandler {
+    private static final String ORDERS = "/api/audit/orders/";
+    private static final String FLOOR = "/api/audit/floor";
+
+    private final OrderAuditLog audit;
+    private final PricingPlan pricing;
+
+    AuditHandler(OrderAuditLog audit, PricingPlan pricing) {
+        this.audit = audit;
+        this.pricing = pricing;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod().toUpperCase(Locale.ROOT))) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        LocalDateTime at;
+        try {
+            String value = HttpResponses.queryParameters(exchange).get("at");
+            at = value == null || value.isBlank() ? LocalDateTime.now(audit.getZone()) : LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            HttpResponses.sendStatus(exchange, 400, "Invalid at (expected e.g. 2026-10-19T20:15): " + ex.getParsedString());
+            return;
+        }
+        String path = exchange.getRequestPath();
+        if (path.startsWith(ORDERS) && path.length() > ORDERS.length()) {
+            handleOrder(exchange, path.substring(ORDERS.length()), at);
+        } else if (path.equals(FLOOR)) {
+            handleFloor(exchange, at);
+        } else {
+            HttpResponses.sendStatus(exchange, 404, "Not Found");
+        }
+    }
+
+    private void handleOrder(ServerExchange exchange, String id, LocalDateTime at) throws IOException {
+        Optional<OrderState> state = audit.orderAsOf(id, at);
+        if (state.isEmpty()) {
+            HttpResponses.sendStatus(exchange, 404, "No order " + id + " as of " + at);
+            return;
+        }
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (AuditEvent event : audit.events(id, at)) {
+            events.add(eventView(event));
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("at", at.toString());
+        payload.put("order", stateView(state.get()));
+        payload.put("events", events);
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+
+    private void handleFloor(ServerExchange exchange, LocalDateTime at) throws IOException {
+        List<Map<String, Object>> orders = new ArrayList<>();
+        for (OrderState state : audit.floorAsOf(at)) {
+            orders.add(stateView(state));
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("at", at.toString());
+        payload.put("orders", orders);
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+
+    private Map<String, Object> stateView(OrderState state) {
+        Order order = state.toOrder();
+        order.setPricing(pricing);
+        Map<String, Object> view = new LinkedHashMap<>(OrderViews.orderSummary(order));
+        view.put("status", state.status().name());
+        view.put("version", state.version());
+        view.put("updatedAt", time(state.updatedAtMillis()));
+        return view;
+    }
+
+    private Map<String, Object> eventView(AuditEvent event) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("sequence", event.sequence());
+        view.put("at", time(event.timestampMillis()));
+        view.put("type", event.type().name());
+        switch (event.type()) {
+            case PLACED -> {
+                view.put("table", event.placed().tableNumber());
+                view.put("items", event.placed().lines().size());
+            }
+            case ITEM_ADDED, QUANTITY_CHANGED, ITEM_REMOVED -> {
+                view.put("code", event.item().code());
+                view.put("name", event.item().name());
+                view.put("from", event.previousQuantity());
+                view.put("to", event.item().quantity());
+            }
+            case STATUS_CHANGED -> {
+                view.put("from", event.previousStatus().name());
+                view.put("to", event.status().name());
+            }
+            case TABLE_CHANGED, NOTES_CHANGED -> view.put("to", event.text());
+        }
+        return view;
+    }
+
+    private String time(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), audit.getZone())
+            .truncatedTo(ChronoUnit.MILLIS).toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.restaurant.app.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of {@link Deflater}s. Each deflater owns a native zlib stream, so
+ * reusing them avoids a malloc/free and finalizer-style cleanup per response.
+ */
+final class DeflaterPool {
+    private final int level;
+    private final boolean nowrap;
+    private final int maxPooled;
+    private final Queue<Deflater> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    DeflaterPool(int level, boolean nowrap, int maxPooled) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.maxPooled = maxPooled;
+    }
+
+    Deflater acquire() {
+        Deflater deflater = free.poll();
+        if (deflater == null) {
+            return new Deflater(level, nowrap);
+        }
+        pooled.decrementAndGet();
+        return deflater;
+    }
+
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (pooled.incrementAndGet() <= maxPooled) {
+            free.offer(deflater);
+        } else {
+            pooled.decrementAndGet();
+            deflater.end();
+        }
+    }
+}
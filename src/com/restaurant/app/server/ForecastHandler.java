@@ -0,0 +1,74 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.forecast.DemandForecaster;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expected item counts for prep planning:
+ * <pre>
+ * GET /api/forecast[?date=2026-10-20][&amp;hourly=true]
+ * </pre>
+ * {@code date} defaults to tomorrow. Items are listed busiest first; {@code hourly} adds the
+ * expected count for each hour of the day.
+ */
+final class ForecastHandler implements RouteHandler {
+    private final DemandForecaster forecaster;
+
+    ForecastHandler(DemandForecaster forecaster) {
+        this.forecaster = forecaster;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        Map<String, String> query = HttpResponses.queryParameters(exchange);
+        LocalDate date;
+        try {
+            String value = query.get("date");
+            date = value == null || value.isBlank() ? LocalDate.now().plusDays(1) : LocalDate.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            HttpResponses.sendStatus(exchange, 400, "Invalid date: " + query.get("date"));
+            return;
+        }
+        boolean hourly = Boolean.parseBoolean(query.get("hourly"));
+
+        DemandForecaster.DayForecast forecast = forecaster.forecast(date);
+        List<Map<String, Object>> items = new ArrayList<>(forecast.items().size());
+        double total = 0;
+        for (DemandForecaster.ItemForecast item : forecast.items()) {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("code", item.code());
+            view.put("name", item.name());
+            view.put("expected", round(item.expected()));
+            if (hourly) {
+                List<Double> hours = new ArrayList<>(item.hourly().length);
+                for (double count : item.hourly()) {
+                    hours.add(round(count));
+                }
+                view.put("hourly", hours);
+            }
+            items.add(view);
+            total += item.expected();
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("date", date.toString());
+        payload.put("hoursObserved", forecast.hoursObserved());
+        payload.put("expectedItems", round(total));
+        payload.put("items", items);
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /health} answers 200 whenever the server can respond; {@code GET /ready} answers
+ * 503 while draining for shutdown or while any check fails. Both list the checks.
+ */
+final class HealthHandler implements RouteHandler {
+    private final ServerHealth health;
+
+    HealthHandler(ServerHealth health) {
+        this.health = health;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        boolean readiness = exchange.getRequestPath().equals("/ready");
+        if (!readiness && !exchange.getRequestPath().equals("/health")) {
+            HttpResponses.sendStatus(exchange, 404, "Not Found");
+            return;
+        }
+        ServerHealth.Report report = health.check();
+        Map<String, Object> checks = new LinkedHashMap<>();
+        report.checks().forEach((name, status) -> {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("ok", status.ok());
+            view.put("detail", status.detail());
+            checks.put(name, view);
+        });
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("status", report.draining() ? "draining" : report.ready() ? "ready" : "not ready");
+        payload.put("uptimeSeconds", report.uptimeMillis() / 1_000);
+        payload.put("checks", checks);
+        exchange.setResponseHeader("Cache-Control", "no-store");
+        HttpResponses.sendJson(exchange, readiness && !report.ready() ? 503 : 200, payload);
+    }
+}
@@ -0,0 +1,90 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.util.ByteSink;
+import com.restaurant.app.util.CompactCodec;
+import com.restaurant.app.util.JsonUtil;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Response helpers shared by every route handler.
+ */
+final class HttpResponses {
+
+    private HttpResponses() {
+    }
+
+    static void sendJson(ServerExchange exchange, int status, Object payload) throws IOException {
+        sendJsonBytes(exchange, status, JsonUtil.stringify(payload).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void sendJsonBytes(ServerExchange exchange, int status, byte[] data) throws IOException {
+        exchange.setResponseHeader("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponse(status, data);
+    }
+
+    static void sendJsonBytes(ServerExchange exchange, int status, ByteSink data) throws IOException {
+        exchange.setResponseHeader("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponse(status, data.array(), data.size());
+    }
+
+    /**
+     * Sends the compact binary encoding when the client lists it in {@code Accept},
+     * otherwise the JSON payload. Only the chosen representation is built.
+     */
+    static void sendNegotiated(ServerExchange exchange, int status, Supplier<Object> jsonPayload,
+                               Supplier<byte[]> compactPayload) throws IOException {
+        sendNegotiatedBytes(exchange, status,
+            () -> JsonUtil.stringify(jsonPayload.get()).getBytes(StandardCharsets.UTF_8), compactPayload);
+    }
+
+    /** Variant of {@link #sendNegotiated} for callers that already hold serialized JSON. */
+    static void sendNegotiatedBytes(ServerExchange exchange, int status, Supplier<byte[]> jsonBytes,
+                                    Supplier<byte[]> compactPayload) throws IOException {
+        exchange.setResponseHeader("Vary", "Accept");
+        if (acceptsCompact(exchange)) {
+            exchange.setResponseHeader("Content-Type", CompactCodec.CONTENT_TYPE);
+            exchange.sendResponse(status, compactPayload.get());
+            return;
+        }
+        sendJsonBytes(exchange, status, jsonBytes.get());
+    }
+
+    static boolean acceptsCompact(ServerExchange exchange) {
+        String accept = exchange.getRequestHeader("Accept");
+        return accept != null && accept.contains(CompactCodec.CONTENT_TYPE);
+    }
+
+    static void sendStatus(ServerExchange exchange, int status, String message) throws IOException {
+        byte[] data = message.getBytes(StandardCharsets.UTF_8);
+        exchange.setResponseHeader("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponse(status, data);
+    }
+
+    static String readBody(ServerExchange exchange) throws IOException {
+        return new String(exchange.readBody(), StandardCharsets.UTF_8);
+    }
+
+    /** URL-decoded query parameters; the first occurrence of a repeated name wins. */
+    static Map<String, String> queryParameters(ServerExchange exchange) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String query = exchange.getQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            if (!name.isEmpty()) {
+                parameters.putIfAbsent(name, value);
+            }
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,29 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * A network front end that accepts HTTP connections and feeds them to a {@link Router}.
+ */
+public interface HttpTransport {
+
+    String name();
+
+    void start() throws IOException;
+
+    /** Address the transport is bound to; only valid after {@link #start()}. */
+    InetSocketAddress getAddress();
+
+    /** Stops at once, closing open connections even mid-response. */
+    void stop();
+
+    /**
+     * Stops accepting connections and lets requests already received finish and their
+     * responses go out, waiting up to {@code timeoutMillis}, then stops and shuts the worker
+     * threads down. Idle keep-alive connections are closed straight away.
+     *
+     * @return {@code false} if requests were still in flight when the time ran out
+     */
+    boolean shutdown(long timeoutMillis);
+}
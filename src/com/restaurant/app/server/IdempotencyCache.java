@@ -0,0 +1,42 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.model.Order;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the order created for each recent {@code Idempotency-Key} so client
+ * retries after a lost response do not place the same order twice.
+ */
+final class IdempotencyCache {
+    private final Map<String, Order> orders;
+
+    IdempotencyCache(int capacity) {
+        this.orders = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Order> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Result of {@link #resolve}: the order for the key and whether this call created it. */
+    record Outcome(Order order, boolean created) {
+    }
+
+    /**
+     * Returns the order already recorded for the key, or runs {@code create} and records
+     * its result. Creation happens under the cache lock so concurrent retries see one order.
+     */
+    synchronized Outcome resolve(String key, Supplier<Order> create) {
+        Order existing = orders.get(key);
+        if (existing != null) {
+            return new Outcome(existing, false);
+        }
+        Order order = create.get();
+        orders.put(key, order);
+        return new Outcome(order, true);
+    }
+}
@@ -0,0 +1,178 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.util.ByteSink;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport backed by the JDK's built-in {@code com.sun.net.httpserver.HttpServer}. Handlers
+ * run on a fixed pool of {@code --workers} threads, as with the NIO transport, so the two can be
+ * compared at the same worker count.
+ */
+public final class JdkHttpTransport implements HttpTransport {
+
+    private final InetSocketAddress address;
+    private final int backlog;
+    private final int workers;
+    private final Router router;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executor;
+    private boolean stopped;
+
+    public JdkHttpTransport(InetSocketAddress address, int backlog, int workers, Router router) {
+        this.address = address;
+        this.backlog = backlog;
+        this.workers = Math.max(1, workers);
+        this.router = router;
+    }
+
+    @Override
+    public String name() {
+        return "jdk";
+    }
+
+    @Override
+    public void start() throws IOException {
+        server = HttpServer.create(address, backlog);
+        server.createContext("/", exchange -> {
+            inFlight.incrementAndGet();
+            try {
+                router.dispatch(new JdkExchange(exchange));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        AtomicInteger workerIds = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "http-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @Override
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server != null && !stopped) {
+            stopped = true;
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * {@code HttpServer.stop(delay)} closes the listener and returns once the exchanges in
+     * progress complete, but with none in progress it sits out the whole delay, so the delay
+     * is only passed when something is actually in flight.
+     */
+    @Override
+    public synchronized boolean shutdown(long timeoutMillis) {
+        if (server == null || stopped) {
+            return true;
+        }
+        stopped = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        server.stop(inFlight.get() == 0 ? 0 : (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                && inFlight.get() == 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class JdkExchange implements ServerExchange {
+        private final HttpExchange exchange;
+
+        private JdkExchange(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return exchange.getRequestMethod();
+        }
+
+        @Override
+        public String getRequestPath() {
+            return exchange.getRequestURI().getPath();
+        }
+
+        @Override
+        public String getQuery() {
+            return exchange.getRequestURI().getRawQuery();
+        }
+
+        @Override
+        public String getRequestHeader(String name) {
+            return exchange.getRequestHeaders().getFirst(name);
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return exchange.getRemoteAddress();
+        }
+
+        @Override
+        public byte[] readBody() throws IOException {
+            try (InputStream in = exchange.getRequestBody()) {
+                return in.readAllBytes();
+            }
+        }
+
+        @Override
+        public void readBody(ByteSink sink) throws IOException {
+            try (InputStream in = exchange.getRequestBody()) {
+                sink.readFrom(in);
+            }
+        }
+
+        @Override
+        public void setResponseHeader(String name, String value) {
+            exchange.getResponseHeaders().set(name, value);
+        }
+
+        @Override
+        public void sendResponse(int status, byte[] body, int length) throws IOException {
+            exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body, 0, length);
+            }
+        }
+
+        @Override
+        public void sendFile(int status, Path file) throws IOException {
+            exchange.sendResponseHeaders(status, Files.size(file));
+            try (OutputStream os = exchange.getResponseBody()) {
+                Files.copy(file, os);
+            }
+        }
+
+        /** A response length of 0 makes {@code HttpServer} use chunked encoding. */
+        @Override
+        public OutputStream sendChunked(int status) throws IOException {
+            exchange.sendResponseHeaders(status, 0);
+            return exchange.getResponseBody();
+        }
+    }
+}
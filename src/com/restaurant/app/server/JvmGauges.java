@@ -0,0 +1,93 @@
+package com.restaurant.app.server;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Heap, thread and GC gauges under {@code jvm.*}, for spotting leaks and slow degradation in
+ * {@code /api/metrics} over a long run:
+ * <ul>
+ *   <li>{@code jvm.heap.afterGcBytes}: heap in use right after the latest collection, the
+ *       closest thing to the live set that does not need a forced GC</li>
+ *   <li>{@code jvm.threads.live} and {@code jvm.threads.started}, whose rate shows thread churn</li>
+ *   <li>{@code jvm.gc.pauses}, {@code jvm.gc.pauseMillis} (total) and {@code jvm.gc.maxPauseMillis}</li>
+ * </ul>
+ * Collections are counted from GC notifications; the concurrent cycles some collectors report
+ * alongside their pauses do not stop the application and are left out. The launcher installs
+ * these on the first metrics read, keeping the management classes off the startup path, so
+ * the GC gauges count collections from then on.
+ */
+final class JvmGauges {
+    private final Set<String> heapPools = new HashSet<>();
+    private final AtomicLong afterGcBytes = new AtomicLong(-1);
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong pauseMillis = new AtomicLong();
+    private final LongAccumulator maxPauseMillis = new LongAccumulator(Math::max, 0);
+
+    private JvmGauges() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+    }
+
+    static void register(ServerMetrics metrics) {
+        JvmGauges gauges = new JvmGauges();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener((notification, handback) -> {
+                    if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                        gauges.collected(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()));
+                    }
+                }, null, null);
+            }
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        metrics.registerGauge("jvm.heap.usedBytes", () -> memory.getHeapMemoryUsage().getUsed());
+        metrics.registerGauge("jvm.heap.maxBytes", () -> memory.getHeapMemoryUsage().getMax());
+        metrics.registerGauge("jvm.heap.afterGcBytes", () -> {
+            long bytes = gauges.afterGcBytes.get();
+            return bytes >= 0 ? bytes : memory.getHeapMemoryUsage().getUsed();
+        });
+        metrics.registerGauge("jvm.threads.live", threads::getThreadCount);
+        metrics.registerGauge("jvm.threads.started", threads::getTotalStartedThreadCount);
+        metrics.registerGauge("jvm.gc.pauses", gauges.pauses::get);
+        metrics.registerGauge("jvm.gc.pauseMillis", gauges.pauseMillis::get);
+        metrics.registerGauge("jvm.gc.maxPauseMillis", gauges.maxPauseMillis::get);
+    }
+
+    private void collected(GarbageCollectionNotificationInfo info) {
+        GcInfo gc = info.getGcInfo();
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : gc.getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        afterGcBytes.set(used);
+        // ZGC and Shenandoah report "... Cycles" next to "... Pauses", G1 on newer JDKs "G1 Concurrent GC"
+        String name = info.getGcName();
+        if (!name.contains("Cycles") && !name.contains("Concurrent")) {
+            pauses.incrementAndGet();
+            pauseMillis.addAndGet(gc.getDuration());
+            maxPauseMillis.accumulate(gc.getDuration());
+        }
+    }
+}
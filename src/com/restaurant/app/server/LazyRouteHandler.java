@@ -0,0 +1,32 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the wrapped handler on its first request, keeping rarely used routes (metrics,
+ * static files) and the classes behind them off the startup path.
+ */
+final class LazyRouteHandler implements RouteHandler {
+    private final Supplier<? extends RouteHandler> factory;
+    private volatile RouteHandler delegate;
+
+    LazyRouteHandler(Supplier<? extends RouteHandler> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        RouteHandler handler = delegate;
+        if (handler == null) {
+            synchronized (this) {
+                handler = delegate;
+                if (handler == null) {
+                    handler = factory.get();
+                    delegate = handler;
+                }
+            }
+        }
+        handler.handle(exchange);
+    }
+}
@@ -0,0 +1,27 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.util.CompactCodec;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+final class MenuHandler implements RouteHandler {
+    private final Map<String, List<MenuItem>> menu;
+
+    MenuHandler(Map<String, List<MenuItem>> menu) {
+        this.menu = menu;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        HttpResponses.sendNegotiated(exchange, 200,
+            () -> OrderViews.menuPayload(menu),
+            () -> CompactCodec.encodeMenu(menu));
+    }
+}
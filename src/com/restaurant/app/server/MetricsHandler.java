@@ -0,0 +1,21 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.util.Map;
+
+final class MetricsHandler implements RouteHandler {
+    private final ServerMetrics metrics;
+
+    MetricsHandler(ServerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        HttpResponses.sendJson(exchange, 200, Map.of("metrics", metrics.snapshot()));
+    }
+}
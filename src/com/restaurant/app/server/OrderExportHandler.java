@@ -0,0 +1,322 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.audit.OrderAuditLog;
+import com.restaurant.app.audit.OrderState;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.pricing.PriceBreakdown;
+import com.restaurant.app.pricing.PricingPlan;
+import com.restaurant.app.util.ByteSink;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Order export for accounting:
+ * <pre>
+ * GET /api/orders/export[?format=csv|ndjson][&amp;from=2026-01-01][&amp;to=2026-12-31]
+ * </pre>
+ * One row per order with its current status and prices, for the business days between
+ * {@code from} and {@code to} (inclusive, default all) that the audit trail still keeps;
+ * {@code --auditDays} and {@code --auditDayOrders} set how much that is. CSV is the default.
+ * <p>
+ * The audit trail is the only record of past orders, so an export cannot recover what it left
+ * out. When the range reaches back to days it no longer keeps, or a day in it was full and
+ * left orders or changes unaudited, the response carries {@code X-Export-Complete: false}
+ * and ends with a trailer row listing the gaps: a {@code # incomplete export: ...} line in
+ * CSV, an {@code {"incomplete":true,"gaps":[...]}} object in NDJSON. Gaps a day still open
+ * runs into during the export only show in the trailer.
+ * <p>
+ * The body is streamed with chunked encoding. Each day is read from the audit trail a block of
+ * orders at a time, blocks are formatted on a small shared pool, and finished blocks are
+ * written in order with at most a few in flight, so an export holds a fixed number of blocks
+ * however many orders it covers. At most {@code --maxExports=2} run at once; more get 503.
+ */
+final class OrderExportHandler implements RouteHandler {
+    private static final int BLOCK = 256;
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int IN_FLIGHT = THREADS * 2;
+    private static final byte[] CSV_HEADER = "id,placed_at,table,status,items,subtotal,discount,tax,total,notes\r\n"
+        .getBytes(StandardCharsets.US_ASCII);
+
+    private final OrderAuditLog audit;
+    private final PricingPlan pricing;
+    private final Semaphore running;
+
+    OrderExportHandler(OrderAuditLog audit, PricingPlan pricing, int maxConcurrent) {
+        this.audit = audit;
+        this.pricing = pricing;
+        this.running = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        Map<String, String> query = HttpResponses.queryParameters(exchange);
+        String format = query.getOrDefault("format", "csv").toLowerCase(Locale.ROOT);
+        if (!format.equals("csv") && !format.equals("ndjson")) {
+            HttpResponses.sendStatus(exchange, 400, "Unknown format (expected csv or ndjson): " + format);
+            return;
+        }
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = date(query.get("from"), LocalDate.MIN);
+            to = date(query.get("to"), LocalDate.MAX);
+        } catch (DateTimeParseException ex) {
+            HttpResponses.sendStatus(exchange, 400, "Invalid date (expected e.g. 2026-10-19): " + ex.getParsedString());
+            return;
+        }
+        if (from.isAfter(to)) {
+            HttpResponses.sendStatus(exchange, 400, "from must not be after to");
+            return;
+        }
+        if (!running.tryAcquire()) {
+            exchange.setResponseHeader("Retry-After", "5");
+            HttpResponses.sendStatus(exchange, 503, "Too many exports running, retry shortly");
+            return;
+        }
+        try {
+            export(exchange, format.equals("csv"), from, to);
+        } finally {
+            running.release();
+        }
+    }
+
+    private void export(ServerExchange exchange, boolean csv, LocalDate from, LocalDate to) throws IOException {
+        List<LocalDate> days = audit.getDays().stream()
+            .filter(day -> !day.isBefore(from) && !day.isAfter(to))
+            .toList();
+        String name = days.isEmpty() ? "orders" : "orders-" + days.get(0) + "-" + days.get(days.size() - 1);
+        exchange.setResponseHeader("Content-Type", csv ? "text/csv; charset=UTF-8" : "application/x-ndjson");
+        exchange.setResponseHeader("Content-Disposition",
+            "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"");
+        if (!gaps(days, from).isEmpty()) {
+            exchange.setResponseHeader("X-Export-Complete", "false");
+        }
+        OutputStream out = exchange.sendChunked(200);
+        RequestTracer.phase("headers");
+        if (csv) {
+            out.write(CSV_HEADER);
+        }
+        ArrayDeque<Future<ByteSink>> pending = new ArrayDeque<>(IN_FLIGHT);
+        try {
+            for (LocalDate day : days) {
+                for (int start = 0; ; start += BLOCK) {
+                    List<OrderState> block = audit.ordersOn(day, start, BLOCK);
+                    if (block.isEmpty()) {
+                        break;
+                    }
+                    if (pending.size() == IN_FLIGHT) {
+                        writeNext(pending, out);
+                    }
+                    pending.add(Formatters.POOL.submit(() -> format(block, csv)));
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeNext(pending, out);
+            }
+            // checked again at the end: today's day may have filled up while it was read
+            List<String> gaps = gaps(days, from);
+            if (!gaps.isEmpty()) {
+                ByteSink trailer = new ByteSink(128);
+                writeTrailer(trailer, gaps, csv);
+                out.write(trailer.array(), 0, trailer.size());
+            }
+        } finally {
+            pending.forEach(block -> block.cancel(false));
+        }
+        // closed only on success: a failed export must reach the client cut off, not complete
+        out.close();
+    }
+
+    /** What the audit trail left out of {@code days}, and of the range starting at {@code from}. */
+    private List<String> gaps(List<LocalDate> days, LocalDate from) {
+        List<String> gaps = new ArrayList<>();
+        LocalDate droppedThrough = audit.getDroppedThrough();
+        if (droppedThrough != null && !from.isAfter(droppedThrough)) {
+            gaps.add("days through " + droppedThrough + " are no longer kept");
+        }
+        for (LocalDate day : days) {
+            long orders = audit.getDroppedOrders(day);
+            long changes = audit.getDroppedEvents(day);
+            if (orders > 0 || changes > 0) {
+                gaps.add(day + ": " + orders + " orders and " + changes + " changes not audited");
+            }
+        }
+        return gaps;
+    }
+
+    private static void writeTrailer(ByteSink out, List<String> gaps, boolean csv) {
+        if (csv) {
+            writeCsvText(out, "# incomplete export: " + String.join("; ", gaps));
+            out.writeAscii("\r\n");
+            return;
+        }
+        out.writeAscii("{\"incomplete\":true,\"gaps\":[");
+        for (int i = 0; i < gaps.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeJsonString(gaps.get(i));
+        }
+        out.writeAscii("]}\n");
+    }
+
+    private static void writeNext(ArrayDeque<Future<ByteSink>> pending, OutputStream out) throws IOException {
+        ByteSink block;
+        try {
+            block = pending.poll().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException ex) {
+            throw new IOException("Formatting orders failed", ex.getCause());
+        }
+        out.write(block.array(), 0, block.size());
+    }
+
+    private ByteSink format(List<OrderState> orders, boolean csv) {
+        ByteSink out = new ByteSink(orders.size() * 192);
+        for (OrderState state : orders) {
+            Order order = state.toOrder();
+            order.setPricing(pricing);
+            PriceBreakdown price = order.getPrice();
+            if (csv) {
+                writeCsvRow(out, state, price);
+            } else {
+                writeJsonRow(out, state, price);
+            }
+        }
+        return out;
+    }
+
+    private static void writeCsvRow(ByteSink out, OrderState state, PriceBreakdown price) {
+        int items = 0;
+        for (OrderState.Line line : state.lines()) {
+            items += line.quantity();
+        }
+        writeCsvText(out, state.id());
+        out.write(',');
+        writeTimestamp(out, state.createdAt());
+        out.write(',');
+        writeCsvText(out, state.tableNumber());
+        out.write(',').writeAscii(state.status().name());
+        out.write(',').writeLong(items);
+        out.write(',');
+        writeAmount(out, price.subtotalCents());
+        out.write(',');
+        writeAmount(out, price.discountCents());
+        out.write(',');
+        writeAmount(out, price.taxCents());
+        out.write(',');
+        writeAmount(out, price.totalCents());
+        out.write(',');
+        writeCsvText(out, state.notes());
+        out.writeAscii("\r\n");
+    }
+
+    private static void writeJsonRow(ByteSink out, OrderState state, PriceBreakdown price) {
+        out.writeAscii("{\"id\":").writeJsonString(state.id());
+        out.writeAscii(",\"placedAt\":\"");
+        writeTimestamp(out, state.createdAt());
+        out.writeAscii("\",\"table\":").writeJsonString(state.tableNumber());
+        out.writeAscii(",\"status\":\"").writeAscii(state.status().name());
+        out.writeAscii("\",\"notes\":").writeJsonString(state.notes());
+        out.writeAscii(",\"items\":[");
+        List<OrderState.Line> lines = state.lines();
+        for (int i = 0; i < lines.size(); i++) {
+            OrderState.Line line = lines.get(i);
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeAscii("{\"code\":").writeJsonString(line.code());
+            out.writeAscii(",\"name\":").writeJsonString(line.name());
+            out.writeAscii(",\"quantity\":").writeLong(line.quantity());
+            out.writeAscii(",\"price\":").writeCents(line.priceCents());
+            out.write('}');
+        }
+        out.writeAscii("],\"subtotal\":").writeCents(price.subtotalCents());
+        out.writeAscii(",\"discount\":").writeCents(price.discountCents());
+        out.writeAscii(",\"tax\":").writeCents(price.taxCents());
+        out.writeAscii(",\"total\":").writeCents(price.totalCents());
+        out.writeAscii("}\n");
+    }
+
+    /**
+     * Quotes a field when it holds a delimiter, quote or line break. Text a spreadsheet would
+     * read as a formula ({@code =}, {@code +}, {@code -}, {@code @}) is prefixed with {@code '}.
+     */
+    private static void writeCsvText(ByteSink out, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@';
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\r' || ch == '\n';
+        }
+        if (!quote) {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        out.write(value.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8));
+        out.write('"');
+    }
+
+    /** {@code 1620} → {@code 16.20}: fixed two decimals, as spreadsheets and ledgers expect. */
+    private static void writeAmount(ByteSink out, long cents) {
+        if (cents < 0) {
+            out.write('-');
+            cents = -cents;
+        }
+        out.writeLong(cents / 100).write('.').writeTwoDigits((int) (cents % 100));
+    }
+
+    /** ISO-8601 to the second, e.g. {@code 2026-10-19T20:15:03}. */
+    private static void writeTimestamp(ByteSink out, LocalDateTime time) {
+        out.writeLong(time.getYear()).write('-').writeTwoDigits(time.getMonthValue())
+            .write('-').writeTwoDigits(time.getDayOfMonth())
+            .write('T').writeTwoDigits(time.getHour())
+            .write(':').writeTwoDigits(time.getMinute())
+            .write(':').writeTwoDigits(time.getSecond());
+    }
+
+    private static LocalDate date(String value, LocalDate fallback) {
+        return value == null || value.isBlank() ? fallback : LocalDate.parse(value.trim());
+    }
+
+    /** Formatting threads shared by every export, started with the first one. */
+    private static final class Formatters {
+        private static final AtomicInteger IDS = new AtomicInteger();
+        private static final ExecutorService POOL = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "export-format-" + IDS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
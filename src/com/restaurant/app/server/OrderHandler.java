@@ -0,0 +1,193 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.pricing.PricingPlan;
+import com.restaurant.app.service.OrderManager;
+import com.restaurant.app.util.ByteSink;
+import com.restaurant.app.util.CompactCodec;
+import com.restaurant.app.util.JsonUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+final class OrderHandler implements RouteHandler {
+    private static final ThreadLocal<ByteSink> REQUEST_BUFFER = ThreadLocal.withInitial(() -> new ByteSink(2_048));
+    private static final ThreadLocal<ByteSink> RESPONSE_BUFFER = ThreadLocal.withInitial(() -> new ByteSink(2_048));
+    /** Terminals send 50 at a time; anything far beyond that is not a queue being drained. */
+    private static final int MAX_BATCH_ENTRIES = 200;
+
+    private final OrderManager orderManager;
+    private final Map<String, MenuItem> menuIndex;
+    private final boolean acceptWrites;
+    private final PricingPlan pricing;
+    private final IdempotencyCache idempotency = new IdempotencyCache(4_096);
+    private final ThreadLocal<OrderRequestReader> readers;
+
+    OrderHandler(OrderManager orderManager, Map<String, MenuItem> menuIndex, boolean acceptWrites,
+                 PricingPlan pricing) {
+        this.orderManager = orderManager;
+        this.menuIndex = menuIndex;
+        this.acceptWrites = acceptWrites;
+        this.pricing = pricing;
+        OrderRequestReader.CodeTable codes = OrderRequestReader.CodeTable.of(menuIndex);
+        this.readers = ThreadLocal.withInitial(() -> new OrderRequestReader(codes));
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+        switch (method) {
+            case "GET" -> handleList(exchange);
+            case "POST" -> handleCreate(exchange);
+            default -> HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+        }
+    }
+
+    private void handleList(ServerExchange exchange) throws IOException {
+        List<Order> history = orderManager.getHistory();
+        HttpResponses.sendNegotiatedBytes(exchange, 200,
+            () -> OrderViews.orderListJson(history),
+            () -> CompactCodec.encodeOrders(history));
+    }
+
+    private void handleCreate(ServerExchange exchange) throws IOException {
+        if (!acceptWrites) {
+            HttpResponses.sendStatus(exchange, 503, "This server is a read-only replica; send orders to the leader");
+            return;
+        }
+        if (exchange.getRequestPath().endsWith("/batch")) {
+            handleBatch(exchange);
+            return;
+        }
+        // Single-order path: the body is read into a per-thread buffer, parsed without a map
+        // tree and answered from a per-thread buffer, so only the order itself is allocated.
+        ByteSink body = REQUEST_BUFFER.get().reset();
+        exchange.readBody(body);
+        RequestTracer.phase("readBody");
+        Order built;
+        try {
+            // menu codes are resolved while parsing, so this phase includes the lookups
+            built = readers.get().read(body.array(), body.size());
+            built.setPricing(pricing);
+            RequestTracer.phase("parse");
+        } catch (OrderRequestReader.SyntaxException ex) {
+            HttpResponses.sendStatus(exchange, 400, "Invalid JSON: " + ex.getMessage());
+            return;
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendStatus(exchange, 400, ex.getMessage());
+            return;
+        }
+
+        IdempotencyCache.Outcome outcome = place(exchange.getRequestHeader("Idempotency-Key"), built);
+        RequestTracer.phase("addOrder");
+        Order order = outcome.order();
+        int status = outcome.created() ? 201 : 200;
+        if (HttpResponses.acceptsCompact(exchange)) {
+            HttpResponses.sendNegotiatedBytes(exchange, status,
+                () -> OrderViews.orderCreatedJson("Order received", order),
+                () -> CompactCodec.encodeOrderCreated("Order received", order));
+            return;
+        }
+        ByteSink response = RESPONSE_BUFFER.get().reset();
+        OrderViews.writeOrderCreated(response, "Order received", order);
+        exchange.setResponseHeader("Vary", "Accept");
+        HttpResponses.sendJsonBytes(exchange, status, response);
+    }
+
+    /**
+     * Accepts {@code {"orders":[{"key":"...","order":{...}}, ...]}} from terminals draining an
+     * offline queue and reports a per-entry status so valid entries are not held back by bad ones.
+     * At most {@link #MAX_BATCH_ENTRIES} entries are accepted per request.
+     */
+    @SuppressWarnings("unchecked")
+    private void handleBatch(ServerExchange exchange) throws IOException {
+        List<?> entries;
+        try {
+            String text = HttpResponses.readBody(exchange);
+            RequestTracer.phase("readBody");
+            Object orders = JsonUtil.parseObject(text).get("orders");
+            RequestTracer.phase("parse");
+            if (!(orders instanceof List<?>)) {
+                throw new IllegalArgumentException("Batch must include an orders array");
+            }
+            entries = (List<?>) orders;
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendStatus(exchange, 400, "Invalid JSON: " + ex.getMessage());
+            return;
+        }
+        if (entries.size() > MAX_BATCH_ENTRIES) {
+            HttpResponses.sendStatus(exchange, 413, "Batch may hold at most " + MAX_BATCH_ENTRIES + " orders");
+            return;
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>(entries.size());
+        for (Object element : entries) {
+            Map<?, ?> entry = element instanceof Map<?, ?> map ? map : Map.of();
+            String key = entry.get("key") == null ? null : String.valueOf(entry.get("key"));
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("key", key);
+            try {
+                if (!(element instanceof Map<?, ?>)) {
+                    throw new IllegalArgumentException("Batch entries must be objects");
+                }
+                Object order = entry.get("order");
+                if (!(order instanceof Map<?, ?>)) {
+                    throw new IllegalArgumentException("Batch entry is missing its order");
+                }
+                IdempotencyCache.Outcome outcome = place(key, buildOrder((Map<String, Object>) order));
+                result.put("status", outcome.created() ? 201 : 200);
+                result.put("order", OrderViews.orderSummary(outcome.order()));
+            } catch (IllegalArgumentException ex) {
+                result.put("status", 400);
+                result.put("error", ex.getMessage());
+            }
+            results.add(result);
+        }
+        RequestTracer.phase("addOrders");
+        HttpResponses.sendJson(exchange, 200, Map.of("results", results));
+    }
+
+    private IdempotencyCache.Outcome place(String key, Order order) {
+        if (key == null || key.isBlank()) {
+            orderManager.addOrder(order);
+            return new IdempotencyCache.Outcome(order, true);
+        }
+        return idempotency.resolve(key, () -> {
+            orderManager.addOrder(order);
+            return order;
+        });
+    }
+
+    private Order buildOrder(Map<String, Object> payload) {
+        if (!(payload.get("items") instanceof List<?> items) || items.isEmpty()) {
+            throw new IllegalArgumentException("Order must include at least one item");
+        }
+
+        String table = String.valueOf(payload.getOrDefault("table", "TBD"));
+        String notes = String.valueOf(payload.getOrDefault("notes", ""));
+        OrderRequestReader.checkText(table, notes);
+        Order order = new Order();
+        order.setPricing(pricing);
+        order.setTableNumber(table);
+        order.setNotes(notes);
+
+        for (Object element : items) {
+            if (!(element instanceof Map<?, ?> item)) {
+                throw new IllegalArgumentException("Order items must be objects");
+            }
+            String code = String.valueOf(item.get("code"));
+            int quantity = item.get("quantity") instanceof Number qtyNumber ? Math.max(1, qtyNumber.intValue()) : 1;
+            MenuItem menuItem = menuIndex.get(code);
+            if (menuItem == null) {
+                throw new IllegalArgumentException("Unknown menu item code: " + code);
+            }
+            order.addItem(menuItem, quantity);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,81 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.pricing.PriceBreakdown;
+import com.restaurant.app.util.ByteSink;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes order JSON straight into a {@link ByteSink}, skipping the intermediate maps and
+ * strings of {@code JsonUtil}. Produces the same document shape as {@link OrderViews#orderSummary}.
+ */
+final class OrderJsonWriter {
+    /** {@code MMM} rendered once per month so {@code placedAt} can be written without a formatter. */
+    private static final String[] MONTHS = new String[12];
+
+    static {
+        DateTimeFormatter month = DateTimeFormatter.ofPattern("MMM");
+        for (Month value : Month.values()) {
+            MONTHS[value.ordinal()] = month.format(LocalDateTime.of(2000, value, 1, 0, 0));
+        }
+    }
+
+    private OrderJsonWriter() {
+    }
+
+    static void writeSummary(ByteSink out, Order order) {
+        List<OrderItem> items = order.getItems();
+        PriceBreakdown price = order.getPrice();
+
+        out.writeAscii("{\"id\":").writeJsonString(order.getId());
+        out.writeAscii(",\"table\":").writeJsonString(order.getTableNumber());
+        out.writeAscii(",\"notes\":").writeJsonString(order.getNotes());
+        out.writeAscii(",\"subtotal\":").writeCents(price.subtotalCents());
+        out.writeAscii(",\"discount\":").writeCents(price.discountCents());
+        out.writeAscii(",\"tax\":").writeCents(price.taxCents());
+        out.writeAscii(",\"total\":").writeCents(price.totalCents());
+        out.writeAscii(",\"placedAt\":\"");
+        writePlacedAt(out, order.getCreatedAt());
+        out.writeAscii("\",\"items\":[");
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeAscii("{\"name\":").writeJsonString(item.getMenuItem().getName());
+            out.writeAscii(",\"quantity\":").writeLong(item.getQuantity());
+            out.writeAscii(",\"lineTotal\":").writeCents(cents(item.getLineTotal()));
+            out.write('}');
+        }
+        out.writeAscii("]}");
+    }
+
+    /** {@code {"message":...,"order":{...}}} reusing the order's cached fragment when present. */
+    static void writeCreated(ByteSink out, String message, Order order) {
+        out.writeAscii("{\"message\":").writeJsonString(message).writeAscii(",\"order\":");
+        byte[] cached = order.getRenderedSummary();
+        if (cached != null) {
+            out.write(cached);
+        } else {
+            writeSummary(out, order);
+        }
+        out.write('}');
+    }
+
+    // Same pattern as OrderViews.ORDER_TIME: "MMM dd HH:mm".
+    private static void writePlacedAt(ByteSink out, LocalDateTime time) {
+        out.writeJsonStringBody(MONTHS[time.getMonthValue() - 1]);
+        out.write(' ').writeTwoDigits(time.getDayOfMonth());
+        out.write(' ').writeTwoDigits(time.getHour());
+        out.write(':').writeTwoDigits(time.getMinute());
+    }
+
+    private static long cents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
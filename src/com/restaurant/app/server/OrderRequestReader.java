@@ -0,0 +1,522 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Reads an order-creation body straight from UTF-8 bytes into an {@link Order}. Unlike
+ * {@code JsonUtil.parseObject} it builds no map tree and no strings for menu codes: codes
+ * are matched against the menu as raw bytes, so the only objects a valid request allocates
+ * are the order itself and its table and notes strings.
+ *
+ * <p>Instances keep scratch state and are meant to be held one per thread. Validation
+ * follows {@code OrderHandler.buildOrder}: syntax errors surface as {@link SyntaxException},
+ * rule violations as plain {@link IllegalArgumentException} with the same messages.
+ */
+final class OrderRequestReader {
+    private static final String NO_ITEMS = "Order must include at least one item";
+    static final int MAX_TABLE_LENGTH = 32;
+    static final int MAX_NOTES_LENGTH = 1_000;
+
+    static final class SyntaxException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        SyntaxException(String message) {
+            super(message);
+        }
+    }
+
+    /** Open-addressed table of menu items keyed by the UTF-8 bytes of their codes. */
+    static final class CodeTable {
+        private static final Map<Map<String, MenuItem>, CodeTable> SHARED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+        private final byte[][] keys;
+        private final MenuItem[] values;
+        private final int mask;
+
+        CodeTable(Map<String, MenuItem> menuIndex) {
+            int capacity = Integer.highestOneBit(Math.max(4, menuIndex.size() * 2 - 1)) << 1;
+            keys = new byte[capacity][];
+            values = new MenuItem[capacity];
+            mask = capacity - 1;
+            menuIndex.forEach((code, item) -> {
+                byte[] key = code.getBytes(StandardCharsets.UTF_8);
+                int slot = hash(key, 0, key.length) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = item;
+            });
+        }
+
+        /** One table per distinct index, so locations serving the same menu share it. */
+        static CodeTable of(Map<String, MenuItem> menuIndex) {
+            return SHARED.computeIfAbsent(menuIndex, CodeTable::new);
+        }
+
+        MenuItem get(byte[] data, int offset, int length) {
+            int slot = hash(data, offset, length) & mask;
+            byte[] key;
+            while ((key = keys[slot]) != null) {
+                if (Arrays.equals(key, 0, key.length, data, offset, offset + length)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int hash(byte[] data, int offset, int length) {
+            int hash = 0x811C9DC5;
+            for (int i = offset; i < offset + length; i++) {
+                hash = (hash ^ data[i]) * 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private final CodeTable codes;
+    private MenuItem[] lineItems = new MenuItem[16];
+    private int[] lineQuantities = new int[16];
+    private int lineCount;
+    private int itemElements;
+
+    private byte[] data;
+    private int position;
+    private int end;
+    // Bounds of the most recently scanned string token, quotes excluded.
+    private int tokenStart;
+    private int tokenLength;
+    private boolean tokenEscaped;
+
+    OrderRequestReader(CodeTable codes) {
+        this.codes = codes;
+    }
+
+    Order read(byte[] body, int length) {
+        data = body;
+        position = 0;
+        end = length;
+        lineCount = 0;
+        itemElements = 0;
+        String table = "TBD";
+        String notes = "";
+        boolean itemsIsArray = false;
+        String itemError = null;
+        try {
+            skipWhitespace();
+            if (position >= end || data[position] != '{') {
+                throw new SyntaxException("JSON payload is not an object");
+            }
+            position++;
+            skipWhitespace();
+            if (!consume('}')) {
+                do {
+                    skipWhitespace();
+                    scanString();
+                    boolean isTable = tokenIs("table");
+                    boolean isNotes = tokenIs("notes");
+                    boolean isItems = tokenIs("items");
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    if (isTable) {
+                        table = readScalar();
+                    } else if (isNotes) {
+                        notes = readScalar();
+                    } else if (isItems) {
+                        lineCount = 0;
+                        itemElements = 0;
+                        itemsIsArray = peek() == '[';
+                        itemError = itemsIsArray ? readItems() : null;
+                        if (!itemsIsArray) {
+                            skipValue();
+                        }
+                    } else {
+                        skipValue();
+                    }
+                    skipWhitespace();
+                } while (consume(','));
+                expect('}');
+            }
+            skipWhitespace();
+            if (position != end) {
+                throw new SyntaxException("Unexpected trailing data in JSON payload");
+            }
+        } finally {
+            data = null;
+        }
+
+        if (!itemsIsArray || itemElements == 0) {
+            throw new IllegalArgumentException(NO_ITEMS);
+        }
+        if (itemError != null) {
+            throw new IllegalArgumentException(itemError);
+        }
+        checkText(table, notes);
+        Order order = new Order();
+        order.setTableNumber(table);
+        order.setNotes(notes);
+        for (int i = 0; i < lineCount; i++) {
+            order.addItem(lineItems[i], lineQuantities[i]);
+            lineItems[i] = null;
+        }
+        return order;
+    }
+
+    /** Bounds the free-text fields, which are stored, audited and replicated with every order. */
+    static void checkText(String table, String notes) {
+        if (table.length() > MAX_TABLE_LENGTH) {
+            throw new IllegalArgumentException("Table must be at most " + MAX_TABLE_LENGTH + " characters");
+        }
+        if (notes.length() > MAX_NOTES_LENGTH) {
+            throw new IllegalArgumentException("Notes must be at most " + MAX_NOTES_LENGTH + " characters");
+        }
+    }
+
+    /** Reads the items array, returning the first validation error in element order, if any. */
+    private String readItems() {
+        expect('[');
+        skipWhitespace();
+        if (consume(']')) {
+            return null;
+        }
+        String error = null;
+        do {
+            skipWhitespace();
+            itemElements++;
+            if (peek() == '{') {
+                String itemError = readItem();
+                error = error == null ? itemError : error;
+            } else {
+                skipValue();
+                error = error == null ? "Order items must be objects" : error;
+            }
+            skipWhitespace();
+        } while (consume(','));
+        expect(']');
+        return error;
+    }
+
+    private String readItem() {
+        expect('{');
+        skipWhitespace();
+        MenuItem menuItem = null;
+        String unknownCode = "null";
+        int quantity = 1;
+        if (!consume('}')) {
+            do {
+                skipWhitespace();
+                scanString();
+                boolean isCode = tokenIs("code");
+                boolean isQuantity = tokenIs("quantity");
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (isCode) {
+                    menuItem = null;
+                    unknownCode = null;
+                    if (peek() == '"') {
+                        scanString();
+                        menuItem = tokenEscaped ? lookup(decodeToken()) : codes.get(data, tokenStart, tokenLength);
+                        if (menuItem == null) {
+                            unknownCode = decodeToken();
+                        }
+                    } else {
+                        unknownCode = readScalar();
+                        menuItem = lookup(unknownCode);
+                    }
+                } else if (isQuantity) {
+                    quantity = peekIsNumberStart() ? Math.max(1, readQuantity()) : skipToOne();
+                } else {
+                    skipValue();
+                }
+                skipWhitespace();
+            } while (consume(','));
+            expect('}');
+        }
+        if (menuItem == null) {
+            return "Unknown menu item code: " + unknownCode;
+        }
+        addLine(menuItem, quantity);
+        return null;
+    }
+
+    private MenuItem lookup(String code) {
+        byte[] bytes = code.getBytes(StandardCharsets.UTF_8);
+        return codes.get(bytes, 0, bytes.length);
+    }
+
+    private void addLine(MenuItem menuItem, int quantity) {
+        if (lineCount == lineItems.length) {
+            lineItems = Arrays.copyOf(lineItems, lineCount * 2);
+            lineQuantities = Arrays.copyOf(lineQuantities, lineCount * 2);
+        }
+        lineItems[lineCount] = menuItem;
+        lineQuantities[lineCount] = quantity;
+        lineCount++;
+    }
+
+    private int skipToOne() {
+        skipValue();
+        return 1;
+    }
+
+    /** {@code Number.intValue()} semantics: integers parse directly, decimals truncate. */
+    private int readQuantity() {
+        int start = position;
+        scanNumber();
+        boolean integral = true;
+        for (int i = start; i < position; i++) {
+            byte b = data[i];
+            if (b == '.' || b == 'e' || b == 'E') {
+                integral = false;
+                break;
+            }
+        }
+        int digits = position - start - (data[start] == '-' ? 1 : 0);
+        if (integral && digits > 0 && digits <= 9) {
+            int value = 0;
+            for (int i = data[start] == '-' ? start + 1 : start; i < position; i++) {
+                value = value * 10 + (data[i] - '0');
+            }
+            return data[start] == '-' ? -value : value;
+        }
+        String number = new String(data, start, position - start, StandardCharsets.US_ASCII);
+        try {
+            return integral ? (int) Long.parseLong(number) : (int) Double.parseDouble(number);
+        } catch (NumberFormatException ex) {
+            throw new SyntaxException("Invalid number: " + number);
+        }
+    }
+
+    /**
+     * Reads any value as the string {@code String.valueOf} would have produced from the
+     * parsed tree: strings as-is, literals and integers as written, decimals via Double.
+     */
+    private String readScalar() {
+        int start = position;
+        switch (peek()) {
+            case '"' -> {
+                scanString();
+                return decodeToken();
+            }
+            case '{', '[' -> {
+                skipValue();
+                return new String(data, start, position - start, StandardCharsets.UTF_8);
+            }
+            default -> {
+                skipValue();
+                String text = new String(data, start, position - start, StandardCharsets.US_ASCII);
+                boolean decimal = text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0;
+                return peekIsNumberStart(start) && decimal ? String.valueOf(Double.parseDouble(text)) : text;
+            }
+        }
+    }
+
+    private void skipValue() {
+        switch (peek()) {
+            case '"' -> scanString();
+            case '{' -> {
+                position++;
+                skipWhitespace();
+                if (consume('}')) {
+                    return;
+                }
+                do {
+                    skipWhitespace();
+                    scanString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    skipValue();
+                    skipWhitespace();
+                } while (consume(','));
+                expect('}');
+            }
+            case '[' -> {
+                position++;
+                skipWhitespace();
+                if (consume(']')) {
+                    return;
+                }
+                do {
+                    skipWhitespace();
+                    skipValue();
+                    skipWhitespace();
+                } while (consume(','));
+                expect(']');
+            }
+            case 't' -> literal("true");
+            case 'f' -> literal("false");
+            case 'n' -> literal("null");
+            default -> {
+                if (!peekIsNumberStart()) {
+                    throw new SyntaxException("Unexpected character '" + (char) peek() + "'");
+                }
+                scanNumber();
+            }
+        }
+    }
+
+    private void scanNumber() {
+        int start = position;
+        if (position < end && data[position] == '-') {
+            position++;
+        }
+        while (position < end) {
+            byte b = data[position];
+            if ((b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+                position++;
+            } else {
+                break;
+            }
+        }
+        if (position == start || (position == start + 1 && data[start] == '-')) {
+            throw new SyntaxException("Invalid number");
+        }
+    }
+
+    private void literal(String expected) {
+        int length = expected.length();
+        if (end - position < length) {
+            throw new SyntaxException("Unexpected end of JSON input");
+        }
+        for (int i = 0; i < length; i++) {
+            if (data[position + i] != expected.charAt(i)) {
+                throw new SyntaxException("Invalid literal");
+            }
+        }
+        position += length;
+    }
+
+    /** Scans a string token, recording its raw bounds without decoding it. */
+    private void scanString() {
+        expect('"');
+        tokenStart = position;
+        tokenEscaped = false;
+        while (position < end) {
+            byte b = data[position];
+            if (b == '"') {
+                tokenLength = position - tokenStart;
+                position++;
+                return;
+            }
+            if (b == '\\') {
+                tokenEscaped = true;
+                position++;
+            }
+            position++;
+        }
+        throw new SyntaxException("Unterminated string");
+    }
+
+    private boolean tokenIs(String ascii) {
+        if (tokenEscaped || tokenLength != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < tokenLength; i++) {
+            if (data[tokenStart + i] != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decodeToken() {
+        if (!tokenEscaped) {
+            return new String(data, tokenStart, tokenLength, StandardCharsets.UTF_8);
+        }
+        StringBuilder sb = new StringBuilder(tokenLength);
+        int runStart = tokenStart;
+        int limit = tokenStart + tokenLength;
+        int i = tokenStart;
+        while (i < limit) {
+            if (data[i] != '\\') {
+                i++;
+                continue;
+            }
+            sb.append(new String(data, runStart, i - runStart, StandardCharsets.UTF_8));
+            if (i + 1 >= limit) {
+                throw new SyntaxException("Invalid escape sequence");
+            }
+            byte escape = data[i + 1];
+            i += 2;
+            switch (escape) {
+                case '"' -> sb.append('"');
+                case '\\' -> sb.append('\\');
+                case '/' -> sb.append('/');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 > limit) {
+                        throw new SyntaxException("Incomplete unicode escape");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(new String(data, i, 4, StandardCharsets.US_ASCII), 16));
+                    } catch (NumberFormatException ex) {
+                        throw new SyntaxException("Invalid unicode escape");
+                    }
+                    i += 4;
+                }
+                default -> throw new SyntaxException("Unknown escape: \\" + (char) escape);
+            }
+            runStart = i;
+        }
+        sb.append(new String(data, runStart, limit - runStart, StandardCharsets.UTF_8));
+        return sb.toString();
+    }
+
+    private void skipWhitespace() {
+        while (position < end) {
+            byte b = data[position];
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private int peek() {
+        if (position >= end) {
+            throw new SyntaxException("Unexpected end of JSON input");
+        }
+        return data[position];
+    }
+
+    private boolean peekIsNumberStart() {
+        return peekIsNumberStart(position);
+    }
+
+    private boolean peekIsNumberStart(int at) {
+        return at < end && (data[at] == '-' || (data[at] >= '0' && data[at] <= '9'));
+    }
+
+    private boolean consume(char expected) {
+        if (position < end && data[position] == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (position >= end || data[position] != expected) {
+            String found = position >= end ? "EOF" : String.valueOf((char) data[position]);
+            throw new SyntaxException("Expected '" + expected + "' but found '" + found + "'");
+        }
+        position++;
+    }
+}
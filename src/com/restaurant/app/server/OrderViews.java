@@ -0,0 +1,144 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.pricing.PriceBreakdown;
+import com.restaurant.app.util.ByteSink;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON view models for the menu and order endpoints.
+ */
+public final class OrderViews {
+    private static final DateTimeFormatter ORDER_TIME = DateTimeFormatter.ofPattern("MMM dd HH:mm");
+    private static final byte[] ORDERS_PREFIX = "{\"orders\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LIST_SUFFIX = "]}".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<ByteSink> SCRATCH = ThreadLocal.withInitial(() -> new ByteSink(1_024));
+
+    private OrderViews() {
+    }
+
+    public static Map<String, Object> menuPayload(Map<String, List<MenuItem>> menu) {
+        Map<String, Object> payload = new HashMap<>();
+        List<Map<String, Object>> categories = new ArrayList<>();
+        menu.forEach((category, items) -> {
+            Map<String, Object> node = new HashMap<>();
+            node.put("category", category);
+            List<Map<String, Object>> itemNodes = new ArrayList<>();
+            for (MenuItem item : items) {
+                Map<String, Object> info = new HashMap<>();
+                info.put("code", item.getCode());
+                info.put("name", item.getName());
+                info.put("description", item.getDescription());
+                info.put("price", item.getPrice());
+                itemNodes.add(info);
+            }
+            node.put("items", itemNodes);
+            categories.add(node);
+        });
+        payload.put("categories", categories);
+        return payload;
+    }
+
+    public static Map<String, Object> orderSummary(Order order) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            items.add(Map.of(
+                "name", item.getMenuItem().getName(),
+                "quantity", item.getQuantity(),
+                "lineTotal", item.getLineTotal()
+            ));
+        }
+        PriceBreakdown price = order.getPrice();
+        return Map.of(
+            "id", order.getId(),
+            "table", order.getTableNumber(),
+            "notes", order.getNotes(),
+            "subtotal", price.subtotalCents() / 100.0,
+            "discount", price.discountCents() / 100.0,
+            "tax", price.taxCents() / 100.0,
+            "total", price.totalCents() / 100.0,
+            "placedAt", ORDER_TIME.format(order.getCreatedAt()),
+            "items", items
+        );
+    }
+
+    /**
+     * Serialized summary for one order. Terminal orders are rendered once and the bytes
+     * cached on the order; others are rendered on every call. The cache is tagged with the
+     * version read before rendering, so a change racing the render cannot leave it stale.
+     */
+    public static byte[] orderSummaryJson(Order order) {
+        byte[] cached = order.getRenderedSummary();
+        if (cached != null) {
+            return cached;
+        }
+        int version = order.getSummaryVersion();
+        boolean terminal = order.getStatus().isTerminal();
+        ByteSink sink = SCRATCH.get().reset();
+        OrderJsonWriter.writeSummary(sink, order);
+        byte[] rendered = sink.toByteArray();
+        if (terminal) {
+            order.setRenderedSummary(version, rendered);
+        }
+        return rendered;
+    }
+
+    /** {@code {"orders":[...]}} assembled by concatenating per-order fragments. */
+    public static byte[] orderListJson(List<Order> orders) {
+        byte[][] fragments = new byte[orders.size()][];
+        int size = ORDERS_PREFIX.length + LIST_SUFFIX.length + Math.max(0, orders.size() - 1);
+        for (int i = 0; i < fragments.length; i++) {
+            fragments[i] = orderSummaryJson(orders.get(i));
+            size += fragments[i].length;
+        }
+        byte[] out = new byte[size];
+        int position = append(out, 0, ORDERS_PREFIX);
+        for (int i = 0; i < fragments.length; i++) {
+            if (i > 0) {
+                out[position++] = ',';
+            }
+            position = append(out, position, fragments[i]);
+        }
+        append(out, position, LIST_SUFFIX);
+        return out;
+    }
+
+    public static byte[] orderCreatedJson(String message, Order order) {
+        ByteSink sink = new ByteSink(512);
+        writeOrderCreated(sink, message, order);
+        return sink.toByteArray();
+    }
+
+    /**
+     * Writes the creation response into {@code sink}, rendering and caching the order's
+     * summary fragment first when it is already terminal. {@code sink} must not be this
+     * class's own scratch buffer.
+     */
+    public static void writeOrderCreated(ByteSink sink, String message, Order order) {
+        if (order.getStatus().isTerminal()) {
+            orderSummaryJson(order);
+        }
+        OrderJsonWriter.writeCreated(sink, message, order);
+    }
+
+    private static int append(byte[] target, int position, byte[] source) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+
+    public static List<Map<String, Object>> orderSummaries(List<Order> orders) {
+        List<Map<String, Object>> summaries = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            summaries.add(orderSummary(order));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,70 @@
+package com.restaurant.app.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed token-bucket limiter. Each bucket is a single {@link AtomicLong} holding its
+ * "theoretical arrival time" (the GCRA form of a token bucket), so acquiring is one
+ * CAS with no locks or allocation. Buckets idle for longer than the configured timeout
+ * are full by definition and are evicted opportunistically.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long idleNanos;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public RateLimiter(double permitsPerSecond, int burst, long idleTimeout, TimeUnit unit) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.idleNanos = unit.toNanos(idleTimeout);
+        this.nextSweep.set(System.nanoTime() + idleNanos);
+    }
+
+    /**
+     * Takes one permit for the key.
+     *
+     * @return 0 when the permit was granted, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        sweep(now);
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(now);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + idleNanos)) {
+            return;
+        }
+        long cutoff = now - idleNanos;
+        buckets.values().removeIf(bucket -> bucket.get() - cutoff < 0);
+    }
+}
@@ -0,0 +1,238 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.util.ByteSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-phase timings for every request the router dispatches. Each request is timed into a
+ * per-thread scratch trace (a few {@code nanoTime} reads, no allocation); one in
+ * {@code sampleEvery} of them, and every request slower than the slow threshold, is then kept
+ * in a ring of recent traces served at {@code /api/debug/traces}. Slow requests are also
+ * committed as {@link SlowRequestEvent}s, so a Flight Recorder recording shows them next to
+ * the GC pauses and lock waits that may explain them.
+ * <p>
+ * Handlers mark where a phase ends with {@link #phase(String)}; the time from the last mark to
+ * the response is recorded as {@code render} and the response write itself as {@code send}.
+ * Ring slots hold immutable records claimed with one {@code getAndIncrement}, so writers never
+ * wait for each other or for readers; the oldest record is simply overwritten.
+ */
+public final class RequestTracer {
+    private static final int MAX_PHASES = 16;
+    private static final ThreadLocal<ActiveTrace> ACTIVE = new ThreadLocal<>();
+
+    private final int sampleEvery;
+    private final long slowNanos;
+    private final AtomicReferenceArray<Trace> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ServerMetrics metrics;
+
+    /**
+     * @param sampleEvery keep one in this many requests that are not slow
+     * @param capacity    traces retained, rounded up to a power of two
+     */
+    public RequestTracer(int sampleEvery, long slowMillis, int capacity, ServerMetrics metrics) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.metrics = metrics;
+        metrics.registerGauge("trace.kept", sequence::get);
+    }
+
+    /** Ends the current phase of the request running on this thread, if it is being traced. */
+    public static void phase(String name) {
+        ActiveTrace trace = ACTIVE.get();
+        if (trace != null && trace.delegate != null) {
+            trace.mark(name);
+        }
+    }
+
+    void trace(ServerExchange exchange, RouteHandler next) throws IOException {
+        ActiveTrace trace = ACTIVE.get();
+        if (trace == null) {
+            trace = new ActiveTrace();
+            ACTIVE.set(trace);
+        } else if (trace.delegate != null) {
+            next.handle(exchange);
+            return;
+        }
+        trace.begin(exchange);
+        boolean failed = true;
+        try {
+            next.handle(trace);
+            failed = false;
+        } finally {
+            long end = System.nanoTime();
+            try {
+                finish(trace, end, failed);
+            } finally {
+                trace.delegate = null;
+            }
+        }
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public long getSlowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowNanos);
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    /** Retained traces, newest first. */
+    public List<Trace> recent() {
+        List<Trace> traces = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            Trace trace = ring.get(i);
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        traces.sort(Comparator.comparingLong(Trace::sequence).reversed());
+        return traces;
+    }
+
+    private void finish(ActiveTrace trace, long end, boolean failed) {
+        long elapsed = end - trace.start;
+        boolean slow = elapsed >= slowNanos;
+        if (!slow && ++trace.unsampled < sampleEvery) {
+            return;
+        }
+        trace.unsampled = 0;
+        List<Phase> phases = new ArrayList<>(trace.count + 1);
+        long previous = trace.start;
+        for (int i = 0; i < trace.count; i++) {
+            phases.add(new Phase(trace.names[i], trace.ends[i] - previous));
+            previous = trace.ends[i];
+        }
+        if (trace.status != 0) {
+            // the write is timed by the request's end rather than by one more clock read
+            phases.add(new Phase("send", end - previous));
+        }
+        int status = trace.status == 0 && failed ? 500 : trace.status;
+        long id = sequence.getAndIncrement();
+        Trace kept = new Trace(id, System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(elapsed),
+            trace.delegate.getRequestMethod(), trace.delegate.getRequestPath(), status, elapsed, slow,
+            List.copyOf(phases));
+        ring.set((int) (id & mask), kept);
+        if (slow) {
+            metrics.increment("trace.slow");
+            SlowRequestEvent.emit(kept);
+        }
+    }
+
+    /** One kept request. Phase durations are in nanoseconds and add up to at most {@code elapsedNanos}. */
+    public record Trace(long sequence, long startedAtMillis, String method, String path, int status,
+                        long elapsedNanos, boolean slow, List<Phase> phases) {
+    }
+
+    public record Phase(String name, long nanos) {
+    }
+
+    /**
+     * The request running on one thread. It doubles as the exchange handed to the route, which
+     * is how the response phases and status are observed without a wrapper per request.
+     */
+    private static final class ActiveTrace implements ServerExchange {
+        private final String[] names = new String[MAX_PHASES];
+        private final long[] ends = new long[MAX_PHASES];
+        private ServerExchange delegate;
+        private long start;
+        private int count;
+        private int status;
+        private int unsampled;
+
+        void begin(ServerExchange exchange) {
+            delegate = exchange;
+            count = 0;
+            status = 0;
+            start = System.nanoTime();
+        }
+
+        /** One clock read per phase: at roughly 25-50 ns each these are most of the tracing cost. */
+        void mark(String name) {
+            if (count < MAX_PHASES) {
+                names[count] = name;
+                ends[count++] = System.nanoTime();
+            }
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return delegate.getRequestMethod();
+        }
+
+        @Override
+        public String getRequestPath() {
+            return delegate.getRequestPath();
+        }
+
+        @Override
+        public String getQuery() {
+            return delegate.getQuery();
+        }
+
+        @Override
+        public String getRequestHeader(String name) {
+            return delegate.getRequestHeader(name);
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return delegate.getRemoteAddress();
+        }
+
+        @Override
+        public byte[] readBody() throws IOException {
+            return delegate.readBody();
+        }
+
+        @Override
+        public void readBody(ByteSink sink) throws IOException {
+            delegate.readBody(sink);
+        }
+
+        @Override
+        public void setResponseHeader(String name, String value) {
+            delegate.setResponseHeader(name, value);
+        }
+
+        @Override
+        public void sendResponse(int status, byte[] body, int length) throws IOException {
+            this.status = status;
+            mark("render");
+            delegate.sendResponse(status, body, length);
+        }
+
+        @Override
+        public void sendFile(int status, Path file) throws IOException {
+            this.status = status;
+            mark("render");
+            delegate.sendFile(status, file);
+        }
+
+        /** The {@code send} phase of a streamed response covers producing and writing its whole body. */
+        @Override
+        public OutputStream sendChunked(int status) throws IOException {
+            this.status = status;
+            mark("render");
+            return delegate.sendChunked(status);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.model.Reservation;
+import com.restaurant.app.model.WaitlistEntry;
+import com.restaurant.app.service.ReservationManager;
+import com.restaurant.app.util.JsonUtil;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reservations and the walk-in waitlist:
+ * <pre>
+ * GET    /api/reservations?date=2026-10-19
+ * GET    /api/reservations/availability?date=..&amp;time=19:30&amp;party=4[&amp;minutes=120]
+ * POST   /api/reservations            {"name","party","date","time"[,"minutes"]}
+ * DELETE /api/reservations/{id}
+ * GET    /api/reservations/waitlist
+ * POST   /api/reservations/waitlist   {"name","party"}
+ * POST   /api/reservations/waitlist/{id}/seat
+ * DELETE /api/reservations/waitlist/{id}
+ * </pre>
+ * A booking that cannot be placed answers 409 with nearby times that can.
+ */
+final class ReservationHandler implements RouteHandler {
+    private static final String BASE = "/api/reservations";
+    private static final int SUGGESTIONS = 4;
+
+    private final ReservationManager reservations;
+
+    ReservationHandler(ReservationManager reservations) {
+        this.reservations = reservations;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+        String path = exchange.getRequestPath();
+        String rest = path.length() > BASE.length() ? path.substring(BASE.length() + 1) : "";
+        try {
+            if (rest.isEmpty()) {
+                switch (method) {
+                    case "GET" -> handleList(exchange);
+                    case "POST" -> handleBook(exchange);
+                    default -> HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+                }
+            } else if (rest.equals("availability")) {
+                if (allow(exchange, method, "GET")) {
+                    handleAvailability(exchange);
+                }
+            } else if (rest.equals("waitlist")) {
+                switch (method) {
+                    case "GET" -> handleWaitlist(exchange);
+                    case "POST" -> handleJoinWaitlist(exchange);
+                    default -> HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+                }
+            } else if (rest.startsWith("waitlist/") && rest.endsWith("/seat")) {
+                if (allow(exchange, method, "POST")) {
+                    handleSeat(exchange, rest.substring("waitlist/".length(), rest.length() - "/seat".length()));
+                }
+            } else if (rest.startsWith("waitlist/")) {
+                String id = rest.substring("waitlist/".length());
+                if (allow(exchange, method, "DELETE")) {
+                    sendRemoved(exchange, reservations.leaveWaitlist(id), "Waitlist entry " + id);
+                }
+            } else {
+                if (allow(exchange, method, "DELETE")) {
+                    sendRemoved(exchange, reservations.cancel(rest), "Reservation " + rest);
+                }
+            }
+        } catch (DateTimeParseException ex) {
+            HttpResponses.sendStatus(exchange, 400, "Invalid date or time: " + ex.getParsedString());
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendStatus(exchange, 400, ex.getMessage());
+        }
+    }
+
+    private void handleList(ServerExchange exchange) throws IOException {
+        LocalDate date = date(HttpResponses.queryParameters(exchange).get("date"));
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Reservation reservation : reservations.reservationsOn(date)) {
+            list.add(reservationView(reservation));
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("date", date.toString());
+        payload.put("reservations", list);
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+
+    private void handleAvailability(ServerExchange exchange) throws IOException {
+        Map<String, String> query = HttpResponses.queryParameters(exchange);
+        int party = intValue(query.get("party"), "party");
+        LocalDateTime start = date(query.get("date")).atTime(time(query.get("time")));
+        Duration length = length(query.get("minutes"), party);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("start", start.toString());
+        payload.put("party", party);
+        payload.put("minutes", length.toMinutes());
+        Optional<String> table = reservations.findTable(start, length, party).map(t -> t.getId());
+        payload.put("available", table.isPresent());
+        payload.put("table", table.orElse(null));
+        if (table.isEmpty()) {
+            payload.put("suggestions", suggestions(start, length, party));
+        }
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+
+    private void handleBook(ServerExchange exchange) throws IOException {
+        Map<String, Object> body = body(exchange);
+        int party = intValue(body.get("party"), "party");
+        LocalDateTime start = date(stringValue(body.get("date"))).atTime(time(stringValue(body.get("time"))));
+        Duration length = length(stringValue(body.get("minutes")), party);
+        Optional<Reservation> booked = reservations.book(stringValue(body.get("name")), party, start, length);
+        if (booked.isPresent()) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("message", "Reservation confirmed");
+            payload.put("reservation", reservationView(booked.get()));
+            HttpResponses.sendJson(exchange, 201, payload);
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("message", "No table for " + party + " at " + start.toLocalTime());
+        payload.put("suggestions", suggestions(start, length, party));
+        HttpResponses.sendJson(exchange, 409, payload);
+    }
+
+    private void handleWaitlist(ServerExchange exchange) throws IOException {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (ReservationManager.WaitlistQuote quote : reservations.waitlistQuotes()) {
+            list.add(waitlistView(quote.entry(), quote.waitMinutes()));
+        }
+        HttpResponses.sendJson(exchange, 200, Map.of("waitlist", list));
+    }
+
+    private void handleJoinWaitlist(ServerExchange exchange) throws IOException {
+        Map<String, Object> body = body(exchange);
+        WaitlistEntry entry = reservations.joinWaitlist(stringValue(body.get("name")),
+            intValue(body.get("party"), "party"));
+        HttpResponses.sendJson(exchange, 201, waitlistView(entry, entry.getQuotedMinutes()));
+    }
+
+    private void handleSeat(ServerExchange exchange, String id) throws IOException {
+        Optional<Reservation> seated = reservations.seatFromWaitlist(id);
+        if (seated.isEmpty()) {
+            HttpResponses.sendStatus(exchange, 409, "No table is free for waitlist entry " + id + " yet");
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("message", "Party seated");
+        payload.put("reservation", reservationView(seated.get()));
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+
+    private static void sendRemoved(ServerExchange exchange, boolean removed, String what) throws IOException {
+        if (removed) {
+            HttpResponses.sendStatus(exchange, 200, what + " removed");
+        } else {
+            HttpResponses.sendStatus(exchange, 404, what + " not found");
+        }
+    }
+
+    private List<String> suggestions(LocalDateTime start, Duration length, int party) {
+        List<String> times = new ArrayList<>();
+        for (LocalDateTime time : reservations.suggestTimes(start, length, party, SUGGESTIONS)) {
+            times.add(time.toLocalTime().toString());
+        }
+        return times;
+    }
+
+    private static Map<String, Object> reservationView(Reservation reservation) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", reservation.getId());
+        view.put("name", reservation.getGuestName());
+        view.put("party", reservation.getPartySize());
+        view.put("table", reservation.getTable().getId());
+        view.put("start", reservation.getStart().toString());
+        view.put("end", reservation.getEnd().toString());
+        return view;
+    }
+
+    private static Map<String, Object> waitlistView(WaitlistEntry entry, long waitMinutes) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", entry.getId());
+        view.put("name", entry.getGuestName());
+        view.put("party", entry.getPartySize());
+        view.put("addedAt", entry.getAddedAt().withNano(0).toString());
+        view.put("waitMinutes", waitMinutes);
+        return view;
+    }
+
+    private static Map<String, Object> body(ServerExchange exchange) throws IOException {
+        try {
+            return JsonUtil.parseObject(HttpResponses.readBody(exchange));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid JSON: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static boolean allow(ServerExchange exchange, String method, String expected) throws IOException {
+        if (expected.equals(method)) {
+            return true;
+        }
+        HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+        return false;
+    }
+
+    private static LocalDate date(String value) {
+        return value == null || value.isBlank() ? LocalDate.now() : LocalDate.parse(value.trim());
+    }
+
+    private static LocalTime time(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("A time is required, e.g. 19:30");
+        }
+        return LocalTime.parse(value.trim());
+    }
+
+    private static Duration length(String minutes, int party) {
+        return minutes == null || minutes.isBlank()
+            ? ReservationManager.defaultDuration(party)
+            : Duration.ofMinutes(intValue(minutes, "minutes"));
+    }
+
+    private static int intValue(Object value, String name) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(String.valueOf(value).trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Expected a whole number for " + name);
+        }
+    }
+
+    private static String stringValue(Object value) {
+        if (value instanceof Number number) {
+            return String.valueOf(number.intValue());
+        }
+        return value == null ? null : String.valueOf(value);
+    }
+}
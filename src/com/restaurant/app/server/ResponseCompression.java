@@ -0,0 +1,265 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.util.ByteSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Negotiated gzip/deflate for buffered API responses at or above a size threshold, and for
+ * every streamed one. Deflaters come from a pool; gzip framing is written by hand so the
+ * pooled raw deflater can be used instead of the one {@code GZIPOutputStream} allocates.
+ */
+public final class ResponseCompression {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final int threshold;
+    private final DeflaterPool gzipPool;
+    private final DeflaterPool deflatePool;
+    private final ServerMetrics metrics;
+
+    public ResponseCompression(ServerConfig config, ServerMetrics metrics) {
+        this.threshold = config.getInt("compressionThreshold", 1_024);
+        int level = config.getInt("compressionLevel", Deflater.DEFAULT_COMPRESSION);
+        int pooled = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        this.gzipPool = new DeflaterPool(level, true, pooled);
+        this.deflatePool = new DeflaterPool(level, false, pooled);
+        this.metrics = metrics;
+    }
+
+    public RouteHandler wrap(RouteHandler handler) {
+        return exchange -> {
+            String encoding = negotiate(exchange.getRequestHeader("Accept-Encoding"));
+            handler.handle(encoding == null ? exchange : new CompressingExchange(exchange, encoding));
+        };
+    }
+
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String token : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?")) {
+                continue;
+            }
+            if ("gzip".equals(parts[0].trim())) {
+                return "gzip";
+            }
+            deflate |= "deflate".equals(parts[0].trim());
+        }
+        return deflate ? "deflate" : null;
+    }
+
+    private byte[] compress(byte[] body, int length, String encoding) {
+        long startCpu = CpuClock.now();
+        boolean gzip = "gzip".equals(encoding);
+        DeflaterPool pool = gzip ? gzipPool : deflatePool;
+        Deflater deflater = pool.acquire();
+        byte[] out;
+        try {
+            int headerLength = gzip ? GZIP_HEADER.length : 0;
+            out = new byte[headerLength + length / 2 + 64];
+            if (gzip) {
+                System.arraycopy(GZIP_HEADER, 0, out, 0, headerLength);
+            }
+            int size = headerLength;
+            deflater.setInput(body, 0, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (size == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                size += deflater.deflate(out, size, out.length - size);
+            }
+            if (gzip) {
+                CRC32 crc = new CRC32();
+                crc.update(body, 0, length);
+                out = Arrays.copyOf(out, size + 8);
+                writeIntLE(out, size, (int) crc.getValue());
+                writeIntLE(out, size + 4, length);
+            } else {
+                out = Arrays.copyOf(out, size);
+            }
+        } finally {
+            pool.release(deflater);
+        }
+        long endCpu = CpuClock.now();
+        metrics.increment("compression.responses." + encoding);
+        metrics.add("compression.bytesIn", length);
+        metrics.add("compression.bytesOut", out.length);
+        metrics.add("compression.cpuNanos", endCpu - startCpu);
+        return out;
+    }
+
+    private static void writeIntLE(byte[] target, int offset, int value) {
+        target[offset] = (byte) value;
+        target[offset + 1] = (byte) (value >>> 8);
+        target[offset + 2] = (byte) (value >>> 16);
+        target[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Thread CPU clock, resolved on the first compressed response rather than at startup:
+     * loading the management classes costs tens of milliseconds on a cold JVM.
+     */
+    private static final class CpuClock {
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+        private static final boolean SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+
+        static long now() {
+            return SUPPORTED ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+        }
+    }
+
+    private final class CompressingExchange implements ServerExchange {
+        private final ServerExchange delegate;
+        private final String encoding;
+        private String vary;
+
+        private CompressingExchange(ServerExchange delegate, String encoding) {
+            this.delegate = delegate;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return delegate.getRequestMethod();
+        }
+
+        @Override
+        public String getRequestPath() {
+            return delegate.getRequestPath();
+        }
+
+        @Override
+        public String getQuery() {
+            return delegate.getQuery();
+        }
+
+        @Override
+        public String getRequestHeader(String name) {
+            return delegate.getRequestHeader(name);
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return delegate.getRemoteAddress();
+        }
+
+        @Override
+        public byte[] readBody() throws IOException {
+            return delegate.readBody();
+        }
+
+        @Override
+        public void readBody(ByteSink sink) throws IOException {
+            delegate.readBody(sink);
+        }
+
+        @Override
+        public void setResponseHeader(String name, String value) {
+            if ("Vary".equalsIgnoreCase(name)) {
+                vary = value;
+            }
+            delegate.setResponseHeader(name, value);
+        }
+
+        @Override
+        public void sendResponse(int status, byte[] body, int length) throws IOException {
+            delegate.setResponseHeader("Vary", vary == null ? "Accept-Encoding" : vary + ", Accept-Encoding");
+            if (length < threshold) {
+                metrics.increment("compression.skipped");
+                delegate.sendResponse(status, body, length);
+                return;
+            }
+            byte[] compressed = compress(body, length, encoding);
+            delegate.setResponseHeader("Content-Encoding", encoding);
+            delegate.sendResponse(status, compressed);
+        }
+
+        @Override
+        public void sendFile(int status, Path file) throws IOException {
+            delegate.sendFile(status, file);
+        }
+
+        /** Streamed bodies are compressed regardless of the threshold: their size is not known. */
+        @Override
+        public OutputStream sendChunked(int status) throws IOException {
+            delegate.setResponseHeader("Vary", vary == null ? "Accept-Encoding" : vary + ", Accept-Encoding");
+            delegate.setResponseHeader("Content-Encoding", encoding);
+            return new CompressingStream(delegate.sendChunked(status), encoding);
+        }
+    }
+
+    /** Compresses a streamed body as it is written, with a pooled deflater and the same gzip framing. */
+    private final class CompressingStream extends DeflaterOutputStream {
+        private final DeflaterPool pool;
+        private final String encoding;
+        private final CRC32 crc;
+        private long cpuNanos;
+        private boolean closed;
+
+        private CompressingStream(OutputStream out, String encoding) throws IOException {
+            this(out, encoding, "gzip".equals(encoding) ? gzipPool : deflatePool);
+        }
+
+        private CompressingStream(OutputStream out, String encoding, DeflaterPool pool) throws IOException {
+            super(out, pool.acquire(), 8_192);
+            this.pool = pool;
+            this.encoding = encoding;
+            this.crc = "gzip".equals(encoding) ? new CRC32() : null;
+            if (crc != null) {
+                out.write(GZIP_HEADER);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            long start = CpuClock.now();
+            if (crc != null) {
+                crc.update(bytes, offset, length);
+            }
+            super.write(bytes, offset, length);
+            cpuNanos += CpuClock.now() - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                long start = CpuClock.now();
+                finish();
+                long bytesOut = def.getBytesWritten();
+                if (crc != null) {
+                    byte[] trailer = new byte[8];
+                    writeIntLE(trailer, 0, (int) crc.getValue());
+                    writeIntLE(trailer, 4, (int) def.getBytesRead());
+                    out.write(trailer);
+                    bytesOut += GZIP_HEADER.length + trailer.length;
+                }
+                metrics.increment("compression.responses." + encoding);
+                metrics.add("compression.bytesIn", def.getBytesRead());
+                metrics.add("compression.bytesOut", bytesOut);
+                metrics.add("compression.cpuNanos", cpuNanos + CpuClock.now() - start);
+                out.close();
+            } finally {
+                pool.release(def);
+            }
+        }
+    }
+}
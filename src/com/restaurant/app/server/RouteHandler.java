@@ -0,0 +1,9 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface RouteHandler {
+
+    void handle(ServerExchange exchange) throws IOException;
+}
@@ -0,0 +1,51 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Prefix-based dispatcher mirroring {@code HttpServer#createContext} semantics:
+ * the longest registered prefix that matches the request path wins.
+ */
+public final class Router {
+
+    private final List<Route> routes = new ArrayList<>();
+    private final RouteHandler untraced = this::route;
+    private RequestTracer tracer;
+
+    public Router register(String prefix, RouteHandler handler) {
+        routes.add(new Route(prefix, handler));
+        routes.sort(Comparator.comparingInt((Route route) -> route.prefix.length()).reversed());
+        return this;
+    }
+
+    /** Times every dispatched request through {@code tracer}. */
+    public Router traced(RequestTracer tracer) {
+        this.tracer = tracer;
+        return this;
+    }
+
+    public void dispatch(ServerExchange exchange) throws IOException {
+        if (tracer == null) {
+            route(exchange);
+        } else {
+            tracer.trace(exchange, untraced);
+        }
+    }
+
+    private void route(ServerExchange exchange) throws IOException {
+        String path = exchange.getRequestPath();
+        for (Route route : routes) {
+            if (path.startsWith(route.prefix)) {
+                route.handler.handle(exchange);
+                return;
+            }
+        }
+        HttpResponses.sendStatus(exchange, 404, "Endpoint not found");
+    }
+
+    private record Route(String prefix, RouteHandler handler) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.restaurant.app.server;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Launch-time server settings. Values come from {@code -Drestaurant.<key>=value}
+ * system properties and may be overridden by {@code --<key>=value} arguments.
+ */
+public final class ServerConfig {
+
+    private final Map<String, String> values;
+
+    private ServerConfig(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static ServerConfig load(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+            .filter(key -> key.startsWith("restaurant."))
+            .forEach(key -> values.put(key.substring("restaurant.".length()), System.getProperty(key)));
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return new ServerConfig(values);
+    }
+
+    public static ServerConfig defaults() {
+        return new ServerConfig(new HashMap<>());
+    }
+
+    public ServerConfig with(String key, String value) {
+        Map<String, String> copy = new HashMap<>(values);
+        copy.put(key, value);
+        return new ServerConfig(copy);
+    }
+
+    public int getPort() {
+        return getInt("port", 8080);
+    }
+
+    /** {@code jdk} for {@code com.sun.net.httpserver}, {@code nio} for the selector-based front end. */
+    public String getTransport() {
+        return getString("transport", "jdk").toLowerCase(Locale.ROOT);
+    }
+
+    /** {@code standalone}, {@code leader} or {@code follower}. */
+    public String getRole() {
+        return getString("role", "standalone").toLowerCase(Locale.ROOT);
+    }
+
+    public int getBacklog() {
+        return getInt("backlog", 256);
+    }
+
+    public int getWorkers() {
+        return getInt("workers", Math.max(2, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    public int getMaxConnections() {
+        return getInt("maxConnections", 1024);
+    }
+
+    public int getBufferSize() {
+        return getInt("bufferSize", 16 * 1024);
+    }
+
+    public Path getWebRoot() {
+        return Path.of(getString("webRoot", "web"));
+    }
+
+    public String getString(String key, String fallback) {
+        String value = values.get(key);
+        return value == null || value.isBlank() ? fallback : value.trim();
+    }
+
+    public int getInt(String key, int fallback) {
+        String value = values.get(key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            System.err.println("Ignoring invalid value for " + key + ": " + value);
+            return fallback;
+        }
+    }
+
+    public long getLong(String key, long fallback) {
+        String value = values.get(key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            System.err.println("Ignoring invalid value for " + key + ": " + value);
+            return fallback;
+        }
+    }
+
+    public double getDouble(String key, double fallback) {
+        String value = values.get(key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            System.err.println("Ignoring invalid value for " + key + ": " + value);
+            return fallback;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean fallback) {
+        String value = values.get(key);
+        return value == null || value.isBlank() ? fallback : Boolean.parseBoolean(value.trim());
+    }
+}
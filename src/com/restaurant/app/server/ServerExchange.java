@@ -0,0 +1,60 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.util.ByteSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+/**
+ * Transport-neutral view of a single HTTP request/response pair so route
+ * handlers can run unchanged on either the JDK server or the NIO front end.
+ */
+public interface ServerExchange {
+
+    String getRequestMethod();
+
+    /** Decoded request path without the query string. */
+    String getRequestPath();
+
+    /** Raw query string, or {@code null} when the URI has none. */
+    String getQuery();
+
+    /** First value of the given request header, or {@code null}. */
+    String getRequestHeader(String name);
+
+    InetSocketAddress getRemoteAddress();
+
+    byte[] readBody() throws IOException;
+
+    /** Appends the request body to {@code sink}, letting hot paths reuse one buffer per thread. */
+    default void readBody(ByteSink sink) throws IOException {
+        sink.write(readBody());
+    }
+
+    void setResponseHeader(String name, String value);
+
+    /** Sends a complete response. May only be called once per exchange. */
+    default void sendResponse(int status, byte[] body) throws IOException {
+        sendResponse(status, body, body.length);
+    }
+
+    /**
+     * Sends the first {@code length} bytes of {@code body} as a complete response. The array
+     * is not retained, so callers may reuse it once this returns.
+     */
+    void sendResponse(int status, byte[] body, int length) throws IOException;
+
+    /** Streams a file as the response body; the content type must already be set. */
+    void sendFile(int status, Path file) throws IOException;
+
+    /**
+     * Starts a response whose length is not known up front and returns the stream its body
+     * is written to. The body goes out with chunked transfer encoding as it is written, and
+     * writes block while the client is slow to read, so memory stays bounded. Closing the
+     * stream ends the response; a handler that fails before closing it leaves the connection
+     * to be dropped, so the client sees a truncated response rather than a complete one.
+     */
+    OutputStream sendChunked(int status) throws IOException;
+}
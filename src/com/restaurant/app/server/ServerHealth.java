@@ -0,0 +1,67 @@
+package com.restaurant.app.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named checks behind {@code /health} and {@code /ready}. The process is healthy while it can
+ * answer at all, so {@code /health} only reports the checks; it is ready while every check
+ * passes and it is not draining, which lets a rolling restart take it out of the load
+ * balancer before it stops accepting connections.
+ */
+public final class ServerHealth {
+
+    private final Map<String, Check> checks = new ConcurrentSkipListMap<>();
+    private final long startedAtMillis = System.currentTimeMillis();
+    private volatile boolean draining;
+
+    public void register(String name, Check check) {
+        checks.put(name, check);
+    }
+
+    /** Fails readiness from now on; there is no way back short of a restart. */
+    public void startDraining() {
+        draining = true;
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /** Runs every check; a check that throws counts as failing. */
+    public Report check() {
+        Map<String, Status> results = new LinkedHashMap<>();
+        boolean ok = true;
+        for (Map.Entry<String, Check> entry : checks.entrySet()) {
+            Status status;
+            try {
+                status = entry.getValue().check();
+            } catch (RuntimeException ex) {
+                status = Status.failing(ex.toString());
+            }
+            results.put(entry.getKey(), status);
+            ok &= status.ok();
+        }
+        return new Report(ok && !draining, draining, System.currentTimeMillis() - startedAtMillis, results);
+    }
+
+    @FunctionalInterface
+    public interface Check {
+        Status check();
+    }
+
+    public record Status(boolean ok, String detail) {
+
+        public static Status ok(String detail) {
+            return new Status(true, detail);
+        }
+
+        public static Status failing(String detail) {
+            return new Status(false, detail);
+        }
+    }
+
+    public record Report(boolean ready, boolean draining, long uptimeMillis, Map<String, Status> checks) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.restaurant.app.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide counters and gauges, rendered as a flat sorted map at {@code /api/metrics}.
+ */
+public final class ServerMetrics {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private List<Consumer<ServerMetrics>> deferred = new ArrayList<>();
+
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    public void add(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    public long get(String name) {
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public void registerGauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Runs {@code installer} just before the first snapshot, for gauges whose setup loads
+     * classes that would otherwise slow down startup. Call sites should pass a lambda rather
+     * than a method reference, which would resolve the target class right away.
+     */
+    public synchronized void registerGaugesOnFirstRead(Consumer<ServerMetrics> installer) {
+        if (deferred == null) {
+            installer.accept(this);
+        } else {
+            deferred.add(installer);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        installDeferred();
+        Map<String, Object> snapshot = new TreeMap<>();
+        counters.forEach((name, adder) -> snapshot.put(name, adder.sum()));
+        gauges.forEach((name, supplier) -> snapshot.put(name, supplier.getAsLong()));
+        return snapshot;
+    }
+
+    private synchronized void installDeferred() {
+        if (deferred != null) {
+            List<Consumer<ServerMetrics>> installers = deferred;
+            deferred = null;
+            installers.forEach(installer -> installer.accept(this));
+        }
+    }
+}
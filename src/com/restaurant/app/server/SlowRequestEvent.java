@@ -0,0 +1,61 @@
+package com.restaurant.app.server;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.Locale;
+
+/**
+ * Flight Recorder event for a request over the tracer's slow threshold. Enabled by default
+ * in any recording, e.g. {@code -XX:StartFlightRecording=filename=server.jfr}; the event is
+ * committed after the response, so its own duration is zero and {@code elapsed} carries the
+ * request time.
+ */
+@Name("com.restaurant.SlowRequest")
+@Label("Slow Request")
+@Category({"Restaurant", "HTTP"})
+@Description("HTTP request slower than the configured trace threshold, with its per-phase timings")
+@StackTrace(false)
+final class SlowRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Phases")
+    @Description("Phase durations in milliseconds, in the order they ran")
+    String phases;
+
+    static void emit(RequestTracer.Trace trace) {
+        SlowRequestEvent event = new SlowRequestEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        StringBuilder phases = new StringBuilder();
+        for (RequestTracer.Phase phase : trace.phases()) {
+            if (!phases.isEmpty()) {
+                phases.append(", ");
+            }
+            phases.append(phase.name()).append(' ').append(String.format(Locale.ROOT, "%.3f", phase.nanos() / 1e6));
+        }
+        event.method = trace.method();
+        event.path = trace.path();
+        event.status = trace.status();
+        event.elapsed = trace.elapsedNanos();
+        event.phases = phases.toString();
+        event.commit();
+    }
+}
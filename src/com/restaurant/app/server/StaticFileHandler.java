@@ -0,0 +1,68 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+final class StaticFileHandler implements RouteHandler {
+    private final Path webRoot;
+
+    StaticFileHandler(Path webRoot) {
+        this.webRoot = webRoot.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        String path = exchange.getRequestPath();
+        if (path.startsWith("/api/")) {
+            HttpResponses.sendStatus(exchange, 404, "Endpoint not found");
+            return;
+        }
+
+        Path resolved = resolvePath(path);
+        if (resolved == null || Files.isDirectory(resolved) || !Files.exists(resolved)) {
+            resolved = webRoot.resolve("index.html");
+        }
+
+        if (!Files.exists(resolved)) {
+            HttpResponses.sendStatus(exchange, 404, "File not found");
+            return;
+        }
+
+        exchange.setResponseHeader("Content-Type", detectMimeType(resolved));
+        exchange.sendFile(200, resolved);
+    }
+
+    private Path resolvePath(String uriPath) {
+        String cleaned = uriPath.replaceFirst("^/", "").replace("/", java.io.File.separator);
+        if (cleaned.isBlank()) {
+            cleaned = "index.html";
+        }
+        Path candidate = webRoot.resolve(cleaned).normalize();
+        return candidate.startsWith(webRoot) ? candidate : null;
+    }
+
+    private String detectMimeType(Path path) {
+        String file = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (file.endsWith(".html")) {
+            return "text/html; charset=UTF-8";
+        }
+        if (file.endsWith(".css")) {
+            return "text/css; charset=UTF-8";
+        }
+        if (file.endsWith(".js")) {
+            return "application/javascript; charset=UTF-8";
+        }
+        if (file.endsWith(".json")) {
+            return "application/json; charset=UTF-8";
+        }
+        if (file.endsWith(".png")) {
+            return "image/png";
+        }
+        if (file.endsWith(".jpg") || file.endsWith(".jpeg")) {
+            return "image/jpeg";
+        }
+        return "application/octet-stream";
+    }
+}
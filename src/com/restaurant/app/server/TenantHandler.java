@@ -0,0 +1,45 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.service.OrderManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** {@code GET /api/tenants} lists the hosted locations and which of them have served a request. */
+final class TenantHandler implements RouteHandler {
+    private final TenantRegistry tenants;
+
+    TenantHandler(TenantRegistry tenants) {
+        this.tenants = tenants;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        List<Map<String, Object>> views = new ArrayList<>();
+        for (TenantRegistry.Tenant tenant : tenants.getTenants()) {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("id", tenant.getId());
+            view.put("hosts", tenant.getHosts());
+            view.put("menuItems", tenant.getMenu().index().size());
+            OrderManager orderManager = tenant.getOrderManager();
+            view.put("active", orderManager != null);
+            if (orderManager != null) {
+                view.put("auditEvents", orderManager.getAudit().getEventCount());
+            }
+            views.add(view);
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("active", tenants.getActiveCount());
+        payload.put("distinctMenus", tenants.getCatalog().getMenuCount());
+        payload.put("distinctItems", tenants.getCatalog().getItemCount());
+        payload.put("tenants", views);
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+}
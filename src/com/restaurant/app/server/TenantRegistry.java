@@ -0,0 +1,337 @@
+package com.restaurant.app.server;
+
+import com.restaurant.app.data.MenuCatalog;
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.events.OrderEvent;
+import com.restaurant.app.events.OrderEventBus;
+import com.restaurant.app.events.OrderEventPump;
+import com.restaurant.app.forecast.DemandForecaster;
+import com.restaurant.app.pricing.PricingPlan;
+import com.restaurant.app.service.OrderManager;
+import com.restaurant.app.util.ByteSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Restaurant locations served by one process, listed one per line in the {@code --tenants}
+ * file:
+ * <pre>
+ * # id        settings
+ * downtown    host=downtown.example.com menu=menus/downtown.menu pricingRules=pricing.rules jurisdiction=downtown
+ * airport     host=airport.example.com,terminal-b.example.com routeRps=200 tables=2x6,4x4
+ * </pre>
+ * A request goes to the location whose {@code host} matches its {@code Host} header, else to
+ * the one named by a {@code /t/<id>/} path prefix, which is stripped before routing. Every
+ * other setting overrides the server's own for that location, so each has its own menu,
+ * pricing, rate limits and floor plan; {@code menu} names a file read by
+ * {@link MenuData#parse}, and locations without one serve the built-in menu.
+ * <p>
+ * Menus and pricing plans are loaded at startup so a bad file fails fast, and are shared
+ * through a {@link MenuCatalog} between locations serving the same ones. The stateful part of
+ * a location (order store, event ring, audit trail, rate limiters) is only built by its first
+ * request, and is sized for a single restaurant: 2 store shards and a 256-slot event ring
+ * unless {@code shards} or {@code eventRing} say otherwise. Metrics and demand forecasts
+ * follow each location's event ring off the request path, like the single-restaurant server,
+ * but on one {@link OrderEventPump} thread shared by every location, so a location owns no
+ * threads of its own.
+ */
+public final class TenantRegistry {
+    private static final String PREFIX = "/t/";
+    private static final int LOCATION_EVENT_RING = 256;
+
+    private final Map<String, Tenant> byId = new LinkedHashMap<>();
+    private final Map<String, Tenant> byHost = new HashMap<>();
+    private final MenuCatalog catalog = new MenuCatalog();
+    private final OrderEventPump eventPump = new OrderEventPump("locations");
+
+    private TenantRegistry() {
+    }
+
+    /** @param processHealth fails every location's readiness once the process drains */
+    public static TenantRegistry load(ServerConfig config, List<String> lines, ServerHealth processHealth)
+        throws IOException {
+        TenantRegistry registry = new TenantRegistry();
+        Map<String, MenuCatalog.Shared> menus = new HashMap<>();
+        Map<List<Object>, PricingPlan> plans = new HashMap<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\\s+");
+            String id = fields[0];
+            if (registry.byId.containsKey(id) || id.contains("/")) {
+                throw new IllegalArgumentException("Duplicate or invalid tenant id: " + id);
+            }
+            ServerConfig tenantConfig = config.with("traceSample", "0");
+            List<String> hosts = List.of();
+            for (int i = 1; i < fields.length; i++) {
+                int eq = fields[i].indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Tenant " + id + " setting must be key=value, got: " + fields[i]);
+                }
+                String key = fields[i].substring(0, eq);
+                String value = fields[i].substring(eq + 1);
+                if (key.equals("host")) {
+                    hosts = Arrays.asList(value.toLowerCase(Locale.ROOT).split(","));
+                } else {
+                    tenantConfig = tenantConfig.with(key, value);
+                }
+            }
+            String menuFile = tenantConfig.getString("menu", "");
+            MenuCatalog.Shared menu = menus.get(menuFile);
+            if (menu == null) {
+                menu = registry.catalog.share(menuFile.isEmpty() ? MenuData.loadMenu()
+                    : MenuData.parse(Files.readAllLines(Path.of(menuFile))));
+                menus.put(menuFile, menu);
+            }
+            List<Object> planKey = Arrays.asList(tenantConfig.getString("pricingRules", null),
+                tenantConfig.getString("jurisdiction", null), menu);
+            PricingPlan pricing = plans.get(planKey);
+            if (pricing == null) {
+                pricing = WebServerLauncher.loadPricing(tenantConfig, menu.menu());
+                plans.put(planKey, pricing);
+            }
+
+            Tenant tenant = new Tenant(id, hosts, tenantConfig, menu, pricing, processHealth, registry.eventPump);
+            registry.byId.put(id, tenant);
+            for (String host : hosts) {
+                if (registry.byHost.putIfAbsent(host, tenant) != null) {
+                    throw new IllegalArgumentException("Host " + host + " is claimed by two tenants");
+                }
+            }
+        }
+        if (registry.byId.isEmpty()) {
+            throw new IllegalArgumentException("The tenants file lists no tenants");
+        }
+        return registry;
+    }
+
+    /**
+     * Routes requests for a known location to it, and the rest (process health, metrics and
+     * the tenant list) to {@code fallback}.
+     */
+    public RouteHandler routing(RouteHandler fallback) {
+        return exchange -> {
+            Tenant tenant = byHost.isEmpty() ? null : byHost.get(hostName(exchange.getRequestHeader("Host")));
+            if (tenant != null) {
+                tenant.live().router().dispatch(exchange);
+                return;
+            }
+            String path = exchange.getRequestPath();
+            if (!path.startsWith(PREFIX)) {
+                fallback.handle(exchange);
+                return;
+            }
+            int slash = path.indexOf('/', PREFIX.length());
+            String id = slash < 0 ? path.substring(PREFIX.length()) : path.substring(PREFIX.length(), slash);
+            tenant = byId.get(id);
+            if (tenant == null) {
+                HttpResponses.sendStatus(exchange, 404, "Unknown tenant: " + id);
+                return;
+            }
+            tenant.live().router().dispatch(new PrefixedExchange(exchange, slash < 0 ? "/" : path.substring(slash)));
+        };
+    }
+
+    public Collection<Tenant> getTenants() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    public int getActiveCount() {
+        int active = 0;
+        for (Tenant tenant : byId.values()) {
+            active += tenant.isActive() ? 1 : 0;
+        }
+        return active;
+    }
+
+    public MenuCatalog getCatalog() {
+        return catalog;
+    }
+
+    /** Lets the shared event thread handle what active locations have published, then closes their rings. */
+    public void close() {
+        eventPump.close();
+        for (Tenant tenant : byId.values()) {
+            Live live = tenant.live;
+            if (live != null) {
+                live.orderManager().getEvents().close();
+            }
+        }
+    }
+
+    private static String hostName(String header) {
+        if (header == null) {
+            return null;
+        }
+        int end = header.startsWith("[") ? header.indexOf(']') + 1 : header.indexOf(':');
+        return (end <= 0 ? header : header.substring(0, end)).toLowerCase(Locale.ROOT);
+    }
+
+    /** One location; {@link #live()} builds its routes and stores on first use. */
+    public static final class Tenant {
+        private final String id;
+        private final List<String> hosts;
+        private final ServerConfig config;
+        private final MenuCatalog.Shared menu;
+        private final PricingPlan pricing;
+        private final ServerHealth processHealth;
+        private final OrderEventPump eventPump;
+        private volatile Live live;
+
+        private Tenant(String id, List<String> hosts, ServerConfig config, MenuCatalog.Shared menu,
+                       PricingPlan pricing, ServerHealth processHealth, OrderEventPump eventPump) {
+            this.id = id;
+            this.hosts = hosts;
+            this.config = config;
+            this.menu = menu;
+            this.pricing = pricing;
+            this.processHealth = processHealth;
+            this.eventPump = eventPump;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public List<String> getHosts() {
+            return hosts;
+        }
+
+        public MenuCatalog.Shared getMenu() {
+            return menu;
+        }
+
+        public boolean isActive() {
+            return live != null;
+        }
+
+        /** The location's orders, or {@code null} before its first request. */
+        public OrderManager getOrderManager() {
+            Live current = live;
+            return current == null ? null : current.orderManager();
+        }
+
+        Live live() {
+            Live current = live;
+            if (current == null) {
+                synchronized (this) {
+                    current = live;
+                    if (current == null) {
+                        current = start();
+                        live = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        private Live start() {
+            OrderManager orderManager = new OrderManager(WebServerLauncher.orderOptions(config,
+                OrderManager.Options.defaults().withShardCount(2).withEventCapacity(LOCATION_EVENT_RING)));
+            ServerMetrics metrics = new ServerMetrics();
+            WebServerLauncher.registerAuditGauges(metrics, orderManager.getAudit());
+            DemandForecaster forecaster = new DemandForecaster();
+            OrderEventBus events = orderManager.getEvents();
+            WebServerLauncher.registerEventGauges(metrics, events, eventPump.subscribe(events, "location", 64,
+                (event, endOfBatch) -> {
+                    if (event.getType() == OrderEvent.Type.CREATED) {
+                        metrics.increment("orders.created");
+                        forecaster.record(event.getOrder());
+                    } else {
+                        metrics.increment("orders.statusChanged");
+                    }
+                }));
+            metrics.registerGauge("forecast.hoursObserved", forecaster::getHoursObserved);
+            ServerHealth health = new ServerHealth();
+            WebServerLauncher.registerChecks(health, orderManager);
+            health.register("process", () -> processHealth.isDraining()
+                ? ServerHealth.Status.failing("draining for shutdown") : ServerHealth.Status.ok("serving"));
+            Router router = WebServerLauncher.createRouter(config, menu, orderManager, metrics, health, pricing,
+                forecaster);
+            return new Live(router, orderManager);
+        }
+    }
+
+    record Live(Router router, OrderManager orderManager) {
+    }
+
+    /** A request under {@code /t/<id>}, seen by the location's routes without the prefix. */
+    private static final class PrefixedExchange implements ServerExchange {
+        private final ServerExchange delegate;
+        private final String path;
+
+        PrefixedExchange(ServerExchange delegate, String path) {
+            this.delegate = delegate;
+            this.path = path;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return delegate.getRequestMethod();
+        }
+
+        @Override
+        public String getRequestPath() {
+            return path;
+        }
+
+        @Override
+        public String getQuery() {
+            return delegate.getQuery();
+        }
+
+        @Override
+        public String getRequestHeader(String name) {
+            return delegate.getRequestHeader(name);
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return delegate.getRemoteAddress();
+        }
+
+        @Override
+        public byte[] readBody() throws IOException {
+            return delegate.readBody();
+        }
+
+        @Override
+        public void readBody(ByteSink sink) throws IOException {
+            delegate.readBody(sink);
+        }
+
+        @Override
+        public void setResponseHeader(String name, String value) {
+            delegate.setResponseHeader(name, value);
+        }
+
+        @Override
+        public void sendResponse(int status, byte[] body, int length) throws IOException {
+            delegate.sendResponse(status, body, length);
+        }
+
+        @Override
+        public void sendFile(int status, Path file) throws IOException {
+            delegate.sendFile(status, file);
+        }
+
+        @Override
+        public OutputStream sendChunked(int status) throws IOException {
+            return delegate.sendChunked(status);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.restaurant.app.server;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recent request traces, newest first:
+ * <pre>
+ * GET /api/debug/traces[?slow=true][&amp;path=/api/orders][&amp;limit=100]
+ * </pre>
+ * Durations are in microseconds.
+ */
+final class TraceHandler implements RouteHandler {
+    private final RequestTracer tracer;
+
+    TraceHandler(RequestTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void handle(ServerExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendStatus(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        Map<String, String> query = HttpResponses.queryParameters(exchange);
+        boolean slowOnly = Boolean.parseBoolean(query.get("slow"));
+        String pathPrefix = query.getOrDefault("path", "");
+        int limit;
+        try {
+            limit = query.containsKey("limit") ? Math.max(0, Integer.parseInt(query.get("limit"))) : 100;
+        } catch (NumberFormatException ex) {
+            HttpResponses.sendStatus(exchange, 400, "Invalid limit: " + query.get("limit"));
+            return;
+        }
+
+        List<Map<String, Object>> traces = new ArrayList<>();
+        for (RequestTracer.Trace trace : tracer.recent()) {
+            if (traces.size() == limit) {
+                break;
+            }
+            if ((slowOnly && !trace.slow()) || !trace.path().startsWith(pathPrefix)) {
+                continue;
+            }
+            traces.add(traceView(trace));
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sampleEvery", tracer.getSampleEvery());
+        payload.put("slowMillis", tracer.getSlowMillis());
+        payload.put("capacity", tracer.getCapacity());
+        payload.put("traces", traces);
+        HttpResponses.sendJson(exchange, 200, payload);
+    }
+
+    private static Map<String, Object> traceView(RequestTracer.Trace trace) {
+        List<Map<String, Object>> phases = new ArrayList<>(trace.phases().size());
+        for (RequestTracer.Phase phase : trace.phases()) {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("name", phase.name());
+            view.put("micros", phase.nanos() / 1_000);
+            phases.add(view);
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", trace.sequence());
+        view.put("startedAt", LocalDateTime.ofInstant(Instant.ofEpochMilli(trace.startedAtMillis()),
+            ZoneId.systemDefault()).truncatedTo(ChronoUnit.MILLIS).toString());
+        view.put("method", trace.method());
+        view.put("path", trace.path());
+        view.put("status", trace.status());
+        view.put("micros", trace.elapsedNanos() / 1_000);
+        view.put("slow", trace.slow());
+        view.put("phases", phases);
+        return view;
+    }
+}
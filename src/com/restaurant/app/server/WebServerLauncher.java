@@ -1,275 +1,439 @@
 package com.restaurant.app.server;
 
+import com.restaurant.app.audit.OrderAuditLog;
+import com.restaurant.app.data.MenuCatalog;
 import com.restaurant.app.data.MenuData;
+import com.restaurant.app.data.TableData;
+import com.restaurant.app.events.OrderEvent;
+import com.restaurant.app.events.OrderEventBus;
+import com.restaurant.app.events.OrderEventHandler;
+import com.restaurant.app.forecast.DemandForecaster;
 import com.restaurant.app.model.MenuItem;
 import com.restaurant.app.model.Order;
-import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.pricing.PricingPlan;
+import com.restaurant.app.pricing.PricingRule;
+import com.restaurant.app.printing.PrinterStation;
+import com.restaurant.app.printing.TicketSpooler;
+import com.restaurant.app.replication.ReplicationFollower;
+import com.restaurant.app.replication.ReplicationLeader;
+import com.restaurant.app.server.nio.NioHttpTransport;
 import com.restaurant.app.service.OrderManager;
-import com.restaurant.app.util.JsonUtil;
-import com.sun.net.httpserver.Headers;
-import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
-import com.sun.net.httpserver.HttpServer;
+import com.restaurant.app.service.ReservationManager;
+import com.restaurant.app.util.StartupProfile;
+import com.restaurant.app.workload.WorkloadGenerator;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 /**
  * Lightweight HTTP server that serves the web UI and exposes JSON endpoints.
+ * Pass {@code --transport=nio} (or {@code -Drestaurant.transport=nio}) to use the
+ * selector-based front end instead of the JDK's {@code HttpServer}.
  */
 public final class WebServerLauncher {
 
-    private static final int PORT = 8080;
-    private static final DateTimeFormatter ORDER_TIME = DateTimeFormatter.ofPattern("MMM dd HH:mm");
-
     private WebServerLauncher() {
     }
 
-    public static void main(String[] args) throws IOException {
-        Map<String, List<MenuItem>> menu = MenuData.loadMenu();
-        Map<String, MenuItem> menuIndex = buildMenuIndex(menu);
-        OrderManager orderManager = new OrderManager();
-
-        HttpServer server = HttpServer.create(new InetSocketAddress(PORT), 0);
-        server.createContext("/api/menu", new MenuHandler(menu));
-        server.createContext("/api/orders", new OrderHandler(orderManager, menuIndex));
-        server.createContext("/", new StaticFileHandler(Path.of("web")));
-        server.setExecutor(Executors.newCachedThreadPool());
-        server.start();
-        System.out.printf(Locale.US, "Web server running at http://localhost:%d%n", PORT);
-    }
-
-    private static Map<String, MenuItem> buildMenuIndex(Map<String, List<MenuItem>> menu) {
-        Map<String, MenuItem> index = new HashMap<>();
-        menu.values().forEach(list -> list.forEach(item -> index.put(item.getCode(), item)));
-        return index;
-    }
-
-    private static final class MenuHandler implements HttpHandler {
-        private final Map<String, List<MenuItem>> menu;
-
-        private MenuHandler(Map<String, List<MenuItem>> menu) {
-            this.menu = menu;
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StartupProfile profile = StartupProfile.fromArgs(args);
+        ServerConfig config = ServerConfig.load(args);
+        profile.mark("config");
+        String tenants = config.getString("tenants", null);
+        if (tenants != null) {
+            serveTenants(config, Path.of(tenants), profile);
+            return;
         }
-
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
-                sendStatus(exchange, 405, "Method Not Allowed");
-                return;
-            }
-            Map<String, Object> payload = new HashMap<>();
-            List<Map<String, Object>> categories = new ArrayList<>();
-            menu.forEach((category, items) -> {
-                Map<String, Object> node = new HashMap<>();
-                node.put("category", category);
-                List<Map<String, Object>> itemNodes = new ArrayList<>();
-                for (MenuItem item : items) {
-                    Map<String, Object> info = new HashMap<>();
-                    info.put("code", item.getCode());
-                    info.put("name", item.getName());
-                    info.put("description", item.getDescription());
-                    info.put("price", item.getPrice());
-                    itemNodes.add(info);
-                }
-                node.put("items", itemNodes);
-                categories.add(node);
-            });
-            payload.put("categories", categories);
-            sendJson(exchange, 200, payload);
+        Map<String, List<MenuItem>> menu = loadMenu(config);
+        PricingPlan.setDefault(loadPricing(config, menu));
+        profile.mark("menu");
+        OrderManager orderManager = new OrderManager(orderOptions(config, OrderManager.Options.defaults()));
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.registerGaugesOnFirstRead(first -> JvmGauges.register(first));
+        registerAuditGauges(metrics, orderManager.getAudit());
+        subscribe(orderManager, metrics, "metrics", 256, (event, endOfBatch) ->
+            metrics.increment(event.getType() == OrderEvent.Type.CREATED ? "orders.created" : "orders.statusChanged"));
+        profile.mark("order store");
+        DemandForecaster forecaster = startForecasting(config, menu, orderManager, metrics);
+        profile.mark("forecast");
+
+        ServerHealth health = new ServerHealth();
+        registerChecks(health, orderManager);
+        Router router = createRouter(config, new MenuCatalog.Shared(menu, MenuData.indexByCode(menu)), orderManager,
+            metrics, health, PricingPlan.getDefault(), forecaster);
+        profile.mark("routes");
+        HttpTransport transport = createTransport(config, router);
+        Runnable stopReplication = startReplication(config, menu, orderManager, metrics, health);
+        TicketSpooler spooler = startPrinting(config, orderManager, metrics);
+        transport.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutDown(config, health, transport, () -> {
+            stopReplication.run();
+            orderManager.getEvents().close();
+        }, spooler), "shutdown"));
+        profile.mark("listening");
+        System.out.printf(Locale.US, "Web server (%s) running at http://localhost:%d%n",
+            transport.name(), transport.getAddress().getPort());
+
+        boolean trainingRun = config.getBoolean("exitAfterStartup", false);
+        if (trainingRun) {
+            warmUp(transport.getAddress().getPort());
+            profile.mark("warm-up requests");
+        }
+        profile.report(System.out);
+        if (trainingRun) {
+            transport.stop();
+            System.exit(0);
         }
     }
 
-    private static final class OrderHandler implements HttpHandler {
-        private final OrderManager orderManager;
-        private final Map<String, MenuItem> menuIndex;
-
-        private OrderHandler(OrderManager orderManager, Map<String, MenuItem> menuIndex) {
-            this.orderManager = orderManager;
-            this.menuIndex = menuIndex;
+    /**
+     * {@code --tenants=tenants.conf} hosts every location listed in that file (see
+     * {@link TenantRegistry}). Process-wide health, metrics and traces stay at the usual paths;
+     * {@code /api/tenants} lists the locations. Replication and ticket printing are per-process
+     * features and are not available in this mode.
+     */
+    private static void serveTenants(ServerConfig config, Path file, StartupProfile profile) throws IOException {
+        if (!"standalone".equals(config.getRole()) || !config.getString("printers", "").isEmpty()) {
+            throw new IllegalArgumentException("--tenants cannot be combined with --role or --printers");
         }
-
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
-            switch (method) {
-                case "GET" -> handleList(exchange);
-                case "POST" -> handleCreate(exchange);
-                default -> sendStatus(exchange, 405, "Method Not Allowed");
-            }
+        ServerHealth health = new ServerHealth();
+        TenantRegistry tenants = TenantRegistry.load(config, Files.readAllLines(file), health);
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.registerGaugesOnFirstRead(first -> JvmGauges.register(first));
+        metrics.registerGauge("tenants.active", tenants::getActiveCount);
+        metrics.registerGauge("tenants.distinctMenus", tenants.getCatalog()::getMenuCount);
+        metrics.registerGauge("tenants.distinctItems", tenants.getCatalog()::getItemCount);
+        health.register("tenants", () -> ServerHealth.Status.ok(tenants.getActiveCount() + " of "
+            + tenants.getTenants().size() + " active"));
+        profile.mark("tenants");
+
+        ResponseCompression compression = new ResponseCompression(config, metrics);
+        Router processRoutes = new Router()
+            .register("/health", new HealthHandler(health))
+            .register("/ready", new HealthHandler(health))
+            .register("/api/tenants", compression.wrap(new TenantHandler(tenants)))
+            .register("/api/metrics", new LazyRouteHandler(() -> compression.wrap(new MetricsHandler(metrics))));
+        Router router = new Router();
+        int traceSample = config.getInt("traceSample", 64);
+        if (traceSample > 0) {
+            RequestTracer tracer = new RequestTracer(traceSample, config.getInt("traceSlowMillis", 250),
+                config.getInt("traceBuffer", 1_024), metrics);
+            router.traced(tracer);
+            processRoutes.register("/api/debug/traces",
+                new LazyRouteHandler(() -> compression.wrap(new TraceHandler(tracer))));
         }
+        router.register("/", tenants.routing(processRoutes::dispatch));
+        profile.mark("routes");
+        HttpTransport transport = createTransport(config, router);
+        transport.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(
+            () -> shutDown(config, health, transport, tenants::close, null), "shutdown"));
+        profile.mark("listening");
+        System.out.printf(Locale.US, "Web server (%s) hosting %d locations at http://localhost:%d%n",
+            transport.name(), tenants.getTenants().size(), transport.getAddress().getPort());
+        profile.report(System.out);
+    }
 
-        private void handleList(HttpExchange exchange) throws IOException {
-            List<Map<String, Object>> summaries = new ArrayList<>();
-            for (Order order : orderManager.getHistory()) {
-                summaries.add(orderSummary(order));
+    /**
+     * Runs from the JVM shutdown hook (SIGTERM, Ctrl+C). Readiness fails first and the load
+     * balancer gets {@code --shutdownGraceMillis} to stop routing here; the transport then stops
+     * accepting and drains in-flight requests for up to {@code --shutdownTimeoutMillis}, after
+     * which the event subscribers and printer queues finish what those requests published.
+     */
+    private static void shutDown(ServerConfig config, ServerHealth health, HttpTransport transport,
+                                 Runnable stopServices, TicketSpooler spooler) {
+        health.startDraining();
+        int timeoutMillis = config.getInt("shutdownTimeoutMillis", 10_000);
+        try {
+            Thread.sleep(config.getInt("shutdownGraceMillis", 0));
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            boolean drained = transport.shutdown(timeoutMillis);
+            stopServices.run();
+            if (spooler != null) {
+                spooler.close(Math.max(1_000, deadline - System.currentTimeMillis()));
             }
-            Map<String, Object> payload = Map.of("orders", summaries);
-            sendJson(exchange, 200, payload);
+            System.out.println(drained ? "Server stopped; all in-flight requests completed"
+                : "Server stopped; requests were still in flight after " + timeoutMillis + " ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            transport.stop();
         }
+    }
 
-        private void handleCreate(HttpExchange exchange) throws IOException {
-            String body = readBody(exchange.getRequestBody());
-            Map<String, Object> payload;
-            try {
-                payload = JsonUtil.parseObject(body);
-            } catch (IllegalArgumentException ex) {
-                sendStatus(exchange, 400, "Invalid JSON: " + ex.getMessage());
-                return;
+    /** Checks for the order store and event delivery; replication registers its own. */
+    static void registerChecks(ServerHealth health, OrderManager orderManager) {
+        health.register("orders", () -> ServerHealth.Status.ok(orderManager.getHistory().size()
+            + " in recent history, " + orderManager.getAudit().getEventCount() + " audit events"));
+        OrderEventBus events = orderManager.getEvents();
+        health.register("events", () -> {
+            OrderEventBus.Subscription slowest = null;
+            for (OrderEventBus.Subscription subscription : events.getSubscriptions()) {
+                if (slowest == null || subscription.getLag() > slowest.getLag()) {
+                    slowest = subscription;
+                }
             }
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> items = (List<Map<String, Object>>) payload.get("items");
-            if (items == null || items.isEmpty()) {
-                sendStatus(exchange, 400, "Order must include at least one item");
-                return;
+            if (slowest == null) {
+                return ServerHealth.Status.ok("no subscribers");
             }
+            long lag = slowest.getLag();
+            String detail = "largest lag " + lag + " of " + events.getCapacity() + " (" + slowest.getName() + ")";
+            // a full ring blocks publishers, and with them every order POST
+            return lag >= events.getCapacity() ? ServerHealth.Status.failing(detail) : ServerHealth.Status.ok(detail);
+        });
+    }
 
-            Order order = new Order();
-            order.setTableNumber(String.valueOf(payload.getOrDefault("table", "TBD")));
-            order.setNotes(String.valueOf(payload.getOrDefault("notes", "")));
-
-            for (Map<String, Object> item : items) {
-                String code = String.valueOf(item.get("code"));
-                Number qtyNumber = (Number) item.get("quantity");
-                int quantity = qtyNumber == null ? 1 : Math.max(1, qtyNumber.intValue());
-                MenuItem menuItem = menuIndex.get(code);
-                if (menuItem == null) {
-                    sendStatus(exchange, 400, "Unknown menu item code: " + code);
-                    return;
-                }
-                order.addItem(menuItem, quantity);
+    /**
+     * Drives one request through each API route so a class-data archive dumped at exit
+     * ({@code -XX:ArchiveClassesAtExit}) covers the request path, not just startup.
+     */
+    private static void warmUp(int port) throws IOException {
+        String base = "http://localhost:" + port;
+        for (String path : List.of("/api/menu", "/api/orders", "/api/metrics")) {
+            HttpURLConnection connection = (HttpURLConnection) URI.create(base + path).toURL().openConnection();
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            try (InputStream in = connection.getInputStream()) {
+                in.readAllBytes();
             }
-
-            orderManager.addOrder(order);
-            sendJson(exchange, 201, Map.of(
-                "message", "Order received",
-                "order", orderSummary(order)
-            ));
         }
+    }
 
-        private Map<String, Object> orderSummary(Order order) {
-            List<Map<String, Object>> items = new ArrayList<>();
-            for (OrderItem item : order.getItems()) {
-                items.add(Map.of(
-                    "name", item.getMenuItem().getName(),
-                    "quantity", item.getQuantity(),
-                    "lineTotal", item.getLineTotal()
-                ));
-            }
-            return Map.of(
-                "id", order.getId(),
-                "table", order.getTableNumber(),
-                "notes", order.getNotes(),
-                "subtotal", order.getSubtotal(),
-                "tax", order.getTax(),
-                "total", order.getTotal(),
-                "placedAt", ORDER_TIME.format(order.getCreatedAt()),
-                "items", items
-            );
-        }
+    /**
+     * Order store sizing from {@code --historyLimit}, {@code --shards}, {@code --auditSnapshotEvery},
+     * {@code --auditDays}, {@code --auditDayOrders} and {@code --eventRing}, falling back to {@code defaults}.
+     */
+    static OrderManager.Options orderOptions(ServerConfig config, OrderManager.Options defaults) {
+        return defaults.withHistoryLimit(config.getInt("historyLimit", defaults.historyLimit()))
+            .withShardCount(config.getInt("shards", defaults.shardCount()))
+            .withAuditSnapshotInterval(config.getInt("auditSnapshotEvery", defaults.auditSnapshotInterval()))
+            .withAuditDays(config.getInt("auditDays", defaults.auditDays()))
+            .withAuditDayOrders(config.getInt("auditDayOrders", defaults.auditDayOrders()))
+            .withEventCapacity(config.getInt("eventRing", defaults.eventCapacity()));
     }
 
-    private static final class StaticFileHandler implements HttpHandler {
-        private final Path webRoot;
+    /** {@code audit.*}: events recorded, snapshots taken, and orders and changes left out of full days. */
+    static void registerAuditGauges(ServerMetrics metrics, OrderAuditLog audit) {
+        metrics.registerGauge("audit.events", audit::getEventCount);
+        metrics.registerGauge("audit.snapshots", audit::getSnapshotCount);
+        metrics.registerGauge("audit.droppedOrders", audit::getDroppedOrders);
+        metrics.registerGauge("audit.droppedEvents", audit::getDroppedEvents);
+    }
 
-        private StaticFileHandler(Path webRoot) {
-            this.webRoot = webRoot.toAbsolutePath().normalize();
-        }
+    /**
+     * Subscribes {@code handler} to the manager's event bus and publishes the subscription's
+     * lag, delivery delay and throughput under {@code events.<name>.*}.
+     */
+    public static OrderEventBus.Subscription subscribe(OrderManager orderManager, ServerMetrics metrics, String name,
+                                                       int maxBatch, OrderEventHandler handler) {
+        OrderEventBus events = orderManager.getEvents();
+        OrderEventBus.Subscription subscription = events.subscribe(name, maxBatch, handler);
+        registerEventGauges(metrics, events, subscription);
+        return subscription;
+    }
 
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            String path = exchange.getRequestURI().getPath();
-            if (path.startsWith("/api/")) {
-                sendStatus(exchange, 404, "Endpoint not found");
-                return;
-            }
+    static void registerEventGauges(ServerMetrics metrics, OrderEventBus events,
+                                    OrderEventBus.Subscription subscription) {
+        String name = subscription.getName();
+        metrics.registerGauge("events.producerStalls", events::getProducerStalls);
+        metrics.registerGauge("events." + name + ".lag", subscription::getLag);
+        metrics.registerGauge("events." + name + ".delayMillis", subscription::getLastDelayMillis);
+        metrics.registerGauge("events." + name + ".processed", subscription::getProcessed);
+        metrics.registerGauge("events." + name + ".failures", subscription::getFailures);
+    }
 
-            Path resolved = resolvePath(path);
-            if (resolved == null || Files.isDirectory(resolved) || !Files.exists(resolved)) {
-                resolved = webRoot.resolve("index.html");
-            }
+    /**
+     * Demand forecasts learn from every new order on an event subscriber of their own.
+     * {@code --forecastBackfillDays=90} first fits them to that many days of synthetic history
+     * ({@code --forecastOrdersPerDay=400}), for demos and load tests before real history exists.
+     */
+    private static DemandForecaster startForecasting(ServerConfig config, Map<String, List<MenuItem>> menu,
+                                                     OrderManager orderManager, ServerMetrics metrics)
+        throws InterruptedException {
+        DemandForecaster forecaster = new DemandForecaster();
+        int days = config.getInt("forecastBackfillDays", 0);
+        if (days > 0) {
+            long start = System.nanoTime();
+            List<Order> history = new WorkloadGenerator(config.getLong("forecastSeed", 42)).history(
+                MenuData.flattenMenu(menu), LocalDate.now().minusDays(days), days,
+                config.getDouble("forecastOrdersPerDay", 400));
+            forecaster.backfill(history, Runtime.getRuntime().availableProcessors());
+            System.out.printf(Locale.US, "Forecast: backfilled %d synthetic orders over %d days in %d ms%n",
+                history.size(), days, (System.nanoTime() - start) / 1_000_000);
+        }
+        subscribeForecaster(forecaster, orderManager, metrics);
+        return forecaster;
+    }
 
-            if (!Files.exists(resolved)) {
-                sendStatus(exchange, 404, "File not found");
-                return;
+    private static void subscribeForecaster(DemandForecaster forecaster, OrderManager orderManager,
+                                            ServerMetrics metrics) {
+        subscribe(orderManager, metrics, "forecast", 256, (event, endOfBatch) -> {
+            if (event.getType() == OrderEvent.Type.CREATED) {
+                forecaster.record(event.getOrder());
             }
+        });
+        metrics.registerGauge("forecast.hoursObserved", forecaster::getHoursObserved);
+    }
 
-            byte[] data = Files.readAllBytes(resolved);
-            Headers headers = exchange.getResponseHeaders();
-            headers.set("Content-Type", detectMimeType(resolved));
-            exchange.sendResponseHeaders(200, data.length);
-            try (OutputStream os = exchange.getResponseBody()) {
-                os.write(data);
-            }
-        }
+    /** {@code --menu=menu.txt} serves the menu in that file (see {@link MenuData#parse}), else the built-in one. */
+    private static Map<String, List<MenuItem>> loadMenu(ServerConfig config) throws IOException {
+        String file = config.getString("menu", null);
+        return file == null ? MenuData.loadMenu() : MenuData.parse(Files.readAllLines(Path.of(file)));
+    }
 
-        private Path resolvePath(String uriPath) {
-            String cleaned = uriPath.replaceFirst("^/", "").replace("/", java.io.File.separator);
-            if (cleaned.isBlank()) {
-                cleaned = "index.html";
-            }
-            Path candidate = webRoot.resolve(cleaned).normalize();
-            return candidate.startsWith(webRoot) ? candidate : null;
+    /**
+     * {@code --pricingRules=pricing.rules} compiles the promotions and tax rules in that file
+     * (see {@link PricingRule}); {@code --jurisdiction=downtown} selects the location-tagged
+     * rules. Without a rules file every item is taxed at 8%.
+     */
+    static PricingPlan loadPricing(ServerConfig config, Map<String, List<MenuItem>> menu) throws IOException {
+        String file = config.getString("pricingRules", null);
+        if (file == null) {
+            return PricingPlan.STANDARD;
         }
+        PricingPlan plan = PricingPlan.compile(PricingRule.parseAll(Files.readAllLines(Path.of(file))), menu,
+            config.getString("jurisdiction", null));
+        System.out.printf(Locale.US, "Pricing: %d rule(s) from %s%s%n", plan.getRuleCount(), file,
+            plan.getJurisdiction() == null ? "" : " for " + plan.getJurisdiction());
+        return plan;
+    }
 
-        private String detectMimeType(Path path) {
-            String file = path.getFileName().toString().toLowerCase(Locale.ROOT);
-            if (file.endsWith(".html")) {
-                return "text/html; charset=UTF-8";
+    /**
+     * {@code --role=leader --replicationPort=9090} streams new orders to followers;
+     * {@code --role=follower --leader=host:9090} mirrors a leader and serves reads only, and is
+     * not ready while disconnected from the leader.
+     *
+     * @return stops replication
+     */
+    private static Runnable startReplication(ServerConfig config, Map<String, List<MenuItem>> menu,
+                                             OrderManager orderManager, ServerMetrics metrics, ServerHealth health)
+        throws IOException {
+        switch (config.getRole()) {
+            case "leader" -> {
+                ReplicationLeader leader = new ReplicationLeader(config.getInt("replicationPort", 9090),
+                    config.getInt("replicationRetained", 100_000), orderManager, metrics);
+                leader.start();
+                System.out.printf(Locale.US, "Replication leader listening on port %d%n", leader.getPort());
+                return leader::stop;
             }
-            if (file.endsWith(".css")) {
-                return "text/css; charset=UTF-8";
+            case "follower" -> {
+                String[] leaderAddress = config.getString("leader", "localhost:9090").split(":");
+                InetSocketAddress address = new InetSocketAddress(leaderAddress[0],
+                    leaderAddress.length > 1 ? Integer.parseInt(leaderAddress[1]) : 9090);
+                ReplicationFollower follower = new ReplicationFollower(address, orderManager,
+                    MenuData.indexByCode(menu), metrics);
+                health.register("replication", () -> follower.isConnected()
+                    ? ServerHealth.Status.ok("applied " + follower.getAppliedSeq() + ", "
+                        + follower.getLagRecords() + " behind " + follower.getLeader())
+                    : ServerHealth.Status.failing("not connected to leader " + follower.getLeader()));
+                follower.start();
+                System.out.printf(Locale.US, "Replicating from leader %s%n", address);
+                return follower::stop;
             }
-            if (file.endsWith(".js")) {
-                return "application/javascript; charset=UTF-8";
+            case "standalone" -> {
+                return () -> {
+                };
             }
-            if (file.endsWith(".json")) {
-                return "application/json; charset=UTF-8";
-            }
-            if (file.endsWith(".png")) {
-                return "image/png";
-            }
-            if (file.endsWith(".jpg") || file.endsWith(".jpeg")) {
-                return "image/jpeg";
-            }
-            return "application/octet-stream";
+            default -> throw new IllegalArgumentException("Unknown role: " + config.getRole());
         }
     }
 
-    private static void sendJson(HttpExchange exchange, int status, Object payload) throws IOException {
-        byte[] data = JsonUtil.stringify(payload).getBytes(StandardCharsets.UTF_8);
-        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
-        exchange.sendResponseHeaders(status, data.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(data);
+    /**
+     * {@code --printers=kitchen:/dev/usb/lp0;bar:/tmp/bar.prn} prints a ticket per station for
+     * every new order; {@code --printer.bar.categories=Beverages} limits a station to the
+     * listed menu categories.
+     *
+     * @return the running spooler, or {@code null} when no printers are configured
+     */
+    private static TicketSpooler startPrinting(ServerConfig config, OrderManager orderManager, ServerMetrics metrics) {
+        String printers = config.getString("printers", "");
+        if (printers.isEmpty()) {
+            return null;
         }
+        List<PrinterStation> stations = PrinterStation.parse(printers,
+            name -> config.getString("printer." + name + ".categories", null));
+        TicketSpooler spooler = new TicketSpooler(stations, config.getInt("printerQueue", 1_024),
+            config.getInt("printerBatch", 32), metrics);
+        spooler.start();
+        subscribe(orderManager, metrics, "printing", 64, (event, endOfBatch) -> {
+            if (event.getType() == OrderEvent.Type.CREATED) {
+                spooler.submit(event.getOrder());
+            }
+        });
+        stations.forEach(station -> System.out.printf(Locale.US, "Printing %s tickets to %s%n",
+            station.name(), station.device()));
+        return spooler;
     }
 
-    private static void sendStatus(HttpExchange exchange, int status, String message) throws IOException {
-        byte[] data = message.getBytes(StandardCharsets.UTF_8);
-        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
-        exchange.sendResponseHeaders(status, data.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(data);
-        }
+    public static Router createRouter(ServerConfig config, Map<String, List<MenuItem>> menu,
+                                      OrderManager orderManager, ServerMetrics metrics) {
+        return createRouter(config, menu, orderManager, metrics, new ServerHealth());
     }
 
-    private static String readBody(InputStream stream) throws IOException {
-        return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+    /** Forecasts learn from orders on an event subscriber, as in {@link #main}, off the order path. */
+    public static Router createRouter(ServerConfig config, Map<String, List<MenuItem>> menu,
+                                      OrderManager orderManager, ServerMetrics metrics, ServerHealth health) {
+        DemandForecaster forecaster = new DemandForecaster();
+        subscribeForecaster(forecaster, orderManager, metrics);
+        return createRouter(config, new MenuCatalog.Shared(menu, MenuData.indexByCode(menu)), orderManager, metrics,
+            health, PricingPlan.getDefault(), forecaster);
     }
-}
 
+    /** Health probes bypass admission control: a shedding server must still answer its orchestrator. */
+    static Router createRouter(ServerConfig config, MenuCatalog.Shared menu, OrderManager orderManager,
+                               ServerMetrics metrics, ServerHealth health, PricingPlan pricing,
+                               DemandForecaster forecaster) {
+        boolean acceptWrites = !"follower".equals(config.getRole());
+        AdmissionController admission = new AdmissionController(config, metrics);
+        ResponseCompression compression = new ResponseCompression(config, metrics);
+        Router router = new Router();
+        // --traceSample=0 turns request tracing off entirely
+        int traceSample = config.getInt("traceSample", 64);
+        if (traceSample > 0) {
+            RequestTracer tracer = new RequestTracer(traceSample, config.getInt("traceSlowMillis", 250),
+                config.getInt("traceBuffer", 1_024), metrics);
+            router.traced(tracer)
+                .register("/api/debug/traces", new LazyRouteHandler(() -> compression.wrap(new TraceHandler(tracer))));
+        }
+        return router
+            .register("/api/menu", admission.guard("/api/menu", compression.wrap(new MenuHandler(menu.menu()))))
+            .register("/api/orders", admission.guard("/api/orders",
+                compression.wrap(new OrderHandler(orderManager, menu.index(), acceptWrites, pricing))))
+            .register("/api/orders/export", admission.guard("/api/orders/export",
+                new LazyRouteHandler(() -> compression.wrap(new OrderExportHandler(orderManager.getAudit(), pricing,
+                    config.getInt("maxExports", 2))))))
+            .register("/api/audit", admission.guard("/api/audit",
+                compression.wrap(new AuditHandler(orderManager.getAudit(), pricing))))
+            .register("/api/forecast", admission.guard("/api/forecast",
+                new LazyRouteHandler(() -> compression.wrap(new ForecastHandler(forecaster)))))
+            .register("/api/reservations", admission.guard("/api/reservations",
+                compression.wrap(new ReservationHandler(createReservations(config)))))
+            .register("/health", new HealthHandler(health))
+            .register("/ready", new HealthHandler(health))
+            .register("/api/metrics", new LazyRouteHandler(() -> compression.wrap(new MetricsHandler(metrics))))
+            .register("/", new LazyRouteHandler(() -> new StaticFileHandler(config.getWebRoot())));
+    }
+
+    /** Floor plan from {@code --tables=2x8,4x10,...} (seats x count), else the built-in one. */
+    private static ReservationManager createReservations(ServerConfig config) {
+        String tables = config.getString("tables", null);
+        return new ReservationManager(tables == null ? TableData.loadTables() : TableData.parse(tables));
+    }
 
+    public static HttpTransport createTransport(ServerConfig config, Router router) {
+        InetSocketAddress address = new InetSocketAddress(config.getPort());
+        return switch (config.getTransport()) {
+            case "nio" -> new NioHttpTransport(address, config.getBacklog(), config.getWorkers(),
+                config.getMaxConnections(), config.getBufferSize(), router);
+            case "jdk" -> new JdkHttpTransport(address, config.getBacklog(), config.getWorkers(), router);
+            default -> throw new IllegalArgumentException("Unknown transport: " + config.getTransport());
+        };
+    }
+}
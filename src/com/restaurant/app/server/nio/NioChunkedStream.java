@@ -0,0 +1,118 @@
+package com.restaurant.app.server.nio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Body of a chunked response. The worker fills a heap buffer; each full buffer is framed as
+ * one chunk in a pooled direct buffer and handed to the selector thread. At most
+ * {@link #MAX_QUEUED} chunks wait to be written, so a client that reads slowly stalls the
+ * worker rather than growing a queue.
+ */
+final class NioChunkedStream extends OutputStream {
+    static final int MAX_QUEUED = 4;
+    /** Hex length and CRLF, the CRLF after the data, and the terminating zero-length chunk. */
+    private static final int FRAMING = 16;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final NioHttpTransport transport;
+    private final NioConnection connection;
+    private final BufferPool pool;
+    private final byte[] buffer;
+    private final Semaphore window = new Semaphore(MAX_QUEUED);
+    private volatile boolean aborted;
+    private int count;
+    private boolean closed;
+
+    NioChunkedStream(NioHttpTransport transport, NioConnection connection) {
+        this.transport = transport;
+        this.connection = connection;
+        this.pool = transport.bufferPool();
+        this.buffer = new byte[pool.getBufferSize() - FRAMING];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            sendChunk(false);
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == buffer.length) {
+                sendChunk(false);
+            }
+            int copied = Math.min(length, buffer.length - count);
+            System.arraycopy(bytes, offset, buffer, count, copied);
+            count += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            sendChunk(false);
+        }
+    }
+
+    /** Sends what is buffered and the terminating chunk, which ends the response. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        sendChunk(true);
+        closed = true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /** Called on the selector thread once a chunk has been written in full. */
+    void chunkWritten() {
+        window.release();
+    }
+
+    /** The connection closed: fails the worker's next write, including one waiting for room. */
+    void abort() {
+        aborted = true;
+        window.release(MAX_QUEUED);
+    }
+
+    private void sendChunk(boolean last) throws IOException {
+        if (closed || aborted) {
+            throw new IOException("Connection closed");
+        }
+        try {
+            window.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the client to read");
+        }
+        if (aborted) {
+            throw new IOException("Connection closed");
+        }
+        ByteBuffer chunk = pool.acquire();
+        if (count > 0) {
+            chunk.put(Integer.toHexString(count).getBytes(StandardCharsets.US_ASCII)).put(CRLF)
+                .put(buffer, 0, count).put(CRLF);
+            count = 0;
+        }
+        if (last) {
+            chunk.put(LAST_CHUNK);
+        }
+        chunk.flip();
+        transport.runOnSelector(() -> connection.writeChunk(chunk, last));
+    }
+}
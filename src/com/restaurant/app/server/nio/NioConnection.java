@@ -0,0 +1,266 @@
+package com.restaurant.app.server.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * Per-socket state. Every method here runs on the selector thread; workers hand
+ * finished responses back through {@link NioHttpTransport#runOnSelector(Runnable)}.
+ */
+final class NioConnection {
+    private final NioHttpTransport transport;
+    private final BufferPool bufferPool;
+    private final SocketChannel channel;
+    private SelectionKey key;
+    private ByteBuffer readBuffer;
+
+    private ByteBuffer[] outgoing;
+    private ByteBuffer pooledOut;
+    private final ByteBuffer[] pooledOutgoing = new ByteBuffer[1];
+    private FileChannel file;
+    private long filePosition;
+    private long fileLimit;
+    private NioChunkedStream stream;
+    private final ArrayDeque<ByteBuffer> chunks = new ArrayDeque<>(NioChunkedStream.MAX_QUEUED);
+    private boolean streamEnded;
+    private boolean keepAlive;
+    private boolean closed;
+
+    NioConnection(NioHttpTransport transport, BufferPool bufferPool, SocketChannel channel) {
+        this.transport = transport;
+        this.bufferPool = bufferPool;
+        this.channel = channel;
+        this.readBuffer = bufferPool.acquire();
+    }
+
+    void attach(SelectionKey key) {
+        this.key = key;
+    }
+
+    SocketChannel channel() {
+        return channel;
+    }
+
+    /** Waiting for a new request with none of it received yet. */
+    boolean isIdle() {
+        return !closed && outgoing == null && file == null && stream == null && key.interestOps() == SelectionKey.OP_READ
+            && readBuffer.position() == 0;
+    }
+
+    void onReadable() {
+        try {
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                close();
+                return;
+            }
+            tryDispatch();
+        } catch (IOException ex) {
+            close();
+        }
+    }
+
+    void onWritable() {
+        try {
+            afterFlush(flush());
+        } catch (IOException ex) {
+            close();
+        }
+    }
+
+    private void tryDispatch() throws IOException {
+        NioRequest request;
+        try {
+            request = NioRequest.parse(readBuffer);
+        } catch (IllegalArgumentException ex) {
+            rejectAndClose(400, "Bad Request: " + ex.getMessage());
+            return;
+        }
+        if (request == null) {
+            if (!readBuffer.hasRemaining()) {
+                rejectAndClose(413, "Request too large");
+            }
+            return;
+        }
+        key.interestOps(0);
+        transport.dispatch(this, request);
+    }
+
+    private void rejectAndClose(int status, String message) throws IOException {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        byte[] head = NioExchange.encodeHead(status, body.length, false,
+            java.util.Map.of("Content-Type", "text/plain; charset=UTF-8"));
+        key.interestOps(0);
+        beginWrite(head, body, false);
+    }
+
+    /** Queues a buffered response; the head and body are copied into a pooled direct buffer when they fit. */
+    void beginWrite(byte[] head, byte[] body, boolean keepAlive) throws IOException {
+        int size = head.length + body.length;
+        if (size <= bufferPool.getBufferSize()) {
+            pooledOut = bufferPool.acquire();
+            pooledOut.put(head).put(body).flip();
+            outgoing = new ByteBuffer[] {pooledOut};
+        } else {
+            outgoing = new ByteBuffer[] {ByteBuffer.wrap(head), ByteBuffer.wrap(body)};
+        }
+        startWrite(keepAlive);
+    }
+
+    /**
+     * Queues a response a worker already assembled in a buffer taken from the pool, so the
+     * selector thread does no copying. The buffer goes back to the pool once written.
+     */
+    void beginPooledWrite(ByteBuffer pooled, boolean keepAlive) throws IOException {
+        pooledOut = pooled;
+        pooledOutgoing[0] = pooled;
+        outgoing = pooledOutgoing;
+        startWrite(keepAlive);
+    }
+
+    /** Queues a file response that is sent with {@link FileChannel#transferTo} after the head. */
+    void beginFileWrite(byte[] head, FileChannel fileChannel, long size, boolean keepAlive) throws IOException {
+        outgoing = new ByteBuffer[] {ByteBuffer.wrap(head)};
+        file = fileChannel;
+        filePosition = 0;
+        fileLimit = size;
+        startWrite(keepAlive);
+    }
+
+    /** Queues the head of a chunked response; the chunks follow through {@link #writeChunk}. */
+    void beginStream(byte[] head, NioChunkedStream body, boolean keepAlive) throws IOException {
+        outgoing = new ByteBuffer[] {ByteBuffer.wrap(head)};
+        stream = body;
+        streamEnded = false;
+        startWrite(keepAlive);
+    }
+
+    /** Queues one framed chunk from a pooled buffer, which goes back to the pool once written. */
+    void writeChunk(ByteBuffer chunk, boolean last) {
+        if (stream == null) {
+            // the connection closed and the response was released meanwhile
+            bufferPool.release(chunk);
+            return;
+        }
+        chunks.add(chunk);
+        streamEnded |= last;
+        if (key.interestOps() == SelectionKey.OP_WRITE) {
+            return;
+        }
+        try {
+            afterFlush(flush());
+        } catch (IOException ex) {
+            close();
+        }
+    }
+
+    private void startWrite(boolean keepAlive) throws IOException {
+        this.keepAlive = keepAlive;
+        if (closed) {
+            releaseResponse();
+            return;
+        }
+        afterFlush(flush());
+    }
+
+    /** A stream with everything queued written but not yet ended waits, without interest, for its next chunk. */
+    private void afterFlush(boolean flushed) throws IOException {
+        if (!flushed) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else if (stream != null && !streamEnded) {
+            key.interestOps(0);
+        } else {
+            finishResponse();
+        }
+    }
+
+    private boolean flush() throws IOException {
+        if (outgoing != null) {
+            channel.write(outgoing);
+            for (ByteBuffer buffer : outgoing) {
+                if (buffer.hasRemaining()) {
+                    return false;
+                }
+            }
+            if (stream != null) {
+                // a stream's head goes once; the chunks are written from their own queue
+                outgoing = null;
+            }
+        }
+        while (file != null && filePosition < fileLimit) {
+            long sent = file.transferTo(filePosition, fileLimit - filePosition, channel);
+            if (sent <= 0) {
+                return false;
+            }
+            filePosition += sent;
+        }
+        ByteBuffer chunk;
+        while ((chunk = chunks.peek()) != null) {
+            channel.write(chunk);
+            if (chunk.hasRemaining()) {
+                return false;
+            }
+            bufferPool.release(chunks.poll());
+            stream.chunkWritten();
+        }
+        return true;
+    }
+
+    private void finishResponse() throws IOException {
+        releaseResponse();
+        if (!keepAlive) {
+            close();
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (readBuffer.position() > 0) {
+            tryDispatch();
+        }
+    }
+
+    private void releaseResponse() {
+        outgoing = null;
+        bufferPool.release(pooledOut);
+        pooledOut = null;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException ignored) {
+                // nothing useful to do
+            }
+            file = null;
+        }
+        if (stream != null) {
+            stream.abort();
+            stream = null;
+            for (ByteBuffer chunk : chunks) {
+                bufferPool.release(chunk);
+            }
+            chunks.clear();
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // already gone
+        }
+        releaseResponse();
+        bufferPool.release(readBuffer);
+        readBuffer = null;
+        transport.connectionClosed();
+    }
+}
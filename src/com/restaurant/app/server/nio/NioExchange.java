@@ -0,0 +1,200 @@
+package com.restaurant.app.server.nio;
+
+import com.restaurant.app.server.ServerExchange;
+import com.restaurant.app.util.ByteSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class NioExchange implements ServerExchange {
+    private static final ThreadLocal<ByteSink> HEAD_SCRATCH = ThreadLocal.withInitial(() -> new ByteSink(256));
+
+    private final NioHttpTransport transport;
+    private final NioConnection connection;
+    private final NioRequest request;
+    private final InetSocketAddress remoteAddress;
+    private final Map<String, String> responseHeaders = new LinkedHashMap<>();
+    private boolean responded;
+    private NioChunkedStream stream;
+
+    NioExchange(NioHttpTransport transport, NioConnection connection, NioRequest request,
+                InetSocketAddress remoteAddress) {
+        this.transport = transport;
+        this.connection = connection;
+        this.request = request;
+        this.remoteAddress = remoteAddress;
+    }
+
+    @Override
+    public String getRequestMethod() {
+        return request.method();
+    }
+
+    @Override
+    public String getRequestPath() {
+        return request.path();
+    }
+
+    @Override
+    public String getQuery() {
+        return request.query();
+    }
+
+    @Override
+    public String getRequestHeader(String name) {
+        return request.header(name);
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public byte[] readBody() {
+        return request.body();
+    }
+
+    @Override
+    public void readBody(ByteSink sink) {
+        sink.write(request.body());
+    }
+
+    @Override
+    public void setResponseHeader(String name, String value) {
+        responseHeaders.put(name, value);
+    }
+
+    /**
+     * Copies the response into a pooled direct buffer on the calling worker thread, so the
+     * caller may reuse {@code body} as soon as this returns.
+     */
+    @Override
+    public void sendResponse(int status, byte[] body, int length) throws IOException {
+        markResponded();
+        boolean keepAlive = request.keepAlive() && !transport.isDraining();
+        ByteSink head = HEAD_SCRATCH.get().reset();
+        encodeHead(head, status, length, keepAlive, responseHeaders);
+        BufferPool pool = transport.bufferPool();
+        if (head.size() + length <= pool.getBufferSize()) {
+            ByteBuffer pooled = pool.acquire();
+            pooled.put(head.array(), 0, head.size()).put(body, 0, length).flip();
+            transport.runOnSelector(() -> {
+                try {
+                    connection.beginPooledWrite(pooled, keepAlive);
+                } catch (IOException ex) {
+                    connection.close();
+                }
+            });
+            return;
+        }
+        byte[] headBytes = head.toByteArray();
+        byte[] bodyCopy = Arrays.copyOf(body, length);
+        transport.runOnSelector(() -> {
+            try {
+                connection.beginWrite(headBytes, bodyCopy, keepAlive);
+            } catch (IOException ex) {
+                connection.close();
+            }
+        });
+    }
+
+    @Override
+    public void sendFile(int status, Path file) throws IOException {
+        markResponded();
+        boolean keepAlive = request.keepAlive() && !transport.isDraining();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        byte[] head = encodeHead(status, size, keepAlive, responseHeaders);
+        transport.runOnSelector(() -> {
+            try {
+                connection.beginFileWrite(head, channel, size, keepAlive);
+            } catch (IOException ex) {
+                connection.close();
+            }
+        });
+    }
+
+    @Override
+    public OutputStream sendChunked(int status) throws IOException {
+        markResponded();
+        boolean keepAlive = request.keepAlive() && !transport.isDraining();
+        byte[] head = encodeHead(status, -1, keepAlive, responseHeaders);
+        stream = new NioChunkedStream(transport, connection);
+        transport.runOnSelector(() -> {
+            try {
+                connection.beginStream(head, stream, keepAlive);
+            } catch (IOException ex) {
+                connection.close();
+            }
+        });
+        return stream;
+    }
+
+    boolean isResponded() {
+        return responded;
+    }
+
+    /**
+     * Closes the connection when the handler returned without ending its chunked response,
+     * so the client sees it cut off instead of waiting for the rest.
+     */
+    void dropUnfinishedStream() {
+        if (stream != null && !stream.isClosed()) {
+            stream.abort();
+            transport.runOnSelector(connection::close);
+        }
+    }
+
+    private void markResponded() {
+        if (responded) {
+            throw new IllegalStateException("Response already sent");
+        }
+        responded = true;
+    }
+
+    static byte[] encodeHead(int status, long contentLength, boolean keepAlive, Map<String, String> headers) {
+        ByteSink head = new ByteSink(128);
+        encodeHead(head, status, contentLength, keepAlive, headers);
+        return head.toByteArray();
+    }
+
+    private static void encodeHead(ByteSink out, int status, long contentLength, boolean keepAlive,
+                                   Map<String, String> headers) {
+        out.writeAscii("HTTP/1.1 ").writeLong(status).write(' ').writeAscii(reasonPhrase(status)).writeAscii("\r\n");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            out.writeAscii(header.getKey()).writeAscii(": ").writeAscii(header.getValue()).writeAscii("\r\n");
+        }
+        if (contentLength < 0) {
+            out.writeAscii("Transfer-Encoding: chunked\r\n");
+        } else {
+            out.writeAscii("Content-Length: ").writeLong(contentLength).writeAscii("\r\n");
+        }
+        out.writeAscii("Connection: ").writeAscii(keepAlive ? "keep-alive" : "close").writeAscii("\r\n\r\n");
+    }
+
+    private static String reasonPhrase(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 201 -> "Created";
+            case 204 -> "No Content";
+            case 400 -> "Bad Request";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 409 -> "Conflict";
+            case 413 -> "Payload Too Large";
+            case 429 -> "Too Many Requests";
+            case 500 -> "Internal Server Error";
+            case 503 -> "Service Unavailable";
+            default -> "Status";
+        };
+    }
+}
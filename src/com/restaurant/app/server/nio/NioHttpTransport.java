@@ -0,0 +1,259 @@
+package com.restaurant.app.server.nio;
+
+import com.restaurant.app.server.HttpTransport;
+import com.restaurant.app.server.Router;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selector-based HTTP/1.1 front end. A single selector thread owns all socket I/O
+ * using pooled direct buffers; parsed requests run on a fixed worker pool and their
+ * responses are written back by the selector thread.
+ * <p>
+ * {@link #shutdown} closes the listening socket and idle connections, answers the requests
+ * already received with {@code Connection: close}, and stops once every connection has
+ * finished its response and closed.
+ */
+public final class NioHttpTransport implements HttpTransport {
+
+    private final InetSocketAddress address;
+    private final int backlog;
+    private final int workers;
+    private final int maxConnections;
+    private final BufferPool bufferPool;
+    private final Router router;
+    private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private ExecutorService workerPool;
+    private Thread selectorThread;
+    private volatile boolean running;
+    private volatile boolean draining;
+    private volatile int openConnections;
+
+    public NioHttpTransport(InetSocketAddress address, int backlog, int workers, int maxConnections,
+                            int bufferSize, Router router) {
+        this.address = address;
+        this.backlog = backlog;
+        this.workers = Math.max(1, workers);
+        this.maxConnections = Math.max(1, maxConnections);
+        this.bufferPool = new BufferPool(bufferSize, this.maxConnections * 2);
+        this.router = router;
+    }
+
+    @Override
+    public String name() {
+        return "nio";
+    }
+
+    @Override
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, backlog);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        AtomicInteger workerIds = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "nio-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        selectorThread = new Thread(this::runLoop, "nio-selector");
+        selectorThread.start();
+    }
+
+    @Override
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) serverChannel.getLocalAddress();
+        } catch (IOException ex) {
+            return address;
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(5_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        workerPool.shutdown();
+    }
+
+    @Override
+    public boolean shutdown(long timeoutMillis) {
+        if (!running) {
+            return true;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        runOnSelector(this::beginDrain);
+        try {
+            while (!(draining && openConnections == 0) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            boolean drained = draining && openConnections == 0;
+            stop();
+            return workerPool.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                && drained;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stop();
+            return false;
+        }
+    }
+
+    /** Whether responses should close their connection rather than keep it alive. */
+    boolean isDraining() {
+        return draining;
+    }
+
+    void runOnSelector(Runnable task) {
+        selectorTasks.add(task);
+        selector.wakeup();
+    }
+
+    void dispatch(NioConnection connection, NioRequest request) {
+        InetSocketAddress remote = remoteAddressOf(connection);
+        try {
+            workerPool.execute(() -> handle(new NioExchange(this, connection, request, remote)));
+        } catch (RejectedExecutionException ex) {
+            connection.close();
+        }
+    }
+
+    BufferPool bufferPool() {
+        return bufferPool;
+    }
+
+    void connectionClosed() {
+        openConnections--;
+    }
+
+    private void handle(NioExchange exchange) {
+        try {
+            router.dispatch(exchange);
+        } catch (Exception ex) {
+            System.err.println("Request failed: " + ex);
+        }
+        if (!exchange.isResponded()) {
+            try {
+                exchange.setResponseHeader("Content-Type", "text/plain; charset=UTF-8");
+                exchange.sendResponse(500, "Internal Server Error".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ignored) {
+                // connection is closed by the selector on write failure
+            }
+        } else {
+            exchange.dropUnfinishedStream();
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                selector.select();
+                Runnable task;
+                while ((task = selectorTasks.poll()) != null) {
+                    task.run();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            acceptConnections();
+                        } else if (key.isReadable()) {
+                            ((NioConnection) key.attachment()).onReadable();
+                        } else if (key.isWritable()) {
+                            ((NioConnection) key.attachment()).onWritable();
+                        }
+                    } catch (CancelledKeyException ignored) {
+                        // connection closed while its key was selected
+                    }
+                }
+            } catch (IOException ex) {
+                System.err.println("Selector loop error: " + ex.getMessage());
+            }
+        }
+        closeAll();
+    }
+
+    /** Runs on the selector thread, so no connection can be accepted or dispatched concurrently. */
+    private void beginDrain() {
+        try {
+            serverChannel.close();
+        } catch (IOException ex) {
+            System.err.println("Closing listener failed: " + ex.getMessage());
+        }
+        draining = true;
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection connection && connection.isIdle()) {
+                connection.close();
+            }
+        }
+    }
+
+    private void acceptConnections() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            if (openConnections >= maxConnections) {
+                channel.close();
+                continue;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            NioConnection connection = new NioConnection(this, bufferPool, channel);
+            connection.attach(channel.register(selector, SelectionKey.OP_READ, connection));
+            openConnections++;
+        }
+    }
+
+    private InetSocketAddress remoteAddressOf(NioConnection connection) {
+        try {
+            return (InetSocketAddress) connection.channel().getRemoteAddress();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection connection) {
+                connection.close();
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException ignored) {
+            // shutting down
+        }
+    }
+}
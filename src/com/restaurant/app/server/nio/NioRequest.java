@@ -0,0 +1,124 @@
+package com.restaurant.app.server.nio;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A fully buffered HTTP/1.x request parsed out of a connection's read buffer.
+ */
+final class NioRequest {
+    private final String method;
+    private final String path;
+    private final String query;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final boolean keepAlive;
+
+    private NioRequest(String method, String path, String query, Map<String, String> headers,
+                       byte[] body, boolean keepAlive) {
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.headers = headers;
+        this.body = body;
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Attempts to parse one request from a buffer in write mode (position = bytes filled).
+     * Returns {@code null} if the request is incomplete; otherwise consumes its bytes and
+     * compacts any pipelined remainder to the front of the buffer.
+     */
+    static NioRequest parse(ByteBuffer buffer) {
+        int filled = buffer.position();
+        int headerEnd = -1;
+        for (int i = 3; i < filled; i++) {
+            if (buffer.get(i) == '\n' && buffer.get(i - 1) == '\r'
+                && buffer.get(i - 2) == '\n' && buffer.get(i - 3) == '\r') {
+                headerEnd = i + 1;
+                break;
+            }
+        }
+        if (headerEnd < 0) {
+            return null;
+        }
+
+        byte[] head = new byte[headerEnd];
+        buffer.get(0, head);
+        String[] lines = new String(head, StandardCharsets.ISO_8859_1).split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+            throw new IllegalArgumentException("Malformed request line");
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon > 0) {
+                headers.putIfAbsent(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                    lines[i].substring(colon + 1).trim());
+            }
+        }
+        if (headers.containsKey("transfer-encoding")) {
+            throw new IllegalArgumentException("Chunked request bodies are not supported");
+        }
+        int contentLength = 0;
+        String lengthHeader = headers.get("content-length");
+        if (lengthHeader != null) {
+            try {
+                contentLength = Integer.parseInt(lengthHeader);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid Content-Length");
+            }
+            if (contentLength < 0) {
+                throw new IllegalArgumentException("Invalid Content-Length");
+            }
+        }
+        int total = headerEnd + contentLength;
+        if (total > filled) {
+            return null;
+        }
+
+        byte[] body = new byte[contentLength];
+        buffer.get(headerEnd, body);
+        buffer.flip();
+        buffer.position(total);
+        buffer.compact();
+
+        URI uri = URI.create(requestLine[1]);
+        String connection = headers.getOrDefault("connection", "").toLowerCase(Locale.ROOT);
+        boolean keepAlive = "HTTP/1.1".equals(requestLine[2])
+            ? !connection.contains("close")
+            : connection.contains("keep-alive");
+        return new NioRequest(requestLine[0], uri.getPath() == null ? "/" : uri.getPath(),
+            uri.getRawQuery(), headers, body, keepAlive);
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    String query() {
+        return query;
+    }
+
+    String header(String name) {
+        return headers.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    boolean keepAlive() {
+        return keepAlive;
+    }
+}
@@ -0,0 +1,81 @@
+package com.restaurant.app.service;
+
+import com.restaurant.app.model.Reservation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One day's table occupancy as an array of slot buckets. Each bucket is a bitset over the
+ * floor's tables (bit {@code i} set = table {@code i} taken during that slot), so "which
+ * tables are free from slot a to slot b" is an OR over {@code b - a} buckets plus a mask.
+ * Callers synchronize on the schedule.
+ */
+final class DaySchedule {
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS = 24 * 60 / SLOT_MINUTES;
+
+    private final int words;
+    private final long[] occupied;
+    private final Map<String, Reservation> reservations = new HashMap<>();
+
+    DaySchedule(int tableCount) {
+        this.words = (tableCount + 63) >>> 6;
+        this.occupied = new long[SLOTS * words];
+    }
+
+    int words() {
+        return words;
+    }
+
+    /** Writes {@code candidates & ~(tables taken in any slot of [from, to))} into {@code out}. */
+    void free(int from, int to, long[] candidates, long[] out) {
+        for (int w = 0; w < words; w++) {
+            long taken = 0;
+            for (int slot = from; slot < to; slot++) {
+                taken |= occupied[slot * words + w];
+            }
+            out[w] = candidates[w] & ~taken;
+        }
+    }
+
+    boolean isFree(int table, int from, int to) {
+        int word = table >>> 6;
+        long bit = 1L << table;
+        for (int slot = from; slot < to; slot++) {
+            if ((occupied[slot * words + word] & bit) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void add(Reservation reservation, int table, int from, int to) {
+        mark(table, from, to, true);
+        reservations.put(reservation.getId(), reservation);
+    }
+
+    void remove(Reservation reservation, int table, int from, int to) {
+        if (reservations.remove(reservation.getId()) != null) {
+            mark(table, from, to, false);
+        }
+    }
+
+    List<Reservation> reservations() {
+        List<Reservation> sorted = new ArrayList<>(reservations.values());
+        sorted.sort(Comparator.comparing(Reservation::getStart).thenComparing(r -> r.getTable().getId()));
+        return sorted;
+    }
+
+    private void mark(int table, int from, int to, boolean taken) {
+        int word = table >>> 6;
+        long bit = 1L << table;
+        for (int slot = from; slot < to; slot++) {
+            int index = slot * words + word;
+            occupied[index] = taken ? occupied[index] | bit : occupied[index] & ~bit;
+        }
+    }
+}
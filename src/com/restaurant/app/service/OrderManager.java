@@ -1,40 +1,143 @@
 package com.restaurant.app.service;
 
+import com.restaurant.app.audit.OrderAuditLog;
+import com.restaurant.app.events.OrderEventBus;
 import com.restaurant.app.model.Order;
 import com.restaurant.app.model.OrderStatus;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
+import java.time.Clock;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class OrderManager {
-    private final Deque<Order> orderHistory = new ArrayDeque<>();
-    private final int historyLimit;
+    private final ShardedOrderStore orderHistory;
+    private final List<Consumer<Order>> listeners = new CopyOnWriteArrayList<>();
+    private final OrderEventBus events;
+    private final OrderAuditLog audit;
 
     public OrderManager() {
-        this(12);
+        this(Options.defaults());
     }
 
     public OrderManager(int historyLimit) {
-        this.historyLimit = Math.max(5, historyLimit);
+        this(Options.defaults().withHistoryLimit(historyLimit));
+    }
+
+    public OrderManager(int historyLimit, int shardCount) {
+        this(Options.defaults().withHistoryLimit(historyLimit).withShardCount(shardCount));
+    }
+
+    public OrderManager(Options options) {
+        this.events = new OrderEventBus(options.eventCapacity());
+        this.orderHistory = new ShardedOrderStore(options.shardCount(), Math.max(5, options.historyLimit()));
+        this.audit = new OrderAuditLog(options.auditSnapshotInterval(), options.auditDays(), options.auditDayOrders(),
+            Clock.systemDefaultZone());
+    }
+
+    /**
+     * Sizing for an {@link OrderManager}; start from {@link #defaults()} and override what differs.
+     *
+     * @param historyLimit          recent orders kept per shard
+     * @param shardCount            history shards, each with its own lock
+     * @param auditSnapshotInterval audit events between snapshots of a day's orders
+     * @param auditDays             business days the audit trail keeps
+     * @param auditDayOrders        orders the audit trail records per business day
+     * @param eventCapacity         slots in the event ring, which is allocated up front; a server
+     *                              hosting many locations gives each a small one
+     */
+    public record Options(int historyLimit, int shardCount, int auditSnapshotInterval, int auditDays,
+                          int auditDayOrders, int eventCapacity) {
+        public static final int DEFAULT_EVENT_CAPACITY = 4_096;
+
+        public static Options defaults() {
+            return new Options(12, Runtime.getRuntime().availableProcessors(), 500, 7, 10_000, DEFAULT_EVENT_CAPACITY);
+        }
+
+        public Options withHistoryLimit(int value) {
+            return new Options(value, shardCount, auditSnapshotInterval, auditDays, auditDayOrders, eventCapacity);
+        }
+
+        public Options withShardCount(int value) {
+            return new Options(historyLimit, value, auditSnapshotInterval, auditDays, auditDayOrders, eventCapacity);
+        }
+
+        public Options withAuditSnapshotInterval(int value) {
+            return new Options(historyLimit, shardCount, value, auditDays, auditDayOrders, eventCapacity);
+        }
+
+        public Options withAuditDays(int value) {
+            return new Options(historyLimit, shardCount, auditSnapshotInterval, value, auditDayOrders, eventCapacity);
+        }
+
+        public Options withAuditDayOrders(int value) {
+            return new Options(historyLimit, shardCount, auditSnapshotInterval, auditDays, value, eventCapacity);
+        }
+
+        public Options withEventCapacity(int value) {
+            return new Options(historyLimit, shardCount, auditSnapshotInterval, auditDays, auditDayOrders, value);
+        }
+    }
+
+    /**
+     * Registers a callback run for every added order while its shard is locked, so
+     * listeners see the orders of any one table in the order they entered the history.
+     * Listeners must be fast and must not call back into this manager.
+     */
+    public void addOrderListener(Consumer<Order> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Lifecycle events for orders handled by this manager. Unlike listeners, subscribers
+     * run on their own threads and never add latency to {@link #addOrder}.
+     */
+    public OrderEventBus getEvents() {
+        return events;
+    }
+
+    /** Every change to placed orders, with point-in-time rebuilds of an order or a day's floor. */
+    public OrderAuditLog getAudit() {
+        return audit;
     }
 
     public void addOrder(Order order) {
         order.setStatus(OrderStatus.SERVED);
-        orderHistory.addFirst(order);
-        while (orderHistory.size() > historyLimit) {
-            orderHistory.removeLast();
+        // Recorded before the order becomes visible, so no later change can precede it in the trail.
+        audit.recordPlaced(order);
+        orderHistory.add(order, this::notifyListeners);
+        // Published outside the shard lock: a publisher waiting on a full ring must not
+        // block subscribers that read the history.
+        events.publishCreated(order);
+    }
+
+    public void updateStatus(Order order, OrderStatus status) {
+        OrderStatus previous = order.getStatus();
+        if (previous == status) {
+            return;
         }
+        order.setStatus(status);
+        events.publishStatusChanged(order, previous, status);
     }
 
+    /** Newest-first history merged across shards. */
     public List<Order> getHistory() {
-        return new ArrayList<>(orderHistory);
+        return orderHistory.newest();
     }
 
     public void clearHistory() {
         orderHistory.clear();
     }
+
+    public int getShardCount() {
+        return orderHistory.shardCount();
+    }
+
+    private void notifyListeners(Order order) {
+        for (Consumer<Order> listener : listeners) {
+            listener.accept(order);
+        }
+    }
 }
 
 
@@ -0,0 +1,327 @@
+package com.restaurant.app.service;
+
+import com.restaurant.app.model.DiningTable;
+import com.restaurant.app.model.Reservation;
+import com.restaurant.app.model.WaitlistEntry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table reservations and the walk-in waitlist. Bookings live in a {@link DaySchedule} per
+ * date: fifteen-minute slot buckets holding a bitset of taken tables, so an availability
+ * check is a handful of word ORs regardless of how many bookings the day has. Tables are
+ * kept in ascending seat order, which makes the lowest free bit the best fit.
+ * <p>
+ * Only today through {@link #MAX_DAYS_AHEAD} days ahead can be booked or queried. A day gets
+ * a schedule with its first booking; lookups on other days see every table free, and past
+ * days are dropped with their reservations once the date moves on.
+ */
+public class ReservationManager {
+    public static final int SLOT_MINUTES = DaySchedule.SLOT_MINUTES;
+    public static final int MAX_DAYS_AHEAD = 180;
+
+    private final List<DiningTable> tables;
+    private final Map<String, Integer> tableIndex = new HashMap<>();
+    private final long[][] fitMasks;
+    private final Clock clock;
+    private final Map<LocalDate, DaySchedule> days = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> byId = new ConcurrentHashMap<>();
+    private final List<WaitlistEntry> waitlist = new ArrayList<>();
+    private final AtomicLong reservationIds = new AtomicLong(1_000);
+    private final AtomicLong waitlistIds = new AtomicLong();
+    private final DaySchedule noBookings;
+    private volatile LocalDate prunedBefore = LocalDate.MIN;
+
+    public ReservationManager(List<DiningTable> floor) {
+        this(floor, Clock.systemDefaultZone());
+    }
+
+    public ReservationManager(List<DiningTable> floor, Clock clock) {
+        if (floor.isEmpty()) {
+            throw new IllegalArgumentException("The floor plan has no tables");
+        }
+        this.tables = floor.stream().sorted(Comparator.comparingInt(DiningTable::getSeats)).toList();
+        this.clock = clock;
+        this.noBookings = new DaySchedule(tables.size());
+        int maxSeats = tables.get(tables.size() - 1).getSeats();
+        int words = (tables.size() + 63) >>> 6;
+        this.fitMasks = new long[maxSeats + 1][words];
+        for (int i = 0; i < tables.size(); i++) {
+            tableIndex.put(tables.get(i).getId(), i);
+            for (int party = 1; party <= tables.get(i).getSeats(); party++) {
+                fitMasks[party][i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /** Typical table time: larger parties linger longer. */
+    public static Duration defaultDuration(int partySize) {
+        if (partySize <= 2) {
+            return Duration.ofMinutes(90);
+        }
+        return partySize <= 4 ? Duration.ofMinutes(120) : Duration.ofMinutes(150);
+    }
+
+    public List<DiningTable> getTables() {
+        return tables;
+    }
+
+    /** Smallest table that seats the party and is free for the whole stay. */
+    public Optional<DiningTable> findTable(LocalDateTime start, Duration length, int partySize) {
+        int[] range = slotRange(start, length);
+        long[] candidates = fitMask(partySize);
+        DaySchedule day = existing(start.toLocalDate());
+        synchronized (day) {
+            int table = bestFit(day, range, candidates);
+            return table < 0 ? Optional.empty() : Optional.of(tables.get(table));
+        }
+    }
+
+    /** Books the best-fitting free table, or returns empty when none is free. */
+    public Optional<Reservation> book(String guestName, int partySize, LocalDateTime start, Duration length) {
+        if (guestName == null || guestName.isBlank()) {
+            throw new IllegalArgumentException("Reservation needs a guest name");
+        }
+        int[] range = slotRange(start, length);
+        long[] candidates = fitMask(partySize);
+        DaySchedule day = schedule(start.toLocalDate());
+        synchronized (day) {
+            int table = bestFit(day, range, candidates);
+            if (table < 0) {
+                return Optional.empty();
+            }
+            Reservation reservation = new Reservation("R" + reservationIds.incrementAndGet(), guestName.trim(),
+                partySize, start, start.plus(length), tables.get(table));
+            day.add(reservation, table, range[0], range[1]);
+            byId.put(reservation.getId(), reservation);
+            return Optional.of(reservation);
+        }
+    }
+
+    /**
+     * Nearby start times on the same day with a table for the party, nearest first, looking
+     * up to two hours either side of {@code around}.
+     */
+    public List<LocalDateTime> suggestTimes(LocalDateTime around, Duration length, int partySize, int max) {
+        int[] requested = slotRange(around, length);
+        int span = requested[1] - requested[0];
+        long[] candidates = fitMask(partySize);
+        LocalDateTime midnight = around.toLocalDate().atStartOfDay();
+        List<LocalDateTime> suggestions = new ArrayList<>();
+        DaySchedule day = existing(around.toLocalDate());
+        synchronized (day) {
+            for (int offset = 1; offset <= 8 && suggestions.size() < max; offset++) {
+                for (int from : new int[] {requested[0] - offset, requested[0] + offset}) {
+                    if (from >= 0 && from + span <= DaySchedule.SLOTS && suggestions.size() < max
+                        && bestFit(day, new int[] {from, from + span}, candidates) >= 0) {
+                        suggestions.add(midnight.plusMinutes((long) from * SLOT_MINUTES));
+                    }
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    public Optional<Reservation> get(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public boolean cancel(String id) {
+        Reservation reservation = byId.remove(id);
+        if (reservation == null) {
+            return false;
+        }
+        int[] range = slotRange(reservation.getStart(), Duration.between(reservation.getStart(), reservation.getEnd()));
+        DaySchedule day = days.get(reservation.getStart().toLocalDate());
+        if (day == null) {
+            // its day has passed and was dropped meanwhile
+            return true;
+        }
+        synchronized (day) {
+            day.remove(reservation, tableIndex.get(reservation.getTable().getId()), range[0], range[1]);
+        }
+        return true;
+    }
+
+    public List<Reservation> reservationsOn(LocalDate date) {
+        DaySchedule day = days.get(date);
+        if (day == null) {
+            return List.of();
+        }
+        synchronized (day) {
+            return day.reservations();
+        }
+    }
+
+    /** Adds a walk-in party to the end of the waitlist with a quote based on current bookings. */
+    public WaitlistEntry joinWaitlist(String guestName, int partySize) {
+        if (guestName == null || guestName.isBlank()) {
+            throw new IllegalArgumentException("Waitlist entry needs a guest name");
+        }
+        fitMask(partySize);
+        synchronized (waitlist) {
+            WaitlistEntry probe = new WaitlistEntry("W" + waitlistIds.incrementAndGet(), guestName.trim(), partySize,
+                LocalDateTime.now(clock), 0);
+            waitlist.add(probe);
+            long quote = quote(waitlist).get(waitlist.size() - 1).waitMinutes();
+            WaitlistEntry entry = new WaitlistEntry(probe.getId(), probe.getGuestName(), partySize,
+                probe.getAddedAt(), quote);
+            waitlist.set(waitlist.size() - 1, entry);
+            return entry;
+        }
+    }
+
+    /** Current estimate for every waiting party, in line order. */
+    public List<WaitlistQuote> waitlistQuotes() {
+        synchronized (waitlist) {
+            return quote(waitlist);
+        }
+    }
+
+    /** Seats a waiting party now if a table is free, removing it from the waitlist. */
+    public Optional<Reservation> seatFromWaitlist(String id) {
+        synchronized (waitlist) {
+            for (int i = 0; i < waitlist.size(); i++) {
+                WaitlistEntry entry = waitlist.get(i);
+                if (entry.getId().equals(id)) {
+                    LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+                    Duration stay = clampToDay(now, defaultDuration(entry.getPartySize()));
+                    Optional<Reservation> seated = book(entry.getGuestName(), entry.getPartySize(), now, stay);
+                    if (seated.isPresent()) {
+                        waitlist.remove(i);
+                    }
+                    return seated;
+                }
+            }
+        }
+        throw new IllegalArgumentException("No waitlist entry " + id);
+    }
+
+    public boolean leaveWaitlist(String id) {
+        synchronized (waitlist) {
+            return waitlist.removeIf(entry -> entry.getId().equals(id));
+        }
+    }
+
+    /**
+     * Walks the line in order: each party claims, among the tables that fit it, the one whose
+     * next free stretch long enough for its stay starts earliest; that table is then held for
+     * the stay so later parties queue behind it. Waits are rounded to whole slots; -1 means
+     * no table frees up before close.
+     */
+    private List<WaitlistQuote> quote(List<WaitlistEntry> line) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int nowSlot = (now.getHour() * 60 + now.getMinute()) / SLOT_MINUTES;
+        int[] heldUntil = new int[tables.size()];
+        List<WaitlistQuote> quotes = new ArrayList<>(line.size());
+        DaySchedule day = days.getOrDefault(now.toLocalDate(), noBookings);
+        synchronized (day) {
+            for (WaitlistEntry entry : line) {
+                int stay = (int) Math.ceil(defaultDuration(entry.getPartySize()).toMinutes() / (double) SLOT_MINUTES);
+                int bestTable = -1;
+                int bestStart = Integer.MAX_VALUE;
+                for (int table = 0; table < tables.size(); table++) {
+                    if (tables.get(table).getSeats() < entry.getPartySize()) {
+                        continue;
+                    }
+                    int start = Math.max(nowSlot, heldUntil[table]);
+                    while (start < bestStart && start < DaySchedule.SLOTS
+                        && !day.isFree(table, start, Math.min(DaySchedule.SLOTS, start + stay))) {
+                        start++;
+                    }
+                    if (start < bestStart && start < DaySchedule.SLOTS) {
+                        bestStart = start;
+                        bestTable = table;
+                    }
+                }
+                if (bestTable < 0) {
+                    quotes.add(new WaitlistQuote(entry, -1));
+                    continue;
+                }
+                heldUntil[bestTable] = bestStart + stay;
+                quotes.add(new WaitlistQuote(entry, (long) (bestStart - nowSlot) * SLOT_MINUTES));
+            }
+        }
+        return quotes;
+    }
+
+    private int bestFit(DaySchedule day, int[] range, long[] candidates) {
+        long[] free = new long[day.words()];
+        day.free(range[0], range[1], candidates, free);
+        for (int w = 0; w < free.length; w++) {
+            if (free[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(free[w]);
+            }
+        }
+        return -1;
+    }
+
+    private long[] fitMask(int partySize) {
+        if (partySize < 1 || partySize >= fitMasks.length) {
+            throw new IllegalArgumentException("No table seats a party of " + partySize);
+        }
+        return fitMasks[partySize];
+    }
+
+    /** The day's schedule for a booking, created if it has none yet. */
+    private DaySchedule schedule(LocalDate date) {
+        checkDate(date);
+        return days.computeIfAbsent(date, ignored -> new DaySchedule(tables.size()));
+    }
+
+    /** The day's schedule for a lookup, which never creates one: a day without bookings has every table free. */
+    private DaySchedule existing(LocalDate date) {
+        checkDate(date);
+        return days.getOrDefault(date, noBookings);
+    }
+
+    /** Rejects dates outside the booking window, and drops past days the first time the date moves on. */
+    private void checkDate(LocalDate date) {
+        LocalDate today = LocalDate.now(clock);
+        if (date.isBefore(today)) {
+            throw new IllegalArgumentException("Date " + date + " has passed");
+        }
+        if (date.isAfter(today.plusDays(MAX_DAYS_AHEAD))) {
+            throw new IllegalArgumentException("Reservations open " + MAX_DAYS_AHEAD + " days ahead; " + date
+                + " is too far out");
+        }
+        if (prunedBefore.isBefore(today)) {
+            prunedBefore = today;
+            days.keySet().removeIf(day -> day.isBefore(today));
+            byId.values().removeIf(reservation -> reservation.getStart().toLocalDate().isBefore(today));
+        }
+    }
+
+    /** {@code [first slot, end slot)} covering the stay; stays may not run past midnight. */
+    private static int[] slotRange(LocalDateTime start, Duration length) {
+        if (length.isNegative() || length.isZero()) {
+            throw new IllegalArgumentException("Reservation length must be positive");
+        }
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        long endMinute = startMinute + length.toMinutes();
+        if (endMinute > 24 * 60) {
+            throw new IllegalArgumentException("Reservations must end by midnight");
+        }
+        return new int[] {startMinute / SLOT_MINUTES, (int) ((endMinute + SLOT_MINUTES - 1) / SLOT_MINUTES)};
+    }
+
+    private static Duration clampToDay(LocalDateTime start, Duration stay) {
+        long left = 24 * 60 - (start.getHour() * 60L + start.getMinute());
+        return stay.toMinutes() <= left ? stay : Duration.ofMinutes(Math.max(1, left));
+    }
+
+    public record WaitlistQuote(WaitlistEntry entry, long waitMinutes) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.restaurant.app.service;
+
+import com.restaurant.app.model.Order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Recent-order history split into independently locked shards keyed by a hash of the
+ * table number, so concurrent writers for different tables rarely contend. Each shard
+ * keeps its newest {@code limit} orders sorted newest-first; reads k-way merge the
+ * shards by {@code createdAt}, which yields exactly the global newest {@code limit}.
+ */
+final class ShardedOrderStore {
+    private static final Comparator<Order> NEWEST_FIRST = Comparator.comparing(Order::getCreatedAt).reversed();
+
+    private final Shard[] shards;
+    private final int limit;
+
+    ShardedOrderStore(int shardCount, int limit) {
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.limit = limit;
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    /** Inserts the order and runs {@code onAdded} while still holding the shard lock. */
+    void add(Order order, Consumer<Order> onAdded) {
+        Shard shard = shards[Math.floorMod(order.getTableNumber().hashCode(), shards.length)];
+        synchronized (shard) {
+            shard.insert(order);
+            while (shard.orders.size() > limit) {
+                shard.orders.removeLast();
+            }
+            onAdded.accept(order);
+        }
+    }
+
+    List<Order> newest() {
+        List<Order[]> snapshots = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                if (!shard.orders.isEmpty()) {
+                    snapshots.add(shard.orders.toArray(new Order[0]));
+                }
+            }
+        }
+        if (snapshots.size() == 1) {
+            return new ArrayList<>(Arrays.asList(snapshots.get(0)));
+        }
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, snapshots.size()),
+            (a, b) -> NEWEST_FIRST.compare(a.current(), b.current()));
+        for (Order[] snapshot : snapshots) {
+            heads.add(new Cursor(snapshot));
+        }
+        List<Order> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.current());
+            if (++cursor.index < cursor.orders.length) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    void clear() {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.orders.clear();
+            }
+        }
+    }
+
+    private static final class Shard {
+        private final Deque<Order> orders = new ArrayDeque<>();
+
+        /** Orders almost always arrive newest; late arrivals are sifted into place. */
+        private void insert(Order order) {
+            if (orders.isEmpty() || !order.getCreatedAt().isBefore(orders.peekFirst().getCreatedAt())) {
+                orders.addFirst(order);
+                return;
+            }
+            Deque<Order> newer = new ArrayDeque<>();
+            while (!orders.isEmpty() && order.getCreatedAt().isBefore(orders.peekFirst().getCreatedAt())) {
+                newer.push(orders.pollFirst());
+            }
+            orders.addFirst(order);
+            while (!newer.isEmpty()) {
+                orders.addFirst(newer.pop());
+            }
+        }
+    }
+
+    private static final class Cursor {
+        private final Order[] orders;
+        private int index;
+
+        private Cursor(Order[] orders) {
+            this.orders = orders;
+        }
+
+        private Order current() {
+            return orders[index];
+        }
+    }
+}
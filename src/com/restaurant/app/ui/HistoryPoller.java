@@ -0,0 +1,72 @@
+package com.restaurant.app.ui;
+
+import com.restaurant.app.client.OrderApiClient;
+
+import javax.swing.SwingWorker;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Polls the server's order history on its own daemon thread, so a slow server never ties up
+ * threads other work needs. Snapshots are published through {@link SwingWorker#publish},
+ * which coalesces them, and only the newest snapshot of each EDT batch is handed to the
+ * consumer.
+ */
+final class HistoryPoller extends SwingWorker<Void, List<Map<String, Object>>> {
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final OrderApiClient client;
+    private final long intervalMillis;
+    private final Consumer<List<Map<String, Object>>> onSnapshot;
+    private final Consumer<Boolean> onConnectivity;
+
+    HistoryPoller(OrderApiClient client, long intervalMillis,
+                  Consumer<List<Map<String, Object>>> onSnapshot, Consumer<Boolean> onConnectivity) {
+        this.client = client;
+        this.intervalMillis = intervalMillis;
+        this.onSnapshot = onSnapshot;
+        this.onConnectivity = onConnectivity;
+    }
+
+    @Override
+    protected Void doInBackground() throws Exception {
+        long delay = intervalMillis;
+        boolean online = true;
+        while (!isCancelled()) {
+            try {
+                publish(client.fetchHistory());
+                delay = intervalMillis;
+                if (!online) {
+                    online = true;
+                    firePropertyChange("online", false, true);
+                }
+            } catch (IOException ex) {
+                delay = Math.min(MAX_BACKOFF_MILLIS, delay * 2);
+                if (online) {
+                    online = false;
+                    firePropertyChange("online", true, false);
+                }
+            }
+            Thread.sleep(delay);
+        }
+        return null;
+    }
+
+    @Override
+    protected void process(List<List<Map<String, Object>>> snapshots) {
+        onSnapshot.accept(snapshots.get(snapshots.size() - 1));
+    }
+
+    void start() {
+        addPropertyChangeListener(event -> {
+            if ("online".equals(event.getPropertyName())) {
+                onConnectivity.accept((Boolean) event.getNewValue());
+            }
+        });
+        Thread thread = new Thread(this, "history-poller");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
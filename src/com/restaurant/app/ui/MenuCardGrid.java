@@ -0,0 +1,231 @@
+package com.restaurant.app.ui;
+
+import com.restaurant.app.model.MenuItem;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.text.View;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Two-column grid of menu cards that only materializes cards for rows inside the
+ * viewport. Cards scrolled out of view are returned to a pool and rebound to other
+ * items, and each item's description HTML is parsed into a {@link View} once.
+ * <p>
+ * Public only so {@code bench.MenuGridBenchmark} can drive it headless; the point of sale
+ * is its one real user.
+ */
+public final class MenuCardGrid extends JPanel implements Scrollable {
+    private static final long serialVersionUID = 1L;
+    private static final int COLUMNS = 2;
+    private static final int GAP = 14;
+    private static final int CARD_HEIGHT = 150;
+    private static final int ROW_HEIGHT = CARD_HEIGHT + GAP;
+
+    private final transient Function<String, JButton> buttonFactory;
+    private final transient Consumer<MenuItem> onAdd;
+    private final transient Map<MenuItem, CardContent> contentCache = new IdentityHashMap<>();
+    private final Map<Integer, MenuCard> boundCards = new HashMap<>();
+    private final Deque<MenuCard> spareCards = new ArrayDeque<>();
+    private final JLabel htmlHost = new JLabel();
+    private transient List<MenuItem> items = List.of();
+
+    public MenuCardGrid(Function<String, JButton> buttonFactory, Consumer<MenuItem> onAdd) {
+        super(null);
+        this.buttonFactory = buttonFactory;
+        this.onAdd = onAdd;
+        htmlHost.setFont(UiResources.BODY_FONT);
+        setOpaque(false);
+    }
+
+    public void setItems(List<MenuItem> newItems) {
+        items = List.copyOf(newItems);
+        boundCards.values().forEach(this::recycle);
+        boundCards.clear();
+        revalidate();
+        if (getParent() instanceof JViewport viewport) {
+            viewport.setViewPosition(new Point(0, 0));
+        }
+        layoutVisibleCards();
+        repaint();
+    }
+
+    public int getMaterializedCardCount() {
+        return boundCards.size() + spareCards.size();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport viewport) {
+            viewport.addChangeListener(e -> layoutVisibleCards());
+        }
+    }
+
+    @Override
+    public void doLayout() {
+        layoutVisibleCards();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int rows = (items.size() + COLUMNS - 1) / COLUMNS;
+        int width = getParent() == null ? 0 : getParent().getWidth();
+        return new Dimension(width, Math.max(0, rows * ROW_HEIGHT - GAP));
+    }
+
+    private void layoutVisibleCards() {
+        Rectangle visible = getVisibleRect();
+        if (items.isEmpty() || visible.height == 0) {
+            return;
+        }
+        int cardWidth = (getWidth() - GAP * (COLUMNS - 1)) / COLUMNS;
+        int first = Math.max(0, visible.y / ROW_HEIGHT) * COLUMNS;
+        int last = Math.min(items.size(), ((visible.y + visible.height) / ROW_HEIGHT + 1) * COLUMNS);
+
+        boundCards.entrySet().removeIf(entry -> {
+            if (entry.getKey() < first || entry.getKey() >= last) {
+                recycle(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        for (int index = first; index < last; index++) {
+            MenuCard card = boundCards.get(index);
+            if (card == null) {
+                card = spareCards.isEmpty() ? createCard() : spareCards.pop();
+                card.bind(items.get(index), contentFor(items.get(index)));
+                card.setVisible(true);
+                boundCards.put(index, card);
+            }
+            int column = index % COLUMNS;
+            int row = index / COLUMNS;
+            card.setBounds(column * (cardWidth + GAP), row * ROW_HEIGHT, cardWidth, CARD_HEIGHT);
+            card.validate();
+        }
+    }
+
+    private void recycle(MenuCard card) {
+        card.setVisible(false);
+        spareCards.push(card);
+    }
+
+    private MenuCard createCard() {
+        MenuCard card = new MenuCard();
+        add(card);
+        return card;
+    }
+
+    private CardContent contentFor(MenuItem item) {
+        return contentCache.computeIfAbsent(item, key -> new CardContent(
+            BasicHTML.createHTMLView(htmlHost,
+                "<html><span style='color: #6E7681;'>" + key.getDescription() + "</span></html>"),
+            String.format("$%.2f", key.getPrice())
+        ));
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return GAP;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return Math.max(ROW_HEIGHT, visibleRect.height - ROW_HEIGHT);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    private record CardContent(View description, String priceText) {
+    }
+
+    private final class MenuCard extends JPanel {
+        private static final long serialVersionUID = 1L;
+        private final JLabel name = new JLabel();
+        private final DescriptionView description = new DescriptionView();
+        private final JLabel price = new JLabel();
+        private transient MenuItem item;
+
+        private MenuCard() {
+            super(new BorderLayout(0, 6));
+            setBackground(ColorPalette.CARD);
+            setBorder(UiResources.MENU_CARD_BORDER);
+
+            name.setFont(UiResources.CARD_TITLE_FONT);
+            name.setForeground(ColorPalette.TEXT);
+            add(name, BorderLayout.NORTH);
+            add(description, BorderLayout.CENTER);
+
+            JPanel footer = new JPanel(new BorderLayout());
+            footer.setOpaque(false);
+            price.setFont(UiResources.PRICE_FONT);
+            price.setForeground(ColorPalette.PRIMARY);
+            footer.add(price, BorderLayout.WEST);
+
+            JButton addButton = buttonFactory.apply("Add");
+            addButton.addActionListener(e -> onAdd.accept(item));
+            addButton.setPreferredSize(new Dimension(90, 32));
+            footer.add(addButton, BorderLayout.EAST);
+            add(footer, BorderLayout.SOUTH);
+        }
+
+        private void bind(MenuItem menuItem, CardContent content) {
+            item = menuItem;
+            name.setText(menuItem.getName());
+            description.view = content.description();
+            description.repaint();
+            price.setText(content.priceText());
+        }
+    }
+
+    /** Paints a pre-parsed HTML view without re-parsing on bind or repaint. */
+    private static final class DescriptionView extends JComponent {
+        private static final long serialVersionUID = 1L;
+        private transient View view;
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (view == null) {
+                return;
+            }
+            Rectangle bounds = new Rectangle(0, 0, getWidth(), getHeight());
+            view.setSize(bounds.width, bounds.height);
+            view.paint(g, bounds);
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(0, UiResources.BODY_FONT.getSize() * 3);
+        }
+    }
+}
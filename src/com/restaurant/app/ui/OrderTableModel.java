@@ -4,10 +4,18 @@ import com.restaurant.app.model.OrderItem;
 
 import javax.swing.table.AbstractTableModel;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Table model for the open ticket. {@link #setRows} diffs the new item list against
+ * the current rows and fires insert/update/delete events for only the rows that
+ * changed; formatted prices are cached per row so repaints never call {@code String.format}.
+ */
 public class OrderTableModel extends AbstractTableModel {
-    private final List<OrderItem> rows = new ArrayList<>();
+    private final List<Row> rows = new ArrayList<>();
     private final String[] columns = {"Item", "Qty", "Price", "Line Total"};
 
     @Override
@@ -27,28 +35,88 @@ public class OrderTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        OrderItem item = rows.get(rowIndex);
+        Row row = rows.get(rowIndex);
         return switch (columnIndex) {
-            case 0 -> item.getMenuItem().getName();
-            case 1 -> item.getQuantity();
-            case 2 -> String.format("$%.2f", item.getMenuItem().getPrice());
-            case 3 -> String.format("$%.2f", item.getLineTotal());
+            case 0 -> row.item.getMenuItem().getName();
+            case 1 -> row.quantity;
+            case 2 -> row.priceText;
+            case 3 -> row.lineTotalText;
             default -> "";
         };
     }
 
     public void setRows(List<OrderItem> items) {
-        rows.clear();
-        rows.addAll(items);
-        fireTableDataChanged();
+        Set<OrderItem> incoming = Collections.newSetFromMap(new IdentityHashMap<>());
+        incoming.addAll(items);
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            if (!incoming.contains(rows.get(i).item)) {
+                rows.remove(i);
+                fireTableRowsDeleted(i, i);
+            }
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            if (i < rows.size() && rows.get(i).item == item) {
+                if (rows.get(i).refresh()) {
+                    fireTableRowsUpdated(i, i);
+                }
+            } else if (indexOf(item, i + 1) >= 0) {
+                // Items were reordered rather than added or removed; not worth diffing.
+                replaceAll(items);
+                return;
+            } else {
+                rows.add(i, new Row(item));
+                fireTableRowsInserted(i, i);
+            }
+        }
     }
 
     public OrderItem getRow(int index) {
         if (index < 0 || index >= rows.size()) {
             return null;
         }
-        return rows.get(index);
+        return rows.get(index).item;
     }
-}
 
+    private int indexOf(OrderItem item, int from) {
+        for (int i = from; i < rows.size(); i++) {
+            if (rows.get(i).item == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
 
+    private void replaceAll(List<OrderItem> items) {
+        rows.clear();
+        for (OrderItem item : items) {
+            rows.add(new Row(item));
+        }
+        fireTableDataChanged();
+    }
+
+    private static final class Row {
+        private final OrderItem item;
+        private final String priceText;
+        private int quantity;
+        private String lineTotalText;
+
+        private Row(OrderItem item) {
+            this.item = item;
+            this.priceText = String.format("$%.2f", item.getMenuItem().getPrice());
+            this.quantity = item.getQuantity();
+            this.lineTotalText = String.format("$%.2f", item.getLineTotal());
+        }
+
+        /** Re-reads the quantity; returns {@code true} if the row's display changed. */
+        private boolean refresh() {
+            if (item.getQuantity() == quantity) {
+                return false;
+            }
+            quantity = item.getQuantity();
+            lineTotalText = String.format("$%.2f", item.getLineTotal());
+            return true;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.restaurant.app.ui;
 
+import com.restaurant.app.client.OrderApiClient;
+import com.restaurant.app.client.OrderJournal;
+import com.restaurant.app.client.OrderSyncService;
 import com.restaurant.app.data.MenuData;
+import com.restaurant.app.events.OrderEvent;
 import com.restaurant.app.model.MenuItem;
 import com.restaurant.app.model.Order;
 import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.pricing.PriceBreakdown;
+import com.restaurant.app.pricing.PricingPlan;
 import com.restaurant.app.service.OrderManager;
 
 import javax.swing.BorderFactory;
@@ -20,6 +26,7 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -27,19 +34,44 @@ import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.GridLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class RestaurantApp extends JFrame {
 
+    private static final int HISTORY_VIEW_LIMIT = 200;
+    private static final long HISTORY_POLL_MILLIS = 2_000;
+
     private final Map<String, List<MenuItem>> menu = MenuData.loadMenu();
     private final OrderManager orderManager = new OrderManager();
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pos-background");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final OrderApiClient apiClient;
+    private final OrderSyncService syncService;
+    private Set<String> knownOrderIds = new HashSet<>();
     private Order currentOrder = new Order();
+    private int queuedOrders;
+    private boolean serverOnline = true;
 
     private final OrderTableModel tableModel = new OrderTableModel();
     private final DefaultListModel<String> historyModel = new DefaultListModel<>();
 
-    private JPanel menuGridPanel;
+    private MenuCardGrid menuGrid;
     private JTable orderTable;
     private JTextField tableField;
     private JTextArea noteArea;
@@ -48,7 +80,17 @@ public class RestaurantApp extends JFrame {
     private JLabel totalLabel;
 
     public RestaurantApp() {
+        this(null);
+    }
+
+    /**
+     * @param serverUri base URI of a running web server whose order API this terminal
+     *                  should use, or {@code null} to keep orders in a local {@link OrderManager}
+     */
+    public RestaurantApp(URI serverUri) {
         super("Restaurant Order Management");
+        this.apiClient = serverUri == null ? null : new OrderApiClient(serverUri);
+        this.syncService = apiClient == null ? null : createSyncService(apiClient);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setMinimumSize(new Dimension(1180, 740));
         setLocationRelativeTo(null);
@@ -56,6 +98,76 @@ public class RestaurantApp extends JFrame {
         initUi();
         refreshOrderTable();
         updateSummary();
+        if (apiClient != null) {
+            // Syncing and polling start once the frame is up so they stay off the first paint.
+            addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent event) {
+                    startRemoteServices();
+                }
+            });
+        } else {
+            followLocalOrders();
+        }
+    }
+
+    /**
+     * Local mode: the history list follows the order event bus, so placing an order does no
+     * list work inline. Each batch of new orders reaches the EDT as one insertion.
+     */
+    private void followLocalOrders() {
+        List<String> pending = new ArrayList<>();
+        orderManager.getEvents().subscribe("desktop-history", 64, (event, endOfBatch) -> {
+            if (event.getType() == OrderEvent.Type.CREATED) {
+                pending.add(0, event.getOrder().summaryLine());
+            }
+            if (endOfBatch && !pending.isEmpty()) {
+                List<String> lines = List.copyOf(pending);
+                pending.clear();
+                SwingUtilities.invokeLater(() -> prependHistory(lines));
+            }
+        });
+    }
+
+    private void startRemoteServices() {
+        syncService.start();
+        new HistoryPoller(apiClient, HISTORY_POLL_MILLIS, this::applyHistory, online -> {
+            serverOnline = online;
+            updateConnectionTitle();
+        }).start();
+    }
+
+    private OrderSyncService createSyncService(OrderApiClient client) {
+        Path journalPath = Path.of(System.getProperty("restaurant.journal",
+            Path.of(System.getProperty("user.home"), ".restaurant-pos", "pending-orders.ndjson").toString()));
+        OrderJournal journal;
+        try {
+            journal = new OrderJournal(journalPath);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open order journal " + journalPath, ex);
+        }
+        return new OrderSyncService(journal, client, new OrderSyncService.Listener() {
+            @Override
+            public void onSynced(List<Map<String, Object>> acceptedOrders) {
+                SwingUtilities.invokeLater(() -> applySynced(acceptedOrders));
+            }
+
+            @Override
+            public void onRejected(Map<String, Object> payload, String reason) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(RestaurantApp.this,
+                    "Server rejected the order for table " + payload.get("table") + ": " + reason,
+                    "Order Rejected", JOptionPane.ERROR_MESSAGE));
+            }
+
+            @Override
+            public void onStateChanged(int pendingCount, boolean online) {
+                SwingUtilities.invokeLater(() -> {
+                    queuedOrders = pendingCount;
+                    serverOnline = online;
+                    updateConnectionTitle();
+                });
+            }
+        });
     }
 
     private void initUi() {
@@ -99,11 +211,12 @@ public class RestaurantApp extends JFrame {
         categoryScroll.setPreferredSize(new Dimension(200, 140));
         container.add(categoryScroll, BorderLayout.WEST);
 
-        menuGridPanel = new JPanel(new GridLayout(0, 2, 14, 14));
-        menuGridPanel.setOpaque(false);
+        menuGrid = new MenuCardGrid(this::createPrimaryButton, this::handleAddItem);
 
-        JScrollPane menuScroll = new JScrollPane(menuGridPanel);
+        JScrollPane menuScroll = new JScrollPane(menuGrid);
         menuScroll.setBorder(BorderFactory.createEmptyBorder());
+        menuScroll.getViewport().setOpaque(false);
+        menuScroll.setOpaque(false);
         menuScroll.getVerticalScrollBar().setUnitIncrement(14);
         container.add(menuScroll, BorderLayout.CENTER);
 
@@ -185,7 +298,7 @@ public class RestaurantApp extends JFrame {
         panel.setBorder(new EmptyBorder(0, 16, 0, 0));
 
         subtotalLabel = createSummaryLabel("Subtotal", "$0.00");
-        taxLabel = createSummaryLabel("Tax (8%)", "$0.00");
+        taxLabel = createSummaryLabel(PricingPlan.getDefault().getTaxLabel(), "$0.00");
         totalLabel = createSummaryLabel("Due", "$0.00");
         totalLabel.setFont(new Font("Segoe UI", Font.BOLD, 22));
         totalLabel.setForeground(ColorPalette.PRIMARY_DARK);
@@ -226,7 +339,9 @@ public class RestaurantApp extends JFrame {
         card.add(historyScroll, BorderLayout.CENTER);
 
         JButton clear = accentButton("Clear History", e -> {
-            orderManager.clearHistory();
+            if (apiClient == null) {
+                orderManager.clearHistory();
+            }
             historyModel.clear();
         });
         clear.setPreferredSize(new Dimension(160, 36));
@@ -236,43 +351,7 @@ public class RestaurantApp extends JFrame {
     }
 
     private void renderMenuCards(List<MenuItem> items) {
-        menuGridPanel.removeAll();
-        for (MenuItem item : items) {
-            JPanel card = new JPanel(new BorderLayout(0, 6));
-            card.setBackground(ColorPalette.CARD);
-            card.setBorder(BorderFactory.createCompoundBorder(
-                createSoftBorder(),
-                new EmptyBorder(12, 12, 12, 12)
-            ));
-
-            JLabel name = new JLabel(item.getName());
-            name.setFont(new Font("Segoe UI", Font.BOLD, 15));
-            name.setForeground(ColorPalette.TEXT);
-            card.add(name, BorderLayout.NORTH);
-
-            JLabel desc = new JLabel("<html><span style='color: #6E7681;'>" + item.getDescription() + "</span></html>");
-            desc.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-            card.add(desc, BorderLayout.CENTER);
-
-            JPanel footer = new JPanel(new BorderLayout());
-            footer.setOpaque(false);
-
-            JLabel price = new JLabel(String.format("$%.2f", item.getPrice()));
-            price.setFont(new Font("Segoe UI", Font.BOLD, 16));
-            price.setForeground(ColorPalette.PRIMARY);
-            footer.add(price, BorderLayout.WEST);
-
-            JButton addButton = primaryButton("Add", e -> {
-                handleAddItem(item);
-            });
-            addButton.setPreferredSize(new Dimension(90, 32));
-            footer.add(addButton, BorderLayout.EAST);
-
-            card.add(footer, BorderLayout.SOUTH);
-            menuGridPanel.add(card);
-        }
-        menuGridPanel.revalidate();
-        menuGridPanel.repaint();
+        menuGrid.setItems(items);
     }
 
     private void handleAddItem(MenuItem item) {
@@ -316,16 +395,112 @@ public class RestaurantApp extends JFrame {
         }
         currentOrder.setTableNumber(tableField.getText().isBlank() ? "TBD" : tableField.getText().trim());
         currentOrder.setNotes(noteArea.getText().trim());
+        if (apiClient != null) {
+            submitRemote(currentOrder);
+            resetCurrentOrder();
+            return;
+        }
         orderManager.addOrder(currentOrder);
-        historyModel.add(0, currentOrder.summaryLine());
 
+        resetCurrentOrder();
+        JOptionPane.showMessageDialog(this, "Order sent to kitchen!", "Success", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private void resetCurrentOrder() {
         currentOrder = new Order();
         tableField.setText("A1");
         noteArea.setText("");
         refreshOrderTable();
         updateSummary();
+    }
 
-        JOptionPane.showMessageDialog(this, "Order sent to kitchen!", "Success", JOptionPane.INFORMATION_MESSAGE);
+    /**
+     * Journals the order on a background thread and returns immediately; the sync
+     * service delivers it whenever the server is reachable.
+     */
+    private void submitRemote(Order order) {
+        Map<String, Object> payload = OrderApiClient.toPayload(order);
+        backgroundExecutor.execute(() -> {
+            try {
+                syncService.enqueue(payload);
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "Order sent to kitchen!",
+                    "Success", JOptionPane.INFORMATION_MESSAGE));
+            } catch (IOException ex) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Order for table " + order.getTableNumber() + " could not be saved: " + ex.getMessage(),
+                    "Order Not Saved", JOptionPane.ERROR_MESSAGE));
+            }
+        });
+    }
+
+    /**
+     * Merges a newest-first history snapshot from the poller into the list on the EDT,
+     * inserting only unseen orders with a single list event. Only the ids in the latest
+     * snapshot are remembered, since older orders have dropped out of it for good.
+     */
+    private void applyHistory(List<Map<String, Object>> snapshot) {
+        List<String> fresh = unseen(snapshot);
+        Set<String> ids = new HashSet<>();
+        for (Map<String, Object> summary : snapshot) {
+            ids.add(String.valueOf(summary.get("id")));
+        }
+        knownOrderIds = ids;
+        prependHistory(fresh);
+    }
+
+    /**
+     * Orders the sync service just delivered, oldest first as they were journaled; their ids
+     * join those of the latest snapshot.
+     */
+    private void applySynced(List<Map<String, Object>> accepted) {
+        List<String> fresh = unseen(accepted);
+        Collections.reverse(fresh);
+        for (Map<String, Object> summary : accepted) {
+            knownOrderIds.add(String.valueOf(summary.get("id")));
+        }
+        prependHistory(fresh);
+    }
+
+    private List<String> unseen(List<Map<String, Object>> summaries) {
+        List<String> fresh = new ArrayList<>();
+        for (Map<String, Object> summary : summaries) {
+            if (!knownOrderIds.contains(String.valueOf(summary.get("id")))) {
+                fresh.add(formatRemoteSummary(summary));
+            }
+        }
+        return fresh;
+    }
+
+    private void prependHistory(List<String> newestFirst) {
+        if (newestFirst.isEmpty()) {
+            return;
+        }
+        historyModel.addAll(0, newestFirst);
+        if (historyModel.size() > HISTORY_VIEW_LIMIT) {
+            historyModel.removeRange(HISTORY_VIEW_LIMIT, historyModel.size() - 1);
+        }
+    }
+
+    private String formatRemoteSummary(Map<String, Object> summary) {
+        Object total = summary.get("total");
+        return String.format(
+            "#%s • Table %s • %s • $%.2f",
+            summary.get("id"),
+            summary.get("table"),
+            summary.get("placedAt"),
+            total instanceof Number number ? number.doubleValue() : 0.0
+        );
+    }
+
+    private void updateConnectionTitle() {
+        String title = "Restaurant Order Management";
+        if (!serverOnline) {
+            title += " (server offline)";
+        }
+        if (queuedOrders > 0) {
+            title += " - " + queuedOrders + " order" + (queuedOrders == 1 ? "" : "s") + " queued";
+        }
+        setTitle(title);
     }
 
     private void refreshOrderTable() {
@@ -333,9 +508,14 @@ public class RestaurantApp extends JFrame {
     }
 
     private void updateSummary() {
-        subtotalLabel.setText(formatSummaryValue("Subtotal", currentOrder.getSubtotal()));
-        taxLabel.setText(formatSummaryValue("Tax (8%)", currentOrder.getTax()));
-        totalLabel.setText(formatSummaryValue("Due", currentOrder.getTotal()));
+        PriceBreakdown price = currentOrder.getPrice();
+        String subtotal = formatSummaryValue("Subtotal", price.subtotalCents() / 100.0);
+        if (price.discountCents() > 0) {
+            subtotal += String.format(" (-$%.2f promos)", price.discountCents() / 100.0);
+        }
+        subtotalLabel.setText(subtotal);
+        taxLabel.setText(formatSummaryValue(currentOrder.getPricing().getTaxLabel(), price.taxCents() / 100.0));
+        totalLabel.setText(formatSummaryValue("Due", price.totalCents() / 100.0));
     }
 
     private JLabel createSummaryLabel(String label, String value) {
@@ -360,13 +540,18 @@ public class RestaurantApp extends JFrame {
     }
 
     private javax.swing.border.Border createSoftBorder() {
-        return BorderFactory.createLineBorder(ColorPalette.BORDER, 1, true);
+        return UiResources.SOFT_BORDER;
     }
 
     private JButton primaryButton(String text, java.awt.event.ActionListener listener) {
+        JButton button = createPrimaryButton(text);
+        button.addActionListener(listener);
+        return button;
+    }
+
+    private JButton createPrimaryButton(String text) {
         JButton button = new JButton(text);
         styleButton(button, ColorPalette.PRIMARY, Color.WHITE);
-        button.addActionListener(listener);
         return button;
     }
 
@@ -381,7 +566,7 @@ public class RestaurantApp extends JFrame {
         button.setBackground(bg);
         button.setForeground(fg);
         button.setFocusPainted(false);
-        button.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        button.setFont(UiResources.BUTTON_FONT);
         button.setBorder(BorderFactory.createEmptyBorder(8, 16, 8, 16));
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
     }
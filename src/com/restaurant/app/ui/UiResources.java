@@ -0,0 +1,26 @@
+package com.restaurant.app.ui;
+
+import javax.swing.BorderFactory;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+import java.awt.Font;
+
+/**
+ * Shared, immutable fonts and borders so views never allocate them per component.
+ */
+public final class UiResources {
+    public static final Font TITLE_FONT = new Font("Segoe UI", Font.BOLD, 22);
+    public static final Font CARD_TITLE_FONT = new Font("Segoe UI", Font.BOLD, 15);
+    public static final Font BODY_FONT = new Font("Segoe UI", Font.PLAIN, 13);
+    public static final Font PRICE_FONT = new Font("Segoe UI", Font.BOLD, 16);
+    public static final Font BUTTON_FONT = new Font("Segoe UI", Font.BOLD, 14);
+
+    public static final Border SOFT_BORDER = BorderFactory.createLineBorder(ColorPalette.BORDER, 1, true);
+    public static final Border MENU_CARD_BORDER = BorderFactory.createCompoundBorder(
+        SOFT_BORDER,
+        new EmptyBorder(12, 12, 12, 12)
+    );
+
+    private UiResources() {
+    }
+}
@@ -0,0 +1,196 @@
+package com.restaurant.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reusable growable byte buffer with allocation-free JSON primitives. Hot paths keep
+ * one per thread and {@link #reset()} it per request, so steady-state serialization
+ * produces no garbage.
+ */
+public final class ByteSink {
+    private static final int RETAIN_LIMIT = 1 << 20;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final int initialCapacity;
+    private byte[] buffer;
+    private int size;
+
+    public ByteSink(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /** Empties the sink, dropping an oversized backing array so one huge payload is not pinned forever. */
+    public ByteSink reset() {
+        if (buffer.length > RETAIN_LIMIT) {
+            buffer = new byte[initialCapacity];
+        }
+        size = 0;
+        return this;
+    }
+
+    public byte[] array() {
+        return buffer;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public ByteSink write(int b) {
+        ensure(1);
+        buffer[size++] = (byte) b;
+        return this;
+    }
+
+    public ByteSink write(byte[] bytes) {
+        return write(bytes, 0, bytes.length);
+    }
+
+    public ByteSink write(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+        return this;
+    }
+
+    /** Appends a string known to be ASCII (keys, literals) without encoding it. */
+    public ByteSink writeAscii(String value) {
+        int length = value.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+        return this;
+    }
+
+    /** Appends {@code value} as a quoted, escaped JSON string encoded as UTF-8. */
+    public ByteSink writeJsonString(String value) {
+        write('"');
+        writeJsonStringBody(value);
+        return write('"');
+    }
+
+    /** Escaped UTF-8 content of a JSON string without the surrounding quotes. */
+    public ByteSink writeJsonStringBody(String value) {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"' -> writeEscape('"');
+                case '\\' -> writeEscape('\\');
+                case '\n' -> writeEscape('n');
+                case '\r' -> writeEscape('r');
+                case '\t' -> writeEscape('t');
+                default -> {
+                    if (ch < 0x20) {
+                        ensure(6);
+                        buffer[size++] = '\\';
+                        buffer[size++] = 'u';
+                        buffer[size++] = '0';
+                        buffer[size++] = '0';
+                        buffer[size++] = HEX[ch >> 4];
+                        buffer[size++] = HEX[ch & 0xF];
+                    } else if (ch < 0x80) {
+                        ensure(1);
+                        buffer[size++] = (byte) ch;
+                    } else if (ch < 0x800) {
+                        ensure(2);
+                        buffer[size++] = (byte) (0xC0 | (ch >> 6));
+                        buffer[size++] = (byte) (0x80 | (ch & 0x3F));
+                    } else if (Character.isHighSurrogate(ch) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                        ensure(4);
+                        buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+                        buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else {
+                        ensure(3);
+                        buffer[size++] = (byte) (0xE0 | (ch >> 12));
+                        buffer[size++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                        buffer[size++] = (byte) (0x80 | (ch & 0x3F));
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    public ByteSink writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return writeAscii("-9223372036854775808");
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            buffer[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+        return this;
+    }
+
+    /** Writes a cent amount as a JSON number in {@code Double.toString} style: 1500 → 15.0, 1620 → 16.2. */
+    public ByteSink writeCents(long cents) {
+        if (cents < 0) {
+            write('-');
+            cents = -cents;
+        }
+        writeLong(cents / 100);
+        write('.');
+        int fraction = (int) (cents % 100);
+        write('0' + fraction / 10);
+        if (fraction % 10 != 0) {
+            write('0' + fraction % 10);
+        }
+        return this;
+    }
+
+    public ByteSink writeTwoDigits(int value) {
+        ensure(2);
+        buffer[size++] = (byte) ('0' + value / 10 % 10);
+        buffer[size++] = (byte) ('0' + value % 10);
+        return this;
+    }
+
+    /** Reads the stream to its end into this sink. */
+    public ByteSink readFrom(InputStream in) throws IOException {
+        while (true) {
+            ensure(1_024);
+            int read = in.read(buffer, size, buffer.length - size);
+            if (read < 0) {
+                return this;
+            }
+            size += read;
+        }
+    }
+
+    private void writeEscape(char escaped) {
+        ensure(2);
+        buffer[size++] = '\\';
+        buffer[size++] = (byte) escaped;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
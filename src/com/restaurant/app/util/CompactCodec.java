@@ -0,0 +1,281 @@
+package com.restaurant.app.util;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.pricing.PriceBreakdown;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema-based binary encoding for menu and order payloads, negotiated with
+ * {@code Accept: application/x-restaurant-compact}.
+ * <p>
+ * Layout: a magic byte, a version byte and a message type, followed by fields in a
+ * fixed order. Integers are unsigned LEB128 varints, money is carried as whole cents,
+ * order times as epoch minutes, and repeated strings (item names, table numbers,
+ * categories) are written once per message and then referenced by index.
+ * {@link #decode(byte[])} yields the same map/list shape as the JSON endpoints.
+ */
+public final class CompactCodec {
+
+    public static final String CONTENT_TYPE = "application/x-restaurant-compact";
+
+    private static final byte MAGIC = 'R';
+    private static final byte VERSION = 2;
+    private static final byte TYPE_MENU = 1;
+    private static final byte TYPE_ORDERS = 2;
+    private static final byte TYPE_ORDER_CREATED = 3;
+    private static final DateTimeFormatter ORDER_TIME = DateTimeFormatter.ofPattern("MMM dd HH:mm");
+
+    private CompactCodec() {
+    }
+
+    public static byte[] encodeMenu(Map<String, List<MenuItem>> menu) {
+        Output out = new Output(TYPE_MENU);
+        out.writeVarint(menu.size());
+        menu.forEach((category, items) -> {
+            out.writeInterned(category);
+            out.writeVarint(items.size());
+            for (MenuItem item : items) {
+                out.writeString(item.getCode());
+                out.writeString(item.getName());
+                out.writeString(item.getDescription());
+                out.writeVarint(toCents(item.getPrice()));
+            }
+        });
+        return out.toByteArray();
+    }
+
+    public static byte[] encodeOrders(List<Order> orders) {
+        Output out = new Output(TYPE_ORDERS);
+        out.writeVarint(orders.size());
+        for (Order order : orders) {
+            writeOrder(out, order);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] encodeOrderCreated(String message, Order order) {
+        Output out = new Output(TYPE_ORDER_CREATED);
+        out.writeString(message);
+        writeOrder(out, order);
+        return out.toByteArray();
+    }
+
+    private static void writeOrder(Output out, Order order) {
+        List<OrderItem> items = order.getItems();
+        out.writeString(order.getId());
+        out.writeInterned(order.getTableNumber());
+        out.writeString(order.getNotes());
+        out.writeVarint(order.getCreatedAt().toEpochSecond(ZoneOffset.UTC) / 60);
+        PriceBreakdown price = order.getPrice();
+        out.writeVarint(price.subtotalCents());
+        out.writeVarint(price.discountCents());
+        out.writeVarint(price.taxCents());
+        out.writeVarint(items.size());
+        for (OrderItem item : items) {
+            out.writeInterned(item.getMenuItem().getName());
+            out.writeVarint(item.getQuantity());
+            out.writeVarint(toCents(item.getLineTotal()));
+        }
+    }
+
+    public static Map<String, Object> decode(byte[] data) {
+        Input in = new Input(data);
+        if (in.readByte() != MAGIC || in.readByte() != VERSION) {
+            throw new IllegalArgumentException("Not a compact payload");
+        }
+        byte type = in.readByte();
+        Map<String, Object> result = new LinkedHashMap<>();
+        switch (type) {
+            case TYPE_MENU -> {
+                int categoryCount = (int) in.readVarint();
+                List<Map<String, Object>> categories = new ArrayList<>(categoryCount);
+                for (int c = 0; c < categoryCount; c++) {
+                    Map<String, Object> node = new LinkedHashMap<>();
+                    node.put("category", in.readInterned());
+                    int itemCount = (int) in.readVarint();
+                    List<Map<String, Object>> items = new ArrayList<>(itemCount);
+                    for (int i = 0; i < itemCount; i++) {
+                        Map<String, Object> info = new LinkedHashMap<>();
+                        info.put("code", in.readString());
+                        info.put("name", in.readString());
+                        info.put("description", in.readString());
+                        info.put("price", fromCents(in.readVarint()));
+                        items.add(info);
+                    }
+                    node.put("items", items);
+                    categories.add(node);
+                }
+                result.put("categories", categories);
+            }
+            case TYPE_ORDERS -> {
+                int count = (int) in.readVarint();
+                List<Map<String, Object>> orders = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    orders.add(readOrder(in));
+                }
+                result.put("orders", orders);
+            }
+            case TYPE_ORDER_CREATED -> {
+                result.put("message", in.readString());
+                result.put("order", readOrder(in));
+            }
+            default -> throw new IllegalArgumentException("Unknown compact message type: " + type);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> readOrder(Input in) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("id", in.readString());
+        order.put("table", in.readInterned());
+        order.put("notes", in.readString());
+        long epochMinutes = in.readVarint();
+        long subtotal = in.readVarint();
+        long discount = in.readVarint();
+        long tax = in.readVarint();
+        order.put("subtotal", fromCents(subtotal));
+        order.put("discount", fromCents(discount));
+        order.put("tax", fromCents(tax));
+        order.put("total", fromCents(subtotal - discount + tax));
+        order.put("placedAt", ORDER_TIME.format(LocalDateTime.ofEpochSecond(epochMinutes * 60, 0, ZoneOffset.UTC)));
+        int itemCount = (int) in.readVarint();
+        List<Map<String, Object>> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", in.readInterned());
+            item.put("quantity", (int) in.readVarint());
+            item.put("lineTotal", fromCents(in.readVarint()));
+            items.add(item);
+        }
+        order.put("items", items);
+        return order;
+    }
+
+    private static long toCents(double amount) {
+        return Math.max(0, Math.round(amount * 100));
+    }
+
+    private static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    private static final class Output {
+        private byte[] buffer = new byte[256];
+        private int size;
+        private final Map<String, Integer> interned = new HashMap<>();
+
+        Output(byte type) {
+            writeByte(MAGIC);
+            writeByte(VERSION);
+            writeByte(type);
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        /** Writes {@code 0 + string} on first use and {@code index + 1} afterwards. */
+        void writeInterned(String value) {
+            Integer index = interned.get(value);
+            if (index != null) {
+                writeVarint(index + 1L);
+                return;
+            }
+            interned.put(value, interned.size());
+            writeVarint(0);
+            writeString(value);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] data;
+        private int position;
+        private final List<String> interned = new ArrayList<>();
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated compact payload");
+            }
+            return data[position++];
+        }
+
+        long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            if (length < 0 || position + length > data.length) {
+                throw new IllegalArgumentException("Truncated compact payload");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        String readInterned() {
+            int index = (int) readVarint();
+            if (index == 0) {
+                String value = readString();
+                interned.add(value);
+                return value;
+            }
+            if (index > interned.size()) {
+                throw new IllegalArgumentException("Invalid string reference");
+            }
+            return interned.get(index - 1);
+        }
+    }
+}
@@ -78,7 +78,7 @@ public final class JsonUtil {
         }
     }
 
-    private static String escape(String value) {
+    public static String escape(String value) {
         return value
             .replace("\\", "\\\\")
             .replace("\"", "\\\"")
@@ -0,0 +1,85 @@
+package com.restaurant.app.util;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wall-clock timings for the phases of a launcher's {@code main}. Enabled with
+ * {@code --profileStartup} or {@code -Drestaurant.profileStartup=true}; when disabled every
+ * call is a no-op so launchers can mark phases unconditionally.
+ * <p>
+ * The report also shows how long the JVM ran before {@code main} and whether the class-data
+ * sharing archive was mapped, which is where most of a cold start goes on small machines.
+ */
+public final class StartupProfile {
+    private static final StartupProfile DISABLED = new StartupProfile(false);
+
+    private final boolean enabled;
+    private final long mainEntered = System.nanoTime();
+    private final List<String> phases = new ArrayList<>();
+    private final List<Long> durations = new ArrayList<>();
+    private long lastMark = mainEntered;
+
+    private StartupProfile(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static StartupProfile fromArgs(String[] args) {
+        boolean enabled = Boolean.getBoolean("restaurant.profileStartup");
+        for (String arg : args) {
+            if ("--profileStartup".equals(arg) || "--profileStartup=true".equals(arg)) {
+                enabled = true;
+            }
+        }
+        return enabled ? new StartupProfile(true) : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Closes the current phase under {@code name}; the next phase starts now. */
+    public void mark(String name) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            phases.add(name);
+            durations.add(now - lastMark);
+            lastMark = now;
+        }
+    }
+
+    public synchronized void report(PrintStream out) {
+        if (!enabled) {
+            return;
+        }
+        // Queried only here: the management classes are themselves slow to load.
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        long uptimeAtReport = runtime.getUptime();
+        double beforeMain = Math.max(0, uptimeAtReport - (System.nanoTime() - mainEntered) / 1e6);
+        out.printf(Locale.US, "Startup profile (class data sharing: %s):%n", sharingStatus(runtime));
+        out.printf(Locale.US, "  %-28s %8.1f ms%n", "jvm before main", beforeMain);
+        for (int i = 0; i < phases.size(); i++) {
+            out.printf(Locale.US, "  %-28s %8.1f ms%n", phases.get(i), durations.get(i) / 1e6);
+        }
+        out.printf(Locale.US, "  %-28s %8.1f ms%n", "total", beforeMain + (lastMark - mainEntered) / 1e6);
+    }
+
+    private static String sharingStatus(RuntimeMXBean runtime) {
+        if (!System.getProperty("java.vm.info", "").contains("sharing")) {
+            return "off";
+        }
+        for (String argument : runtime.getInputArguments()) {
+            if (argument.startsWith("-XX:SharedArchiveFile=")) {
+                return "application archive " + argument.substring("-XX:SharedArchiveFile=".length());
+            }
+        }
+        return "JDK classes only";
+    }
+}
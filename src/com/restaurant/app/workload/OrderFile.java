@@ -0,0 +1,129 @@
+package com.restaurant.app.workload;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.model.OrderItem;
+import com.restaurant.app.util.JsonUtil;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Orders stored one JSON object per line:
+ * <pre>
+ * {"id":"W2a-0","at":"2026-01-05T11:02:41","table":"7","notes":"","items":[{"code":"MNS-004","quantity":1}]}
+ * </pre>
+ * Apart from {@code id} and {@code at}, each line is a valid {@code POST /api/orders} body.
+ * Reading is lazy, so a replay never holds more than one order in memory.
+ */
+public final class OrderFile implements Iterator<Order>, Closeable {
+    private final BufferedReader reader;
+    private final Map<String, MenuItem> menuIndex;
+    private final Path file;
+    private String line;
+    private int lineNumber;
+
+    private OrderFile(Path file, Map<String, MenuItem> menuIndex) throws IOException {
+        this.file = file;
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.menuIndex = menuIndex;
+        advance();
+    }
+
+    /** @param menuIndex resolves item codes; an unknown code fails the read */
+    public static OrderFile open(Path file, Map<String, MenuItem> menuIndex) throws IOException {
+        return new OrderFile(file, menuIndex);
+    }
+
+    /** The line {@code order} is stored as, without the line break. */
+    public static String format(Order order) {
+        List<Map<String, Object>> items = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("code", item.getMenuItem().getCode());
+            line.put("quantity", item.getQuantity());
+            items.add(line);
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", order.getId());
+        payload.put("at", order.getCreatedAt().toString());
+        payload.put("table", order.getTableNumber());
+        payload.put("notes", order.getNotes());
+        payload.put("items", items);
+        return JsonUtil.stringify(payload);
+    }
+
+    public static void write(Writer out, Order order) throws IOException {
+        out.write(format(order));
+        out.write('\n');
+    }
+
+    @Override
+    public boolean hasNext() {
+        return line != null;
+    }
+
+    @Override
+    public Order next() {
+        if (line == null) {
+            throw new NoSuchElementException();
+        }
+        Order order;
+        try {
+            order = parse(JsonUtil.parseObject(line));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(file + ":" + lineNumber + ": " + ex.getMessage(), ex);
+        }
+        try {
+            advance();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return order;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void advance() throws IOException {
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+    }
+
+    private Order parse(Map<String, Object> payload) {
+        Order order = new Order(String.valueOf(payload.get("id")), LocalDateTime.parse(String.valueOf(payload.get("at"))));
+        order.setTableNumber(String.valueOf(payload.getOrDefault("table", "TBD")));
+        order.setNotes(String.valueOf(payload.getOrDefault("notes", "")));
+        if (!(payload.get("items") instanceof List<?> items)) {
+            throw new IllegalArgumentException("Order must include an items array");
+        }
+        for (Object element : items) {
+            if (!(element instanceof Map<?, ?> item)) {
+                throw new IllegalArgumentException("Order items must be objects");
+            }
+            MenuItem menuItem = menuIndex.get(String.valueOf(item.get("code")));
+            if (menuItem == null) {
+                throw new IllegalArgumentException("Unknown menu item code: " + item.get("code"));
+            }
+            order.addItem(menuItem, item.get("quantity") instanceof Number quantity ? quantity.intValue() : 1);
+        }
+        return order;
+    }
+}
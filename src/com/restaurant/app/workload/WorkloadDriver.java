@@ -0,0 +1,131 @@
+package com.restaurant.app.workload;
+
+import com.restaurant.app.model.Order;
+import com.restaurant.app.service.OrderManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds generated or recorded orders to a server: straight into an {@link OrderManager}, or
+ * as {@code POST /api/orders} requests over a pool of client threads.
+ * <p>
+ * HTTP load is open-loop when a rate is given: order {@code i} is due at {@code i / rate}
+ * seconds after the start and its latency is measured from then, not from when a free client
+ * got round to sending it, so a stalled server shows up as latency instead of quietly lowering
+ * the offered load.
+ */
+public final class WorkloadDriver {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private WorkloadDriver() {
+    }
+
+    /** Per-response callback, e.g. to record a latency histogram; called on the client threads. */
+    @FunctionalInterface
+    public interface ResponseListener {
+        void onResponse(int status, long latencyNanos);
+    }
+
+    /** @param failed requests answered with a status of 300 or above, or not answered at all */
+    public record Result(long sent, long failed, long elapsedNanos) {
+
+        public double perSecond() {
+            return sent / (elapsedNanos / 1e9);
+        }
+    }
+
+    /** Adds up to {@code limit} orders to {@code manager} on the calling thread. */
+    public static Result intoManager(Iterator<Order> orders, long limit, OrderManager manager) {
+        long start = System.nanoTime();
+        long sent = 0;
+        while (sent < limit && orders.hasNext()) {
+            manager.addOrder(orders.next());
+            sent++;
+        }
+        return new Result(sent, 0, System.nanoTime() - start);
+    }
+
+    /**
+     * Posts up to {@code limit} orders to {@code baseUri} from {@code connections} threads.
+     *
+     * @param ratePerSecond offered load; {@code 0} sends as fast as the server answers
+     */
+    public static Result overHttp(Iterator<Order> orders, long limit, URI baseUri, int connections,
+                                  double ratePerSecond, ResponseListener listener) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+        URI target = baseUri.resolve("/api/orders");
+        Object lock = new Object();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long start = System.nanoTime();
+        long[] claimed = {0};
+
+        List<Thread> clients = new ArrayList<>(connections);
+        for (int c = 0; c < connections; c++) {
+            Thread client = new Thread(() -> {
+                while (true) {
+                    Order order;
+                    long index;
+                    synchronized (lock) {
+                        if (claimed[0] >= limit || !orders.hasNext()) {
+                            return;
+                        }
+                        order = orders.next();
+                        index = claimed[0]++;
+                    }
+                    long due = ratePerSecond > 0 ? start + (long) (index * 1e9 / ratePerSecond) : System.nanoTime();
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    HttpRequest request = HttpRequest.newBuilder(target)
+                        .timeout(TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(OrderFile.format(order)))
+                        .build();
+                    int status;
+                    try {
+                        status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException ex) {
+                        status = 0;
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    sent.incrementAndGet();
+                    if (status == 0 || status >= 300) {
+                        failed.incrementAndGet();
+                    }
+                    if (listener != null) {
+                        listener.onResponse(status, System.nanoTime() - due);
+                    }
+                }
+            }, "workload-client-" + (c + 1));
+            client.setDaemon(true);
+            client.start();
+            clients.add(client);
+        }
+        try {
+            for (Thread client : clients) {
+                client.join();
+            }
+        } catch (InterruptedException ex) {
+            clients.forEach(Thread::interrupt);
+            throw ex;
+        }
+        return new Result(sent.get(), failed.get(), System.nanoTime() - start);
+    }
+}
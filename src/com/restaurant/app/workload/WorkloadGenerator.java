@@ -0,0 +1,285 @@
+package com.restaurant.app.workload;
+
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded menus and order traffic for benchmarks, soak tests and forecast backfills. The same
+ * seed yields the same menu and the same orders on any machine and JDK: everything is drawn
+ * from {@link Random}, whose algorithm is specified, and the few transcendental functions go
+ * through {@link StrictMath} rather than the platform-tuned {@link Math} intrinsics.
+ * <p>
+ * Traffic follows a restaurant's day: open 11:00-23:00, a lunch peak and a larger dinner rush,
+ * busier towards the weekend and in summer, with orders per hour Poisson distributed around
+ * that curve. Each order seats a party (mostly twos and fours) that orders about one dish per
+ * guest plus shared plates; dishes follow a Zipf distribution over a seeded popularity ranking,
+ * with lighter categories favoured at lunch. About one order in four carries a note.
+ */
+public final class WorkloadGenerator {
+    /** Zipf exponent of dish popularity: the top dish sells about twice as often as the second. */
+    public static final double DEFAULT_SKEW = 1.0;
+
+    private static final int OPENS = 11;
+    private static final int CLOSES = 23;
+    private static final int LUNCH_ENDS = 16;
+    /** Relative traffic per opening hour, 11:00 first. */
+    private static final double[] HOUR_SHAPE = {0.6, 1.4, 1.2, 0.6, 0.35, 0.35, 0.7, 1.3, 1.6, 1.3, 0.8, 0.4};
+    /** Relative traffic per day, Monday first. */
+    private static final double[] DAY_SHAPE = {0.7, 0.75, 0.85, 0.95, 1.3, 1.45, 1.1};
+    private static final int[] PARTY_SIZES = {1, 2, 3, 4, 5, 6, 8};
+    private static final double[] PARTY_CUMULATIVE = cumulative(new double[] {0.14, 0.38, 0.15, 0.2, 0.05, 0.05, 0.03});
+    private static final int TABLES = 24;
+    private static final Set<String> LIGHT_CATEGORIES = Set.of("Small Plates", "Greens", "Starters", "Salads");
+    private static final String[] NOTES = {
+        "no onions", "gluten free", "nut allergy", "extra spicy", "sauce on the side", "vegan",
+        "birthday celebration", "high chair needed", "catching a show, please rush", "dressing on the side"
+    };
+
+    private static final String[][] CATEGORIES = {
+        // name, code prefix, price from, price to, relative share of the menu
+        {"Starters", "STR", "6", "14", "3"},
+        {"Small Plates", "SMP", "8", "15", "3"},
+        {"Mains", "MNS", "13", "32", "5"},
+        {"Greens", "GRN", "10", "16", "2"},
+        {"Desserts", "DES", "6", "12", "2"},
+        {"Beverages", "BEV", "3", "9", "3"},
+    };
+    private static final String[] ADJECTIVES = {
+        "Smoked", "Charred", "Spiced", "Citrus", "Garlic", "Truffle", "Crispy", "Herb", "Honey", "Miso",
+        "Chili", "Roasted", "Grilled", "Lemon", "Ginger", "Saffron", "Black Pepper", "Maple", "Sesame", "Wild"
+    };
+    private static final String[][] DISHES = {
+        {"Calamari", "Wings", "Dumplings", "Soup", "Croquettes", "Flatbread", "Arancini", "Spring Rolls"},
+        {"Bruschetta", "Cauliflower Bites", "Sliders", "Tacos", "Meatballs", "Shrimp", "Edamame", "Halloumi"},
+        {"Burger", "Curry", "Steak", "Risotto", "Salmon", "Ramen", "Chicken", "Pasta", "Short Rib", "Gnocchi"},
+        {"Harvest Bowl", "Caesar", "Grain Salad", "Slaw", "Beet Salad", "Greek Salad"},
+        {"Lava Cake", "Panna Cotta", "Cheesecake", "Sorbet", "Tart", "Brownie"},
+        {"Spritz", "Iced Tea", "Lemonade", "Cold Brew", "Soda", "Mocktail", "Latte"},
+    };
+    private static final String[] SIDES = {
+        "herb butter", "pickled shallots", "toasted seeds", "aioli", "house greens", "chili oil",
+        "roasted garlic", "fresh mint", "lime", "parmesan", "jasmine rice", "seasonal vegetables"
+    };
+
+    private final long seed;
+    private final double skew;
+
+    public WorkloadGenerator(long seed) {
+        this(seed, DEFAULT_SKEW);
+    }
+
+    /** @param skew Zipf exponent of dish popularity; 0 makes every dish equally popular */
+    public WorkloadGenerator(long seed, double skew) {
+        this.seed = seed;
+        this.skew = skew;
+    }
+
+    /**
+     * A menu of {@code itemCount} dishes across six categories, coded {@code MNS-001} and so
+     * on, with prices in half-dollar steps.
+     */
+    public Map<String, List<MenuItem>> menu(int itemCount) {
+        Random random = new Random(seed ^ 0x6D656E75L);
+        int totalShare = 0;
+        for (String[] category : CATEGORIES) {
+            totalShare += Integer.parseInt(category[4]);
+        }
+        Map<String, List<MenuItem>> menu = new LinkedHashMap<>();
+        int assigned = 0;
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            String[] category = CATEGORIES[c];
+            int count = c == CATEGORIES.length - 1 ? itemCount - assigned
+                : (int) Math.round((double) itemCount * Integer.parseInt(category[4]) / totalShare);
+            count = Math.min(count, itemCount - assigned);
+            assigned += count;
+            if (count == 0) {
+                continue;
+            }
+            // every adjective and dish pairing once, in seeded order, then numbered repeats
+            List<String> names = new ArrayList<>();
+            for (String adjective : ADJECTIVES) {
+                for (String dish : DISHES[c]) {
+                    names.add(adjective + " " + dish);
+                }
+            }
+            Collections.shuffle(names, random);
+            double from = Double.parseDouble(category[2]);
+            double to = Double.parseDouble(category[3]);
+            List<MenuItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = names.get(i % names.size()) + (i < names.size() ? "" : " No. " + (i / names.size() + 1));
+                double price = Math.round((from + random.nextDouble() * (to - from)) * 2) / 2.0;
+                String description = "With " + SIDES[random.nextInt(SIDES.length)] + " & "
+                    + SIDES[random.nextInt(SIDES.length)];
+                String code = String.format(Locale.ROOT, "%s-%03d", category[1], i + 1);
+                items.add(new MenuItem(code, name, category[0], description, price));
+            }
+            menu.put(category[0], List.copyOf(items));
+        }
+        return menu;
+    }
+
+    /** Endless, time-ordered orders starting at {@code firstDay}, drawn from {@code menu}. */
+    public OrderStream orders(List<MenuItem> menu, LocalDate firstDay, double ordersPerDay) {
+        return new OrderStream(menu, firstDay, ordersPerDay);
+    }
+
+    /** Every order of {@code days} days starting at {@code firstDay}, oldest first. */
+    public List<Order> history(List<MenuItem> menu, LocalDate firstDay, int days, double ordersPerDay) {
+        List<Order> orders = new ArrayList<>((int) (days * ordersPerDay * 1.2));
+        LocalDateTime end = firstDay.plusDays(days).atStartOfDay();
+        OrderStream stream = orders(menu, firstDay, ordersPerDay);
+        for (Order order = stream.next(); order.getCreatedAt().isBefore(end); order = stream.next()) {
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Orders in placement order. Hours are generated whole: the number of orders is drawn for
+     * the hour, then their seconds, so the stream never holds more than one hour of orders.
+     */
+    public final class OrderStream implements Iterator<Order> {
+        private final Random random = new Random(seed ^ 0x6F72646572L);
+        private final List<MenuItem> ranked;
+        private final double[] lunch;
+        private final double[] dinner;
+        private final double ordersPerDay;
+        private final double shapeTotal;
+        private final List<Order> hour = new ArrayList<>();
+        private LocalDate day;
+        private int hourOfDay = OPENS - 1;
+        private int nextInHour;
+        private long sequence;
+
+        private OrderStream(List<MenuItem> menu, LocalDate firstDay, double ordersPerDay) {
+            if (menu.isEmpty()) {
+                throw new IllegalArgumentException("The menu has no items");
+            }
+            this.ranked = new ArrayList<>(menu);
+            Collections.shuffle(ranked, random);
+            this.lunch = popularity(ranked, true);
+            this.dinner = popularity(ranked, false);
+            this.ordersPerDay = ordersPerDay;
+            this.shapeTotal = Arrays.stream(HOUR_SHAPE).sum();
+            this.day = firstDay;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return ordersPerDay > 0;
+        }
+
+        @Override
+        public Order next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (nextInHour == hour.size()) {
+                fillNextHour();
+            }
+            return hour.get(nextInHour++);
+        }
+
+        private void fillNextHour() {
+            hour.clear();
+            nextInHour = 0;
+            if (++hourOfDay == CLOSES) {
+                hourOfDay = OPENS;
+                day = day.plusDays(1);
+            }
+            double season = 1 + 0.15 * StrictMath.sin(2 * StrictMath.PI * (day.getDayOfYear() - 80) / 365.0);
+            double rate = ordersPerDay * DAY_SHAPE[day.getDayOfWeek().getValue() - 1] * season
+                * HOUR_SHAPE[hourOfDay - OPENS] / shapeTotal;
+            int count = poisson(rate, random);
+            int[] seconds = new int[count];
+            for (int i = 0; i < count; i++) {
+                seconds[i] = random.nextInt(3_600);
+            }
+            Arrays.sort(seconds);
+            double[] weights = hourOfDay < LUNCH_ENDS ? lunch : dinner;
+            for (int second : seconds) {
+                LocalDateTime placedAt = day.atTime(hourOfDay, second / 60, second % 60);
+                Order order = new Order("W" + Long.toHexString(seed) + "-" + sequence++, placedAt);
+                int party = PARTY_SIZES[pick(PARTY_CUMULATIVE, random)];
+                order.setTableNumber(String.valueOf(1 + random.nextInt(TABLES)));
+                int dishes = party + poisson(0.5 * party, random);
+                for (int i = 0; i < dishes; i++) {
+                    order.addItem(ranked.get(pick(weights, random)), 1);
+                }
+                String note = random.nextInt(4) == 0 ? NOTES[random.nextInt(NOTES.length)] : "";
+                if (party >= 5) {
+                    note = note.isEmpty() ? "party of " + party : "party of " + party + ", " + note;
+                }
+                order.setNotes(note);
+                hour.add(order);
+            }
+        }
+    }
+
+    /** Cumulative Zipf weights over the ranking, with lighter dishes favoured at lunch. */
+    private double[] popularity(List<MenuItem> ranked, boolean lunch) {
+        double[] cumulative = new double[ranked.size()];
+        double total = 0;
+        for (int i = 0; i < ranked.size(); i++) {
+            boolean light = LIGHT_CATEGORIES.contains(ranked.get(i).getCategory());
+            total += StrictMath.pow(i + 1, -skew) * (light == lunch ? 1.5 : 1);
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, Random random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Knuth's method for small means, a rounded normal approximation for large ones. */
+    private static int poisson(double mean, Random random) {
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + StrictMath.sqrt(mean) * random.nextGaussian()));
+        }
+        double limit = StrictMath.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,132 @@
+package com.restaurant.app.workload;
+
+import com.restaurant.app.data.MenuData;
+import com.restaurant.app.model.MenuItem;
+import com.restaurant.app.model.Order;
+import com.restaurant.app.server.ServerConfig;
+import com.restaurant.app.service.OrderManager;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Command line front end for {@link WorkloadGenerator}, {@link OrderFile} and {@link WorkloadDriver}.
+ * <pre>
+ * # a 120-dish menu and a week of orders, written to files
+ * java -cp out com.restaurant.app.workload.WorkloadTool --seed=7 --menuItems=120 --days=7 \
+ *     --menuOut=menu.txt --ordersOut=orders.ndjson
+ *
+ * # the same orders replayed, 200 a second, against a server started with
+ * # --menu=menu.txt --clientRps=1000 (the default per-client limit is 20 a second)
+ * java -cp out com.restaurant.app.workload.WorkloadTool --menu=menu.txt --ordersIn=orders.ndjson \
+ *     --target=http://localhost:8080 --rate=200 --connections=8
+ * </pre>
+ * Orders come from {@code --ordersIn} or are generated from {@code --seed} (default 42),
+ * {@code --start} (default 2026-01-05), {@code --days} (default 7) and {@code --ordersPerDay}
+ * (default 400) over {@code --menu}, a generated menu of {@code --menuItems} dishes, or the
+ * built-in menu. {@code --limit} caps the orders used. With neither {@code --ordersOut},
+ * {@code --target} nor {@code --direct} (an in-process {@link OrderManager}), the tool only
+ * prints the fingerprint, a SHA-256 of the orders' file lines that is equal on every machine
+ * for equal settings. A replay prints the count of each response status; status {@code 0}
+ * means no response.
+ */
+public final class WorkloadTool {
+
+    private WorkloadTool() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ServerConfig config = ServerConfig.load(args);
+        WorkloadGenerator generator = new WorkloadGenerator(config.getLong("seed", 42),
+            config.getDouble("skew", WorkloadGenerator.DEFAULT_SKEW));
+        Map<String, List<MenuItem>> menu = menu(config, generator);
+        String menuOut = config.getString("menuOut", null);
+        if (menuOut != null) {
+            Files.write(Path.of(menuOut), MenuData.format(menu), StandardCharsets.UTF_8);
+            System.out.printf(Locale.US, "Wrote %d menu items to %s%n", MenuData.flattenMenu(menu).size(), menuOut);
+        }
+
+        List<Order> orders = orders(config, generator, menu);
+        long limit = config.getLong("limit", Long.MAX_VALUE);
+        if (orders.size() > limit) {
+            orders = orders.subList(0, (int) limit);
+        }
+        MessageDigest digest = sha256();
+        for (Order order : orders) {
+            digest.update(OrderFile.format(order).getBytes(StandardCharsets.UTF_8));
+        }
+        System.out.printf(Locale.US, "%d orders, fingerprint %s%n", orders.size(),
+            HexFormat.of().formatHex(digest.digest(), 0, 8));
+
+        String ordersOut = config.getString("ordersOut", null);
+        if (ordersOut != null) {
+            try (Writer out = Files.newBufferedWriter(Path.of(ordersOut), StandardCharsets.UTF_8)) {
+                for (Order order : orders) {
+                    OrderFile.write(out, order);
+                }
+            }
+            System.out.printf(Locale.US, "Wrote %d orders to %s%n", orders.size(), ordersOut);
+        }
+        if (config.getBoolean("direct", false)) {
+            WorkloadDriver.Result result = WorkloadDriver.intoManager(orders.iterator(), orders.size(),
+                new OrderManager());
+            System.out.printf(Locale.US, "OrderManager: %d orders in %.1f ms (%.0f/s)%n", result.sent(),
+                result.elapsedNanos() / 1e6, result.perSecond());
+        }
+        String target = config.getString("target", null);
+        if (target != null) {
+            Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+            WorkloadDriver.Result result = WorkloadDriver.overHttp(orders.iterator(), orders.size(), URI.create(target),
+                config.getInt("connections", 4), config.getDouble("rate", 0),
+                (status, latencyNanos) -> statuses.computeIfAbsent(status, s -> new LongAdder()).increment());
+            System.out.printf(Locale.US, "%s: %d orders, %d failed, in %.1f s (%.0f/s), statuses %s%n", target,
+                result.sent(), result.failed(), result.elapsedNanos() / 1e9, result.perSecond(), statuses);
+        }
+    }
+
+    private static Map<String, List<MenuItem>> menu(ServerConfig config, WorkloadGenerator generator)
+        throws IOException {
+        String file = config.getString("menu", null);
+        if (file != null) {
+            return MenuData.parse(Files.readAllLines(Path.of(file), StandardCharsets.UTF_8));
+        }
+        int items = config.getInt("menuItems", 0);
+        return items > 0 ? generator.menu(items) : MenuData.loadMenu();
+    }
+
+    private static List<Order> orders(ServerConfig config, WorkloadGenerator generator,
+                                      Map<String, List<MenuItem>> menu) throws IOException {
+        String file = config.getString("ordersIn", null);
+        if (file == null) {
+            return generator.history(MenuData.flattenMenu(menu), LocalDate.parse(config.getString("start", "2026-01-05")),
+                config.getInt("days", 7), config.getDouble("ordersPerDay", 400));
+        }
+        List<Order> orders = new ArrayList<>();
+        try (OrderFile in = OrderFile.open(Path.of(file), MenuData.indexByCode(menu))) {
+            in.forEachRemaining(orders::add);
+        }
+        return orders;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}